@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.apache.logging.log4j.core.filter.PredictableFilter;
+import org.apache.logging.log4j.core.filter.ThresholdFilter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that loggers skip the context-wide filter, if its result is predictable.
+ */
+class LoggerFilterPredictionTest {
+
+    private final CountingFilter filter = new CountingFilter();
+
+    private LoggerContext context;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext(LoggerFilterPredictionTest.class.getSimpleName());
+        final Configuration config = new DefaultConfiguration();
+        config.addFilter(filter);
+        context.start(config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    @Test
+    void skips_predictable_levels() {
+        final Logger logger = context.getLogger("test");
+        assertThat(logger.isDebugEnabled()).isFalse();
+        assertThat(logger.isEnabled(Level.TRACE, null, "message", 1, 2)).isFalse();
+        assertThat(filter.calls).hasValue(0);
+        assertThat(logger.isErrorEnabled()).isTrue();
+        assertThat(filter.calls).hasValue(1);
+    }
+
+    @Test
+    void applies_predicted_results() {
+        context.getConfiguration().removeFilter(filter);
+        context.getConfiguration()
+                .addFilter(ThresholdFilter.createFilter(Level.WARN, Filter.Result.ACCEPT, Filter.Result.DENY));
+        context.updateLoggers();
+        final Logger logger = context.getLogger("test");
+        // The level of the root logger is `ERROR`
+        assertThat(logger.isWarnEnabled()).isTrue();
+        assertThat(logger.isInfoEnabled()).isFalse();
+        // Custom levels are not predicted
+        assertThat(logger.isEnabled(Level.forName("LOGGER_FILTER_PREDICTION_TEST", 250)))
+                .isTrue();
+    }
+
+    @Test
+    void ignores_predictions_of_replaced_filter() {
+        final Logger logger = context.getLogger("test");
+        // Replaced without updating the loggers
+        final CountingFilter other = new CountingFilter();
+        context.getConfiguration().removeFilter(filter);
+        context.getConfiguration().addFilter(other);
+        assertThat(logger.isDebugEnabled()).isFalse();
+        assertThat(other.calls).hasValue(1);
+    }
+
+    @Test
+    void composite_filter_predicts_until_first_unpredictable_filter() {
+        final Filter threshold = ThresholdFilter.createFilter(Level.ERROR, Filter.Result.ACCEPT, Filter.Result.NEUTRAL);
+        final CompositeFilter composite = CompositeFilter.createFilters(new Filter[] {threshold, filter});
+        assertThat(composite.predict(Level.FATAL)).isEqualTo(Filter.Result.ACCEPT);
+        assertThat(composite.predict(Level.DEBUG)).isEqualTo(Filter.Result.NEUTRAL);
+        assertThat(composite.predict(Level.INFO)).isNull();
+    }
+
+    /**
+     * A filter returning {@code NEUTRAL}, which is only predictable for levels less specific than {@code INFO}.
+     */
+    private static final class CountingFilter extends AbstractFilter implements PredictableFilter {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Result predict(final Level level) {
+            return level.isLessSpecificThan(Level.DEBUG) ? Result.NEUTRAL : null;
+        }
+
+        @Override
+        public Result filter(
+                final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
+            calls.incrementAndGet();
+            return Result.NEUTRAL;
+        }
+
+        @Override
+        public Result filter(
+                final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
+            calls.incrementAndGet();
+            return Result.NEUTRAL;
+        }
+    }
+}
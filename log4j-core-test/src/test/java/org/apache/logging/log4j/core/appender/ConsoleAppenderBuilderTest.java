@@ -17,13 +17,19 @@
 package org.apache.logging.log4j.core.appender;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import org.apache.logging.log4j.core.ErrorHandler;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.junit.jupiter.api.Test;
 
 class ConsoleAppenderBuilderTest {
@@ -66,4 +72,60 @@ class ConsoleAppenderBuilderTest {
         appender.setHandler(null);
         assertSame(handler, appender.getHandler());
     }
+
+    @Test
+    void testChannelAndFollowAreExclusive() {
+        assertNull(ConsoleAppender.newBuilder()
+                .setName("test")
+                .setChannel(true)
+                .setFollow(true)
+                .build());
+    }
+
+    @Test
+    void testChannelUsesDirectBuffer() {
+        final ConsoleAppender appender = ConsoleAppender.newBuilder()
+                .setName("test")
+                .setTarget(ConsoleAppender.Target.SYSTEM_ERR)
+                .setChannel(true)
+                .setBufferSize(64 * 1024)
+                .setImmediateFlush(false)
+                .build();
+        assertNotNull(appender);
+        final ByteBuffer buffer = appender.getManager().getByteBuffer();
+        assertTrue(buffer.isDirect());
+        assertEquals(64 * 1024, buffer.capacity());
+        assertFalse(appender.getImmediateFlush());
+        appender.start();
+        appender.getManager().write(new byte[] {'\n'}, true);
+        assertEquals(0, buffer.position());
+        appender.stop();
+    }
+
+    @Test
+    void testChannelSurvivesInterruptedThread() {
+        final ConsoleAppender appender = ConsoleAppender.newBuilder()
+                .setName("test")
+                .setTarget(ConsoleAppender.Target.SYSTEM_ERR)
+                .setChannel(true)
+                .setLayout(PatternLayout.newBuilder().withPattern("%m%n").build())
+                .build();
+        assertNotNull(appender);
+        appender.start();
+        try {
+            final LogEvent event = Log4jLogEvent.newBuilder()
+                    .setMessage(new SimpleMessage("Logged from an interrupted thread"))
+                    .build();
+            Thread.currentThread().interrupt();
+            try {
+                appender.append(event);
+            } finally {
+                assertTrue(Thread.interrupted(), "interrupt flag restored");
+            }
+            // The channel, and with it the file descriptor, is still open
+            appender.append(event);
+        } finally {
+            appender.stop();
+        }
+    }
 }
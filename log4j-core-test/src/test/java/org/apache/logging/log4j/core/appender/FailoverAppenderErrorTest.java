@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.filter.AbstractFilter;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the circuit of {@link FailoverAppender} when the primary appender throws an {@link Error}.
+ */
+class FailoverAppenderErrorTest {
+
+    private final DefaultConfiguration configuration = new DefaultConfiguration();
+
+    @AfterEach
+    void stopConfiguration() {
+        configuration.stop();
+    }
+
+    @Test
+    void testErrorDuringTrialReopensCircuit() {
+        final ErrorFilter filter = new ErrorFilter();
+        final ListAppender primary = new ListAppender("Primary", filter, null, false, false);
+        final ListAppender secondary = new ListAppender("Secondary");
+        primary.start();
+        secondary.start();
+        configuration.addAppender(primary);
+        configuration.addAppender(secondary);
+        final FailoverAppender failover = FailoverAppender.newBuilder()
+                .setName("Failover")
+                .setPrimary("Primary")
+                .setFailovers("Secondary")
+                .setRetryIntervalSeconds(0)
+                .setConfiguration(configuration)
+                .build();
+        failover.start();
+
+        assertThrows(Error.class, () -> failover.append(createEvent()));
+        assertSame(FailoverAppender.CircuitState.OPEN, failover.getCircuitState());
+        // The trial event fails too
+        assertThrows(Error.class, () -> failover.append(createEvent()));
+        assertSame(FailoverAppender.CircuitState.OPEN, failover.getCircuitState());
+        assertEquals(2, failover.getPrimaryFailureCount());
+
+        filter.failing = false;
+        failover.append(createEvent());
+        assertSame(FailoverAppender.CircuitState.CLOSED, failover.getCircuitState());
+        assertEquals(1, primary.getEvents().size());
+    }
+
+    private static LogEvent createEvent() {
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(FailoverAppenderErrorTest.class.getName())
+                .setLevel(Level.ERROR)
+                .setMessage(new SimpleMessage("Test"))
+                .build();
+    }
+
+    /**
+     * Filters are called by {@link org.apache.logging.log4j.core.config.AppenderControl} without converting errors.
+     */
+    private static final class ErrorFilter extends AbstractFilter {
+
+        private volatile boolean failing = true;
+
+        @Override
+        public Result filter(final LogEvent event) {
+            if (failing) {
+                throw new Error("failing on purpose");
+            }
+            return Result.NEUTRAL;
+        }
+    }
+}
@@ -18,6 +18,8 @@ package org.apache.logging.log4j.core.appender;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import org.apache.logging.log4j.Logger;
@@ -36,15 +38,23 @@ public class FailoverAppenderTest {
     private final FailOnceAppender foApp;
     private final Logger logger;
     private final Logger onceLogger;
+    private final Logger thresholdLogger;
+    private final FailoverAppender failover;
+    private final FailoverAppender thresholdFailover;
 
     public FailoverAppenderTest(
             final LoggerContext context,
             @Named("List") final ListAppender app,
-            @Named("Once") final FailOnceAppender foApp) {
+            @Named("Once") final FailOnceAppender foApp,
+            @Named("Failover") final FailoverAppender failover,
+            @Named("FailoverThreshold") final FailoverAppender thresholdFailover) {
         this.app = app;
         this.foApp = foApp;
+        this.failover = failover;
+        this.thresholdFailover = thresholdFailover;
         logger = context.getLogger("LoggerTest");
         onceLogger = context.getLogger("Once");
+        thresholdLogger = context.getLogger("Threshold");
     }
 
     @AfterEach
@@ -81,4 +91,31 @@ public class FailoverAppenderTest {
         events = foApp.drainEvents();
         assertEquals(2, events.size(), "Incorrect number of events in primary appender");
     }
+
+    @Test
+    void testOpenCircuitSkipsPrimary() {
+        final long failures = failover.getPrimaryFailureCount();
+        final long failedOver = failover.getFailoverEventCount();
+        logger.error("This is a test");
+        logger.error("This is a test");
+        logger.error("This is a test");
+        assertSame(FailoverAppender.CircuitState.OPEN, failover.getCircuitState());
+        assertEquals(3, app.getEvents().size());
+        assertEquals(failedOver + 3, failover.getFailoverEventCount());
+        assertTrue(failover.getPrimaryFailureCount() <= failures + 1, "Primary appender called while circuit is open");
+    }
+
+    @Test
+    void testFailureThreshold() {
+        thresholdLogger.error("First failure");
+        thresholdLogger.error("Second failure");
+        assertSame(FailoverAppender.CircuitState.CLOSED, thresholdFailover.getCircuitState());
+        assertEquals(2, thresholdFailover.getPrimaryFailureCount());
+        thresholdLogger.error("Third failure");
+        assertSame(FailoverAppender.CircuitState.OPEN, thresholdFailover.getCircuitState());
+        assertEquals(1, thresholdFailover.getCircuitOpenCount());
+        thresholdLogger.error("Failed over");
+        assertEquals(3, thresholdFailover.getPrimaryFailureCount());
+        assertEquals(4, app.getEvents().size());
+    }
 }
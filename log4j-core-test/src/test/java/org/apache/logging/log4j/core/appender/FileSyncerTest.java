@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests the FileSyncer class.
+ */
+class FileSyncerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testCommitsAreGrouped() throws Exception {
+        final int writers = 8;
+        try (final FileChannel channel = openChannel("grouped.log")) {
+            final AtomicInteger syncs = new AtomicInteger();
+            // The delay is long enough for the batch size to trigger the sync
+            final FileSyncer syncer = new FileSyncer(
+                    "grouped.log",
+                    () -> {
+                        syncs.incrementAndGet();
+                        return channel;
+                    },
+                    TimeUnit.MINUTES.toMillis(1),
+                    writers);
+            final ExecutorService executor = Executors.newFixedThreadPool(writers);
+            try {
+                final CountDownLatch start = new CountDownLatch(1);
+                final List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < writers; i++) {
+                    futures.add(executor.submit(() -> {
+                        start.await();
+                        syncer.commit();
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (final Future<?> future : futures) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+            assertThat(syncs).hasValue(1);
+            assertThat(syncer.stop(10, TimeUnit.SECONDS)).isTrue();
+        }
+    }
+
+    @Test
+    void testClosedChannelIsSynced() throws IOException {
+        final FileChannel channel = openChannel("closed.log");
+        channel.close();
+        final FileSyncer syncer = new FileSyncer("closed.log", () -> channel, 0, 1);
+        syncer.commit();
+        assertThat(syncer.stop(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testCommitAfterStop() throws IOException {
+        try (final FileChannel channel = openChannel("stopped.log")) {
+            final AtomicInteger syncs = new AtomicInteger();
+            final FileSyncer syncer = new FileSyncer(
+                    "stopped.log",
+                    () -> {
+                        syncs.incrementAndGet();
+                        return channel;
+                    },
+                    0,
+                    1);
+            assertThat(syncer.stop(10, TimeUnit.SECONDS)).isTrue();
+            syncer.commit();
+            assertThat(syncs).hasValue(1);
+        }
+    }
+
+    @Test
+    void testCommitOnInterruptedThread() throws IOException {
+        try (final FileChannel channel = openChannel("interrupted.log")) {
+            final FileSyncer syncer = new FileSyncer("interrupted.log", () -> channel, 0, 1);
+            assertThat(syncer.stop(10, TimeUnit.SECONDS)).isTrue();
+            Thread.currentThread().interrupt();
+            try {
+                syncer.commit();
+            } finally {
+                assertThat(Thread.interrupted()).isTrue();
+            }
+            // The interrupt did not close the channel
+            assertThat(channel.isOpen()).isTrue();
+        }
+    }
+
+    @Test
+    void testCommitAndReconfigureWhileHoldingManagerLock() {
+        final FileAppender appender = FileAppender.newBuilder()
+                .setName("DURABLE")
+                .withFileName(tempDir.resolve("locked.log").toString())
+                .setLayout(PatternLayout.newBuilder().withPattern("%m%n").build())
+                .withDurable(true)
+                .build();
+        assertThat(appender).isNotNull();
+        appender.start();
+        final FileManager manager = appender.getManager();
+        try {
+            // The syncer thread must not need the lock of the manager
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                synchronized (manager) {
+                    manager.getFileSyncer().commit();
+                    manager.setDurability(true, 1, 1);
+                    manager.getFileSyncer().commit();
+                }
+            });
+        } finally {
+            appender.stop();
+        }
+    }
+
+    @Test
+    void testDurableFileAppender() throws IOException {
+        final Path file = tempDir.resolve("durable.log");
+        final FileAppender appender = FileAppender.newBuilder()
+                .setName("DURABLE")
+                .withFileName(file.toString())
+                .setLayout(PatternLayout.newBuilder().withPattern("%m%n").build())
+                .withDurable(true)
+                .withMaxCommitDelayMillis(1)
+                .build();
+        assertThat(appender).isNotNull();
+        appender.start();
+        final FileSyncer syncer = appender.getManager().getFileSyncer();
+        assertThat(syncer).isNotNull();
+        assertThat(syncer.getMaxCommitDelayMillis()).isEqualTo(1);
+        assertThat(syncer.getMaxCommitBatchSize()).isEqualTo(FileSyncer.DEFAULT_MAX_COMMIT_BATCH_SIZE);
+        appender.append(Log4jLogEvent.newBuilder()
+                .setMessage(new SimpleMessage("Durable message"))
+                .build());
+        // The event is written before the appender returns
+        assertThat(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).isEqualTo("Durable message\n");
+        appender.stop();
+        assertThat(appender.getManager().getFileSyncer()).isNull();
+    }
+
+    private FileChannel openChannel(final String name) throws IOException {
+        return FileChannel.open(tempDir.resolve(name), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+}
@@ -16,14 +16,20 @@
  */
 package org.apache.logging.log4j.core.appender;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
 import org.apache.logging.log4j.core.util.NullOutputStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -145,4 +151,88 @@ class RandomAccessFileManagerTest {
             assertEquals(expected, file.length(), "appended, not overwritten");
         }
     }
+
+    @Test
+    void testPreallocation() throws IOException {
+        final File file = new File(tempDir, "testPreallocation.bin");
+        final int chunkSize = 4 * 1024;
+        final byte[] bytes = new byte[1000];
+        Arrays.fill(bytes, (byte) 'a');
+
+        try (final RandomAccessFileManager manager = RandomAccessFileManager.getFileManager(
+                file.getAbsolutePath(), false, true, RandomAccessFileManager.DEFAULT_BUFFER_SIZE, null, null, null)) {
+            manager.setPreallocationSize(chunkSize);
+            assertEquals(chunkSize, manager.getPreallocationSize());
+            manager.write(bytes, 0, bytes.length, true);
+            assertEquals(chunkSize, file.length(), "extended by a whole chunk");
+            for (int i = 0; i < 4; i++) {
+                manager.write(bytes, 0, bytes.length, true);
+            }
+            assertEquals(2 * chunkSize, file.length(), "extended by a second chunk");
+        }
+        assertEquals(5 * bytes.length, file.length(), "truncated on close");
+    }
+
+    @Test
+    void testPreallocationRemovesUnusedSpace() throws IOException {
+        final File file = new File(tempDir, "testPreallocationRemovesUnusedSpace.bin");
+        final File lengthFile = new File(tempDir, file.getName() + FilePreallocator.LENGTH_FILE_SUFFIX);
+        final int chunkSize = 4 * 1024;
+        // File left by a process that stopped without truncating it
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            final FilePreallocator preallocator = new FilePreallocator(chunkSize);
+            preallocator.open(raf, file.toPath());
+            final byte[] bytes = "abc".getBytes(StandardCharsets.US_ASCII);
+            preallocator.write(bytes, 0, bytes.length);
+        }
+        assertEquals(chunkSize, file.length());
+        assertTrue(lengthFile.exists(), "length recorded");
+
+        try (final RandomAccessFileManager manager = RandomAccessFileManager.getFileManager(
+                file.getAbsolutePath(), true, true, RandomAccessFileManager.DEFAULT_BUFFER_SIZE, null, null, null)) {
+            manager.setPreallocationSize(chunkSize);
+            assertEquals(3, file.length(), "unused space removed");
+            final byte[] bytes = "def".getBytes(StandardCharsets.US_ASCII);
+            manager.write(bytes, 0, bytes.length, true);
+        }
+        assertEquals("abcdef", new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII));
+        assertFalse(lengthFile.exists(), "length record deleted on close");
+    }
+
+    @Test
+    void testPreallocationKeepsZerosWrittenBeforeExtension() throws IOException {
+        final File file = new File(tempDir, "testPreallocationKeepsZerosWrittenBeforeExtension.bin");
+        final int chunkSize = 4;
+        try (final RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            final FilePreallocator preallocator = new FilePreallocator(chunkSize);
+            preallocator.open(raf, file.toPath());
+            preallocator.write(new byte[] {'a', 'b', 0, 0}, 0, 4);
+            // Extends the file, recording the first four bytes as written
+            preallocator.write(new byte[] {0}, 0, 1);
+        }
+        assertEquals(2 * chunkSize, file.length());
+
+        try (final RandomAccessFileManager manager = RandomAccessFileManager.getFileManager(
+                file.getAbsolutePath(), true, true, RandomAccessFileManager.DEFAULT_BUFFER_SIZE, null, null, null)) {
+            manager.setPreallocationSize(chunkSize);
+            assertEquals(4, file.length(), "recorded zeros kept");
+        }
+    }
+
+    @Test
+    void testPreallocationKeepsTrailingZeros() throws IOException {
+        final File file = new File(tempDir, "testPreallocationKeepsTrailingZeros.bin");
+        final int chunkSize = 4 * 1024;
+        // Data ending with zeros, whose length is a multiple of the chunk size
+        final byte[] bytes = new byte[chunkSize];
+        bytes[0] = 'a';
+        Files.write(file.toPath(), bytes);
+
+        try (final RandomAccessFileManager manager = RandomAccessFileManager.getFileManager(
+                file.getAbsolutePath(), true, true, RandomAccessFileManager.DEFAULT_BUFFER_SIZE, null, null, null)) {
+            manager.setPreallocationSize(chunkSize);
+            assertEquals(chunkSize, file.length(), "data kept");
+        }
+        assertArrayEquals(bytes, Files.readAllBytes(file.toPath()));
+    }
 }
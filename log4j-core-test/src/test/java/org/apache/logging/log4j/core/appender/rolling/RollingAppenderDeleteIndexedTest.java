@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.appender.rolling.action.PathWithAttributes;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.test.junit.CleanUpDirectories;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests a {@code Delete} action that looks up the files to delete in the archive index of the manager.
+ */
+@CleanUpDirectories({RollingAppenderDeleteIndexedTest.BASE, RollingAppenderDeleteIndexedTest.PURGE_BASE})
+class RollingAppenderDeleteIndexedTest {
+
+    static final String BASE = "target/rolling-with-delete-indexed";
+    private static final String DIR = BASE + "/test";
+    static final String PURGE_BASE = "target/rolling-with-delete-indexed-purge";
+    private static final String PURGE_DIR = PURGE_BASE + "/test";
+
+    @Test
+    @LoggerContextSource(value = "log4j-rolling-with-custom-delete-indexed.xml", timeout = 10)
+    void testIndexedDelete(final LoggerContext context, @Named("RollingFile") final RollingFileAppender appender)
+            throws Exception {
+        final RollingFileManager manager = appender.getManager();
+        // Found by the initial scan of the base path
+        final Path oldArchive = createFile("test-old.log");
+        final Logger logger = context.getLogger(RollingAppenderDeleteIndexedTest.class.getName());
+
+        for (int i = 0; i < 5; ++i) {
+            logger.debug("This is a test message number " + i);
+        }
+        awaitRollover(manager);
+        assertFalse(Files.exists(oldArchive), "Archive present at startup not deleted");
+
+        // Not produced by the manager, hence not indexed
+        final Path foreignFile = createFile("test-foreign.log");
+        for (int i = 5; i < 10; ++i) {
+            logger.debug("This is a test message number " + i);
+        }
+        awaitRollover(manager);
+
+        final Set<String> archives = listArchives();
+        assertTrue(archives.remove("test-foreign.log"), "File unknown to the index deleted");
+        assertEquals(3, archives.size(), archives.toString());
+
+        final List<PathWithAttributes> indexed =
+                manager.getArchiveIndex().list(Paths.get(DIR), 1, Collections.emptySet());
+        final Set<String> indexedArchives = indexed.stream()
+                .map(path -> path.getPath().getFileName().toString())
+                .collect(Collectors.toCollection(TreeSet::new));
+        assertEquals(archives, indexedArchives);
+        assertTrue(Files.exists(foreignFile));
+    }
+
+    @Test
+    @LoggerContextSource(value = "log4j-rolling-with-custom-delete-indexed-purge.xml", timeout = 10)
+    void testIndexUpdatedByPurge(
+            final LoggerContext context, @Named("RollingFile") final RollingFileAppender appender) throws Exception {
+        final RollingFileManager manager = appender.getManager();
+        final Logger logger = context.getLogger(RollingAppenderDeleteIndexedTest.class.getName());
+        final StringBuilder padding = new StringBuilder();
+        // The strategy deletes and renames archives to keep at most 3 of them
+        for (int i = 0; i < 10; ++i) {
+            logger.debug("This is a test message number " + i + padding);
+            padding.append('x');
+            awaitRollover(manager);
+        }
+
+        final Map<String, Long> archives = new TreeMap<>();
+        try (final Stream<Path> files = Files.list(Paths.get(PURGE_DIR))) {
+            for (final Path file : (Iterable<Path>) files::iterator) {
+                archives.put(file.getFileName().toString(), Files.size(file));
+            }
+        }
+        final List<PathWithAttributes> indexed =
+                manager.getArchiveIndex().list(Paths.get(PURGE_DIR), 1, Collections.emptySet());
+        final Map<String, Long> indexedArchives = new TreeMap<>();
+        for (final PathWithAttributes path : indexed) {
+            indexedArchives.put(path.getPath().getFileName().toString(), path.getAttributes().size());
+        }
+        assertEquals(3, archives.size(), archives.toString());
+        assertEquals(archives, indexedArchives);
+    }
+
+    private static Path createFile(final String name) throws IOException {
+        final Path path = Paths.get(DIR, name);
+        Files.createDirectories(path.getParent());
+        Files.write(path, "some text".getBytes());
+        Files.setLastModifiedTime(path, FileTime.fromMillis(0L));
+        return path;
+    }
+
+    private static void awaitRollover(final RollingFileManager manager) throws InterruptedException {
+        // The semaphore is held until the asynchronous actions of the rollover complete
+        manager.getSemaphore().acquire();
+        manager.getSemaphore().release();
+    }
+
+    private static Set<String> listArchives() throws IOException {
+        try (final Stream<Path> files = Files.list(Paths.get(DIR))) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith("test-"))
+                    .collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+}
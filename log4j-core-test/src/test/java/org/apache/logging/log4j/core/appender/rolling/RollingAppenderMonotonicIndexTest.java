@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.test.junit.CleanUpDirectories;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@code monotonic} file index of {@link DefaultRolloverStrategy}.
+ */
+@CleanUpDirectories(RollingAppenderMonotonicIndexTest.BASE)
+class RollingAppenderMonotonicIndexTest {
+
+    static final String BASE = "target/rolling-monotonic-index";
+    private static final String DIR = BASE + "/archive";
+    private static final String MESSAGE = "This is a test message number ";
+
+    @Test
+    @LoggerContextSource(value = "log4j-rolling-monotonic-index.xml", timeout = 10)
+    void testAppender(final LoggerContext context, @Named("RollingFile") final RollingFileAppender appender)
+            throws Exception {
+        final DefaultRolloverStrategy strategy =
+                (DefaultRolloverStrategy) appender.getManager().getRolloverStrategy();
+        assertTrue(strategy.isMonotonic());
+        // Found by the initial scan of the archive directory
+        final Path existing = Paths.get(DIR, "test-7.log");
+        Files.createDirectories(existing.getParent());
+        Files.write(existing, "existing".getBytes(StandardCharsets.UTF_8));
+
+        final Logger logger = context.getLogger(RollingAppenderMonotonicIndexTest.class.getName());
+        // 30 chars per message: each message but the first triggers a rollover
+        for (int i = 0; i < 10; ++i) {
+            logger.debug(MESSAGE + i);
+        }
+
+        assertEquals(new TreeSet<>(Arrays.asList("test-14.log", "test-15.log", "test-16.log")), listArchives());
+        // Archives are never renamed, so each one still holds the message it was created with
+        for (int index = 14; index <= 16; ++index) {
+            final String content =
+                    new String(Files.readAllBytes(Paths.get(DIR, "test-" + index + ".log")), StandardCharsets.UTF_8);
+            assertEquals(MESSAGE + (index - 8), content.trim());
+        }
+    }
+
+    private static Set<String> listArchives() throws IOException {
+        try (final Stream<Path> files = Files.list(Paths.get(DIR))) {
+            return files.map(path -> path.getFileName().toString()).collect(Collectors.toCollection(TreeSet::new));
+        }
+    }
+}
@@ -32,11 +32,13 @@ import java.io.Reader;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.RollingFileAppender;
 import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.NullConfiguration;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.layout.PatternLayout;
 import org.apache.logging.log4j.core.lookup.StrSubstitutor;
 import org.apache.logging.log4j.core.util.IOUtils;
@@ -224,4 +226,65 @@ class RollingFileManagerTest {
         }
         assertEquals(testContent, new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII));
     }
+
+    @Test
+    void testThresholdTriggeringPolicy() throws IOException {
+        class CountingPolicy implements ThresholdTriggeringPolicy {
+            int evaluations;
+
+            @Override
+            public void initialize(final RollingFileManager manager) {}
+
+            @Override
+            public boolean isTriggeringEvent(final LogEvent logEvent) {
+                ++evaluations;
+                return false;
+            }
+
+            @Override
+            public long getNextTriggerMillis() {
+                return 1000;
+            }
+
+            @Override
+            public long getNextTriggerSize() {
+                return 3;
+            }
+        }
+        final CountingPolicy policy = new CountingPolicy();
+        final File file = File.createTempFile("testThresholdTriggeringPolicy", "log");
+        file.deleteOnExit();
+        try (final RollingFileManager manager = new RollingFileManager(
+                null,
+                file.getAbsolutePath(),
+                "testThresholdTriggeringPolicy.log.%d{yyyy-MM-dd}",
+                new ByteArrayOutputStream(),
+                true,
+                false,
+                0,
+                System.currentTimeMillis(),
+                policy,
+                DefaultRolloverStrategy.newBuilder().build(),
+                file.getName(),
+                null,
+                null,
+                null,
+                null,
+                false,
+                ByteBuffer.allocate(256))) {
+            manager.initialize();
+            manager.checkRollover(createEvent(999));
+            assertEquals(0, policy.evaluations, "Event below both thresholds evaluated");
+            manager.checkRollover(createEvent(1000));
+            assertEquals(1, policy.evaluations);
+            final String testContent = "Test";
+            manager.writeBytes(testContent.getBytes(StandardCharsets.US_ASCII), 0, testContent.length());
+            manager.checkRollover(createEvent(999));
+            assertEquals(2, policy.evaluations);
+        }
+    }
+
+    private static LogEvent createEvent(final long timeMillis) {
+        return Log4jLogEvent.newBuilder().setTimeMillis(timeMillis).build();
+    }
 }
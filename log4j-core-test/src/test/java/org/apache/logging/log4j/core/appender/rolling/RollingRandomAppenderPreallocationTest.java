@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.RollingRandomAccessFileAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.test.junit.TempLoggingDir;
+import org.apache.logging.log4j.test.junit.UsingStatusListener;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that preallocated space is removed from the files of a {@link RollingRandomAccessFileAppender}.
+ */
+@UsingStatusListener
+class RollingRandomAppenderPreallocationTest {
+
+    private final Pattern LINE_PATTERN = Pattern.compile("This is test message number \\d+\\.");
+
+    @TempLoggingDir
+    private Path loggingPath;
+
+    @Test
+    @LoggerContextSource
+    void testAppender(
+            final LoggerContext ctx, @Named("RollingRandomAccessFile") final RollingRandomAccessFileAppender appender)
+            throws Exception {
+        assertThat(appender.getManager().getPreallocationSize()).isEqualTo(64 * 1024);
+        final Logger logger = ctx.getLogger(getClass());
+        final int count = 100;
+        for (int i = 0; i < count; ++i) {
+            logger.debug("This is test message number {}.", i);
+        }
+        ctx.stop(500, TimeUnit.MILLISECONDS);
+        int files = 0;
+        int found = 0;
+        try (final DirectoryStream<Path> stream = Files.newDirectoryStream(loggingPath)) {
+            for (final Path file : stream) {
+                ++files;
+                final List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+                for (final String line : lines) {
+                    assertThat(line).as("line of file `%s`", file).matches(LINE_PATTERN);
+                }
+                found += lines.size();
+            }
+        }
+        assertThat(files).isGreaterThan(1);
+        assertThat(found).as("Number of events.").isEqualTo(count);
+    }
+}
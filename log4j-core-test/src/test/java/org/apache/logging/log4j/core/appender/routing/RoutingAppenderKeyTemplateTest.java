@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.routing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.test.junit.ReconfigurationPolicy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the route keys resolved from a compiled pattern.
+ */
+@LoggerContextSource(value = "log4j-routing-key-template.xml", reconfigure = ReconfigurationPolicy.BEFORE_EACH)
+class RoutingAppenderKeyTemplateTest {
+
+    @AfterEach
+    void tearDown() {
+        ThreadContext.clearMap();
+    }
+
+    @Test
+    void resolvesKeysLikeStrSubstitutor(final LoggerContext context, @Named("Routing") final RoutingAppender routing) {
+        final Logger logger = context.getLogger(getClass());
+        ThreadContext.put("tenant", "acme");
+        ThreadContext.put("region", "eu");
+        logger.info("acme in eu");
+        ThreadContext.remove("tenant");
+        logger.info("no tenant in eu");
+        ThreadContext.remove("region");
+        logger.info("no tenant, no region");
+        ThreadContext.put("region", "${java:version}");
+        logger.info("lookup in value");
+        assertThat(routing.getAppenders().keySet())
+                .containsExactlyInAnyOrder("acme/eu", "none/eu", "none/${ctx:region}", "none/${java:version}");
+    }
+
+    @Test
+    void createsOneAppenderPerKey(final LoggerContext context, @Named("Routing") final RoutingAppender routing)
+            throws InterruptedException {
+        final Logger logger = context.getLogger(getClass());
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    ThreadContext.put("tenant", "concurrent");
+                    ThreadContext.put("region", "us");
+                    try {
+                        start.await();
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    for (int j = 0; j < 100; j++) {
+                        logger.info("concurrent");
+                    }
+                    ThreadContext.clearMap();
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        }
+        assertThat(routing.getAppenders()).containsOnlyKeys("concurrent/us");
+        final ListAppender list =
+                (ListAppender) routing.getAppenders().get("concurrent/us").getAppender();
+        assertThat(list.getEvents()).hasSize(threads * 100);
+    }
+}
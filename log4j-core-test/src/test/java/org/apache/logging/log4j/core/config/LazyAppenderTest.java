@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.FileAppender;
+import org.apache.logging.log4j.core.test.appender.ListAppender;
+import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
+import org.apache.logging.log4j.test.junit.TempLoggingDir;
+import org.junit.jupiter.api.Test;
+
+class LazyAppenderTest {
+
+    @TempLoggingDir
+    private static Path loggingPath;
+
+    @Test
+    @LoggerContextSource
+    void creates_appenders_on_first_event(final LoggerContext context) {
+        final Configuration config = context.getConfiguration();
+        final LazyAppender list = config.getAppender("LIST");
+        final LazyAppender file = config.getAppender("FILE");
+        assertThat(list.isStarted()).isTrue();
+        assertThat(list.getAppender()).isNull();
+        assertThat(file.getAppender()).isNull();
+
+        context.getLogger(LazyAppenderTest.class).info("message");
+
+        assertThat(list.getAppender())
+                .isInstanceOfSatisfying(ListAppender.class, appender -> assertThat(appender.getEvents())
+                        .hasSize(1));
+        assertThat(file.getAppender()).isNull();
+        assertThat(loggingPath.resolve("lazy.log")).doesNotExist();
+
+        context.getLogger("file").info("message");
+
+        assertThat(file.getAppender()).isInstanceOf(FileAppender.class);
+        assertThat(loggingPath.resolve("lazy.log")).exists();
+    }
+
+    @Test
+    @LoggerContextSource
+    void updates_loggers_once_the_location_is_not_required(final LoggerContext context) {
+        final Configuration config = context.getConfiguration();
+        final LoggerConfig loggerConfig = config.getLoggerConfig("file");
+        assertThat(loggerConfig.requiresLocation()).isTrue();
+        final AtomicInteger updates = new AtomicInteger();
+        context.addPropertyChangeListener(event -> {
+            if (LoggerContext.PROPERTY_CONFIG.equals(event.getPropertyName())) {
+                updates.incrementAndGet();
+            }
+        });
+
+        context.getLogger("file").info("message");
+
+        assertThat(loggerConfig.requiresLocation()).isFalse();
+        assertThat(updates).hasValue(1);
+    }
+
+    @Test
+    @LoggerContextSource
+    void reports_appenders_that_cannot_be_created(final LoggerContext context) {
+        final LazyAppender invalid = context.getConfiguration().getAppender("INVALID");
+        assertThat(invalid.ignoreExceptions()).isFalse();
+
+        assertThatThrownBy(() -> context.getLogger("invalid").info("message"))
+                .isInstanceOf(AppenderLoggingException.class);
+        assertThat(invalid.getAppender()).isNull();
+    }
+}
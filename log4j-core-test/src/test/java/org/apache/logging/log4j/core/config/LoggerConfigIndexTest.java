@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.logging.log4j.core.util.NameUtil;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LoggerConfigIndexTest {
+
+    private static final String[] CONFIG_NAMES = {"", "a", "a.b", "a.b.c", "a.", "b.c", ".d", "x.y.z"};
+
+    private static final Map<String, LoggerConfig> LOGGER_CONFIGS = createLoggerConfigs();
+
+    private static final LoggerConfigIndex INDEX = new LoggerConfigIndex(LOGGER_CONFIGS);
+
+    private static Map<String, LoggerConfig> createLoggerConfigs() {
+        final Map<String, LoggerConfig> loggerConfigs = new HashMap<>();
+        for (final String name : CONFIG_NAMES) {
+            loggerConfigs.put(name, new LoggerConfig(name, null, true));
+        }
+        return loggerConfigs;
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "", "a", "a.b", "a.b.c", "a.b.c.d", "a.bc", "ab", "a.", "a..b", "a.b.", "b", "b.c.d", ".d", ".d.e",
+                ".e", "x", "x.y", "x.y.z.w", "z"
+            })
+    void finds_same_ancestor_as_sub_name_lookup(final String loggerName) {
+        assertThat(INDEX.find(loggerName)).isSameAs(findBySubName(loggerName));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"a", "a.b", "x.y"})
+    void returns_null_without_matching_ancestor(final String loggerName) {
+        final Map<String, LoggerConfig> loggerConfigs = new HashMap<>();
+        loggerConfigs.put("b", new LoggerConfig("b", null, true));
+        assertThat(new LoggerConfigIndex(loggerConfigs).find(loggerName)).isNull();
+    }
+
+    private static LoggerConfig findBySubName(final String loggerName) {
+        String name = loggerName;
+        do {
+            final LoggerConfig loggerConfig = LOGGER_CONFIGS.get(name);
+            if (loggerConfig != null) {
+                return loggerConfig;
+            }
+        } while ((name = NameUtil.getSubName(name)) != null);
+        return null;
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilder;
+import org.apache.logging.log4j.core.config.builder.api.ConfigurationBuilderFactory;
+import org.apache.logging.log4j.core.config.builder.impl.BuiltConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ReconfigurationCarryOverTest {
+
+    private final LoggerContext context = new LoggerContext(ReconfigurationCarryOverTest.class.getSimpleName());
+
+    @AfterEach
+    void tearDown() {
+        context.stop();
+    }
+
+    private Configuration createConfiguration(final Level level, final boolean raw) {
+        return createConfiguration(level, raw, true);
+    }
+
+    private Configuration createConfiguration(final Level level, final boolean raw, final boolean carryOver) {
+        final ConfigurationBuilder<BuiltConfiguration> builder = ConfigurationBuilderFactory.newConfigurationBuilder();
+        builder.setLoggerContext(context);
+        builder.addRootProperty("carryOverAppenders", Boolean.toString(carryOver));
+        builder.add(builder.newAppender("LIST1", "List"));
+        builder.add(builder.newAppender("LIST2", "List").addAttribute("raw", raw));
+        builder.add(builder.newAppender("ASYNC", "Async").addComponent(builder.newAppenderRef("LIST2")));
+        builder.add(builder.newRootLogger(level)
+                .add(builder.newAppenderRef("LIST1"))
+                .add(builder.newAppenderRef("ASYNC")));
+        return builder.build(false);
+    }
+
+    private static void assertRecreated(
+            final Configuration oldConfig, final Configuration newConfig, final String name) {
+        final Appender oldAppender = oldConfig.getAppender(name);
+        final Appender newAppender = newConfig.getAppender(name);
+        assertThat(newAppender).isNotSameAs(oldAppender);
+        assertThat(oldAppender.isStopped()).isTrue();
+        assertThat(newAppender.isStarted()).isTrue();
+    }
+
+    @Test
+    void carries_over_unchanged_appenders() {
+        final Configuration oldConfig = createConfiguration(Level.INFO, false);
+        context.setConfiguration(oldConfig);
+
+        final Configuration newConfig = createConfiguration(Level.DEBUG, false);
+        context.setConfiguration(newConfig);
+
+        assertThat(oldConfig.isStopped()).isTrue();
+        assertThat(newConfig.getRootLogger().getLevel()).isEqualTo(Level.DEBUG);
+        for (final String name : new String[] {"LIST1", "LIST2"}) {
+            final Appender appender = newConfig.getAppender(name);
+            assertThat(appender).isSameAs(oldConfig.getAppender(name));
+            assertThat(appender.isStarted()).isTrue();
+        }
+        // Holds a reference to its configuration
+        assertRecreated(oldConfig, newConfig, "ASYNC");
+    }
+
+    @Test
+    void rebuilds_changed_appenders_and_the_appenders_referencing_them() {
+        final Configuration oldConfig = createConfiguration(Level.INFO, false);
+        context.setConfiguration(oldConfig);
+
+        final Configuration newConfig = createConfiguration(Level.INFO, true);
+        context.setConfiguration(newConfig);
+
+        final Appender list1 = newConfig.getAppender("LIST1");
+        assertThat(list1).isSameAs(oldConfig.getAppender("LIST1"));
+        assertThat(list1.isStarted()).isTrue();
+        assertRecreated(oldConfig, newConfig, "LIST2");
+        assertRecreated(oldConfig, newConfig, "ASYNC");
+    }
+
+    @Test
+    void rebuilds_all_appenders_unless_enabled() {
+        final Configuration oldConfig = createConfiguration(Level.INFO, false, false);
+        context.setConfiguration(oldConfig);
+
+        final Configuration newConfig = createConfiguration(Level.INFO, false, false);
+        context.setConfiguration(newConfig);
+
+        for (final String name : new String[] {"LIST1", "LIST2", "ASYNC"}) {
+            assertRecreated(oldConfig, newConfig, name);
+        }
+    }
+
+    @Test
+    void stops_all_appenders_if_the_context_stops() {
+        final Configuration config = createConfiguration(Level.INFO, false);
+        context.setConfiguration(config);
+        context.setConfiguration(createConfiguration(Level.DEBUG, false));
+
+        context.stop();
+
+        assertThat(config.<Appender>getAppender("LIST1").isStopped()).isTrue();
+        assertThat(config.<Appender>getAppender("ASYNC").isStopped()).isTrue();
+    }
+}
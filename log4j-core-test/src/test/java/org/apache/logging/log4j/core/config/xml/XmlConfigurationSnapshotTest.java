@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class XmlConfigurationSnapshotTest {
+
+    private static final byte[] CONFIG = ("<Configuration status=\"WARN\">"
+                    + "<Appenders><Console name=\"CONSOLE\"><PatternLayout pattern=\"${sys:pattern}\"/></Console></Appenders>"
+                    + "<Scripts><Script name=\"script\" language=\"groovy\"><![CDATA[ a < b ]]></Script></Scripts>"
+                    + "</Configuration>")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    private Path tempDir;
+
+    private static XmlElement parse(final byte[] content) throws Exception {
+        return XmlElement.of(XmlConfiguration.newDocumentBuilder(false)
+                .parse(new ByteArrayInputStream(content))
+                .getDocumentElement());
+    }
+
+    private static void assertSameElement(final XmlElement actual, final XmlElement expected) {
+        assertThat(actual.getName()).isEqualTo(expected.getName());
+        assertThat(actual.getAttributes()).containsExactlyEntriesOf(expected.getAttributes());
+        assertThat(actual.getText()).isEqualTo(expected.getText());
+        assertThat(actual.getChildren()).hasSameSizeAs(expected.getChildren());
+        for (int i = 0; i < expected.getChildren().size(); i++) {
+            assertSameElement(actual.getChildren().get(i), expected.getChildren().get(i));
+        }
+    }
+
+    @Test
+    void restores_elements_of_unchanged_configuration() throws Exception {
+        final Path file = tempDir.resolve("snapshots").resolve("config.snapshot");
+        final XmlElement root = parse(CONFIG);
+        assertThat(new XmlConfigurationSnapshot(file, CONFIG).read()).isNull();
+
+        new XmlConfigurationSnapshot(file, CONFIG).write(root);
+
+        final XmlElement restored = new XmlConfigurationSnapshot(file, CONFIG).read();
+        assertThat(restored).isNotNull();
+        assertSameElement(restored, root);
+        // Lookups are kept unresolved
+        assertThat(restored.getChildren().get(0).getChildren().get(0).getChildren().get(0).getAttributes())
+                .containsEntry("pattern", "${sys:pattern}");
+        assertThat(restored.getChildren().get(1).getChildren().get(0).getText()).isEqualTo(" a < b ");
+    }
+
+    @Test
+    void ignores_snapshot_of_changed_configuration() throws Exception {
+        final Path file = tempDir.resolve("config.snapshot");
+        new XmlConfigurationSnapshot(file, CONFIG).write(parse(CONFIG));
+
+        final byte[] changedConfig = new String(CONFIG, StandardCharsets.UTF_8)
+                .replace("WARN", "DEBUG")
+                .getBytes(StandardCharsets.UTF_8);
+        assertThat(new XmlConfigurationSnapshot(file, changedConfig).read()).isNull();
+    }
+
+    @Test
+    void ignores_corrupted_snapshot() throws Exception {
+        final Path file = tempDir.resolve("config.snapshot");
+        Files.write(file, new byte[] {1, 2, 3});
+        assertThat(new XmlConfigurationSnapshot(file, CONFIG).read()).isNull();
+    }
+
+    @Test
+    void ignores_snapshot_with_invalid_lengths() throws Exception {
+        final Path file = tempDir.resolve("config.snapshot");
+        new XmlConfigurationSnapshot(file, CONFIG).write(parse(CONFIG));
+        final byte[] snapshot = Files.readAllBytes(file);
+        // Magic number, format version and SHA-256 checksum precede the length of the root element name
+        final int nameLengthOffset = 2 * Integer.BYTES + 32;
+        final int nameLength = ByteBuffer.wrap(snapshot).getInt(nameLengthOffset);
+        final int attributeCountOffset = nameLengthOffset + Integer.BYTES + nameLength;
+
+        ByteBuffer.wrap(snapshot).putInt(attributeCountOffset, Integer.MAX_VALUE);
+        Files.write(file, snapshot);
+        assertThat(new XmlConfigurationSnapshot(file, CONFIG).read()).isNull();
+
+        ByteBuffer.wrap(snapshot).putInt(nameLengthOffset, Integer.MAX_VALUE);
+        Files.write(file, snapshot);
+        assertThat(new XmlConfigurationSnapshot(file, CONFIG).read()).isNull();
+    }
+
+    @Test
+    void does_not_write_snapshot_of_configuration_with_included_files() throws Exception {
+        final Path file = tempDir.resolve("config.snapshot");
+        final byte[] config = ("<Configuration>"
+                        + "<Appenders xml:base=\"appenders.xml\"><Console name=\"CONSOLE\"/></Appenders>"
+                        + "</Configuration>")
+                .getBytes(StandardCharsets.UTF_8);
+        new XmlConfigurationSnapshot(file, config).write(parse(config));
+        assertThat(file).doesNotExist();
+    }
+}
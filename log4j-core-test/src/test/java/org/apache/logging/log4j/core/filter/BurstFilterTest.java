@@ -17,16 +17,23 @@
 package org.apache.logging.log4j.core.filter;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
+import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.test.appender.ListAppender;
 import org.apache.logging.log4j.core.test.junit.LoggerContextSource;
 import org.apache.logging.log4j.core.test.junit.Named;
+import org.apache.logging.log4j.core.util.NanoClock;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.apache.logging.log4j.util.StringMap;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -48,16 +55,12 @@ class BurstFilterTest {
 
     /**
      * Test BurstFilter by surpassing maximum number of log messages allowed by filter and
-     * making sure only the maximum number are indeed logged, then wait for while and make
-     * sure the filter allows the appropriate number of messages to be logged.
+     * making sure only the maximum number are indeed logged, then make sure that events
+     * more severe than the filter level are not limited.
      */
     @Test
-    void test() throws Exception {
-        System.nanoTime();
+    void test() {
         for (int i = 0; i < 110; i++) {
-            if (i % 10 == 0) {
-                Thread.sleep(200);
-            }
             logger.info("Logging 110 messages, should only see 100 logs # " + (i + 1));
             assertTrue(filter.getAvailable() < 100, "Incorrect number of available slots");
         }
@@ -65,29 +68,6 @@ class BurstFilterTest {
         assertEquals(100, msgs.size(), "Incorrect message count. Should be 100, actual " + msgs.size());
         app.clear();
 
-        assertTrue(filter.getAvailable() < 100, "Incorrect number of available slots");
-        // Allow some of the events to clear
-        Thread.sleep(1500);
-
-        for (int i = 0; i < 110; i++) {
-            logger.info(
-                    "Waited 1.5 seconds and trying to log again, should see more than 0 and less than 100" + (i + 1));
-        }
-
-        msgs = app.getMessages();
-        assertFalse(msgs.isEmpty(), "No messages were counted.");
-        assertTrue(msgs.size() < 100, "Incorrect message count. Should be > 0 and < 100, actual " + msgs.size());
-        app.clear();
-
-        filter.clear();
-
-        for (int i = 0; i < 110; i++) {
-            logger.info(
-                    "Waited 1.5 seconds and trying to log again, should see more than 0 and less than 100" + (i + 1));
-        }
-        assertEquals(0, filter.getAvailable(), "");
-        app.clear();
-
         // now log 100 debugs, they shouldn't get through because there are no available slots.
         for (int i = 0; i < 110; i++) {
             logger.debug("TEST FAILED! Logging 110 debug messages, shouldn't see any of them because they are debugs #"
@@ -125,14 +105,111 @@ class BurstFilterTest {
         assertEquals(110, msgs.size(), "Incorrect message count. Should be 110, actual " + msgs.size());
         app.clear();
 
-        // wait and make sure we can log messages again despite the fact we just logged a bunch of warns, errors, fatals
-        Thread.sleep(3100);
-
+        // clearing the history makes all the slots available again
+        filter.clear();
+        assertEquals(100, filter.getAvailable(), "Incorrect number of available slots");
         for (int i = 0; i < 110; i++) {
-            logger.debug("Waited 3+ seconds, should see 100 logs #" + (i + 1));
+            logger.debug("Cleared the history, should see 100 logs #" + (i + 1));
         }
         msgs = app.getMessages();
         assertEquals(100, msgs.size(), "Incorrect message count. Should be 100, actual " + msgs.size());
         app.clear();
     }
+
+    @Test
+    void testRefill() {
+        final ManualNanoClock clock = new ManualNanoClock(0);
+        final BurstFilter burstFilter = createFilter(clock).build();
+        assertEquals(5, acceptCount(burstFilter, createEvent("a.A", null), 10));
+        assertEquals(0, burstFilter.getAvailable());
+
+        // a token every 100 milliseconds
+        clock.nanoTime += 250_000_000L;
+        assertEquals(2, burstFilter.getAvailable());
+        assertEquals(2, acceptCount(burstFilter, createEvent("a.A", null), 10));
+
+        // the bucket does not grow beyond the maximum burst
+        clock.nanoTime += 10_000_000_000L;
+        assertEquals(5, burstFilter.getAvailable());
+        assertEquals(5, acceptCount(burstFilter, createEvent("a.A", null), 10));
+    }
+
+    @Test
+    void testNanoTimeOverflow() {
+        final ManualNanoClock clock = new ManualNanoClock(Long.MAX_VALUE - 50_000_000L);
+        final BurstFilter burstFilter = createFilter(clock).build();
+        assertEquals(5, acceptCount(burstFilter, createEvent("a.A", null), 10));
+        clock.nanoTime += 100_000_000L;
+        assertEquals(1, acceptCount(burstFilter, createEvent("a.A", null), 10));
+    }
+
+    @Test
+    void testPerLogger() {
+        final BurstFilter burstFilter = createFilter(new ManualNanoClock(0)).setPerLogger(true).build();
+        assertEquals(5, acceptCount(burstFilter, createEvent("a.A", null), 10));
+        assertEquals(5, acceptCount(burstFilter, createEvent("a.B", null), 10));
+        assertEquals(0, acceptCount(burstFilter, createEvent("a.A", null), 10));
+        // events at least as severe as the filter level are not limited
+        final LogEvent warning = Log4jLogEvent.newBuilder()
+                .setLoggerName("a.A")
+                .setLevel(Level.WARN)
+                .setMessage(new SimpleMessage("Hello"))
+                .build();
+        assertEquals(Result.NEUTRAL, burstFilter.filter(warning));
+    }
+
+    @Test
+    void testContextKey() {
+        final BurstFilter burstFilter = createFilter(new ManualNanoClock(0)).setContextKey("tenant").build();
+        assertEquals(5, acceptCount(burstFilter, createEvent("a.A", "acme"), 10));
+        assertEquals(5, acceptCount(burstFilter, createEvent("a.B", "other"), 10));
+        assertEquals(0, acceptCount(burstFilter, createEvent("a.B", "acme"), 10));
+    }
+
+    private static BurstFilter.Builder createFilter(final NanoClock clock) {
+        return BurstFilter.newBuilder()
+                .setLevel(Level.INFO)
+                .setRate(10)
+                .setMaxBurst(5)
+                .setNanoClock(clock)
+                .setOnMatch(Result.NEUTRAL)
+                .setOnMismatch(Result.DENY);
+    }
+
+    private static LogEvent createEvent(final String loggerName, final String tenant) {
+        final StringMap contextData = new SortedArrayStringMap();
+        if (tenant != null) {
+            contextData.putValue("tenant", tenant);
+        }
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName(loggerName)
+                .setLevel(Level.INFO)
+                .setContextData(contextData)
+                .setMessage(new SimpleMessage("Hello"))
+                .build();
+    }
+
+    private static int acceptCount(final BurstFilter burstFilter, final LogEvent event, final int attempts) {
+        int count = 0;
+        for (int i = 0; i < attempts; i++) {
+            if (burstFilter.filter(event) == Result.NEUTRAL) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static final class ManualNanoClock implements NanoClock {
+
+        private long nanoTime;
+
+        private ManualNanoClock(final long nanoTime) {
+            this.nanoTime = nanoTime;
+        }
+
+        @Override
+        public long nanoTime() {
+            return nanoTime;
+        }
+    }
 }
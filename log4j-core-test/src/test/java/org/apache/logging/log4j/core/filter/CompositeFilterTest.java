@@ -17,10 +17,18 @@
 package org.apache.logging.log4j.core.filter;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
 import org.junit.jupiter.api.Test;
 
 class CompositeFilterTest {
@@ -45,4 +53,58 @@ class CompositeFilterTest {
         final CompositeFilter concat2 = singleA.addFilter(singleB.addFilter(singleC));
         assertArrayEquals(expected, concat2.getFiltersArray());
     }
+
+    @Test
+    void testSkipsFiltersThatCannotChangeTheResult() {
+        final AtomicInteger calls = new AtomicInteger();
+        final Filter counting = new AbstractFilter() {
+            @Override
+            public Result filter(final LogEvent event) {
+                calls.incrementAndGet();
+                return Result.NEUTRAL;
+            }
+        };
+        final CompositeFilter filter = CompositeFilter.createFilters(
+                ThresholdFilter.createFilter(Level.ERROR, Result.ACCEPT, Result.NEUTRAL),
+                counting,
+                LevelMatchFilter.newBuilder()
+                        .setLevel(Level.DEBUG)
+                        .setOnMatch(Result.DENY)
+                        .setOnMismatch(Result.NEUTRAL)
+                        .build());
+        assertEquals(Result.ACCEPT, filter.filter(createEvent(Level.ERROR, null)));
+        assertEquals(0, calls.get());
+        assertEquals(Result.DENY, filter.filter(createEvent(Level.DEBUG, null)));
+        assertEquals(1, calls.get());
+        assertEquals(Result.NEUTRAL, filter.filter(createEvent(Level.INFO, null)));
+        assertEquals(2, calls.get());
+        // Custom levels are not planned
+        assertEquals(Result.NEUTRAL, filter.filter(createEvent(Level.forName("COMPOSITE_FILTER_TEST", 450), null)));
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void testGroupsMarkerFilters() {
+        final CompositeFilter filter = CompositeFilter.createFilters(
+                MarkerFilter.createFilter("A", Result.ACCEPT, Result.NEUTRAL),
+                MarkerFilter.createFilter("B", Result.ACCEPT, Result.NEUTRAL),
+                MarkerFilter.createFilter("C", Result.DENY, Result.NEUTRAL),
+                MarkerFilter.createFilter("D", Result.DENY, Result.NEUTRAL));
+        final Marker child =
+                MarkerManager.getMarker("CompositeFilterTest.child").setParents(MarkerManager.getMarker("D"));
+        assertEquals(Result.ACCEPT, filter.filter(createEvent(Level.INFO, MarkerManager.getMarker("B"))));
+        assertEquals(Result.DENY, filter.filter(createEvent(Level.INFO, MarkerManager.getMarker("C"))));
+        assertEquals(Result.DENY, filter.filter(createEvent(Level.INFO, child)));
+        assertEquals(Result.NEUTRAL, filter.filter(createEvent(Level.INFO, MarkerManager.getMarker("X"))));
+        assertEquals(Result.NEUTRAL, filter.filter(createEvent(Level.INFO, null)));
+        assertEquals(Result.ACCEPT, filter.filter(null, Level.INFO, MarkerManager.getMarker("A"), "message", 1, 2));
+    }
+
+    private static LogEvent createEvent(final Level level, final Marker marker) {
+        return Log4jLogEvent.newBuilder()
+                .setLevel(level)
+                .setMarker(marker)
+                .setMessage(new SimpleMessage("message"))
+                .build();
+    }
 }
@@ -19,6 +19,7 @@ package org.apache.logging.log4j.core.filter;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -66,6 +67,19 @@ class DynamicThresholdFilterTest {
         ThreadContext.clearMap();
     }
 
+    @Test
+    void testPredict() {
+        final KeyValuePair[] pairs =
+                new KeyValuePair[] {new KeyValuePair("testuser", "DEBUG"), new KeyValuePair("JohnDoe", "warn")};
+        final DynamicThresholdFilter filter = DynamicThresholdFilter.createFilter(
+                "userid", pairs, Level.ERROR, Filter.Result.ACCEPT, Filter.Result.NEUTRAL);
+        // Below all the thresholds
+        assertSame(Filter.Result.NEUTRAL, filter.predict(Level.TRACE));
+        // Above some of the thresholds
+        assertNull(filter.predict(Level.DEBUG));
+        assertNull(filter.predict(Level.FATAL));
+    }
+
     @Test
     void testFilterWorksWhenParamsArePassedAsArguments() {
         ThreadContext.put("userid", "testuser");
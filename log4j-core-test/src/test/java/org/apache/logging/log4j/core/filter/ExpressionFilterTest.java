@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.ThreadContext;
+import org.apache.logging.log4j.core.Filter.Result;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.apache.logging.log4j.test.junit.UsingThreadContextMap;
+import org.junit.jupiter.api.Test;
+
+@UsingThreadContextMap
+class ExpressionFilterTest {
+
+    private static ExpressionFilter createFilter(final String expression) {
+        return ExpressionFilter.newBuilder()
+                .setExpression(expression)
+                .setOnMatch(Result.ACCEPT)
+                .setOnMismatch(Result.DENY)
+                .build();
+    }
+
+    @Test
+    void filters_events() {
+        final ExpressionFilter filter = createFilter("level >= 'WARN' && marker == 'AUDIT'");
+        final LogEvent matching = Log4jLogEvent.newBuilder()
+                .setLevel(Level.ERROR)
+                .setMarker(MarkerManager.getMarker("AUDIT"))
+                .setMessage(new SimpleMessage("Hello"))
+                .build();
+        final LogEvent mismatching = Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setMarker(MarkerManager.getMarker("AUDIT"))
+                .setMessage(new SimpleMessage("Hello"))
+                .build();
+        assertThat(filter.filter(matching)).isEqualTo(Result.ACCEPT);
+        assertThat(filter.filter(mismatching)).isEqualTo(Result.DENY);
+    }
+
+    @Test
+    void filters_before_event_creation() {
+        final Logger logger = LoggerContext.getContext(false).getLogger("com.example.Service");
+        final ExpressionFilter filter =
+                createFilter("logger =~ 'com\\.example\\..*' && message == 'Order 5' && context.tenant == 'acme'");
+        ThreadContext.put("tenant", "acme");
+        assertThat(filter.filter(logger, Level.INFO, null, "Order {}", 5)).isEqualTo(Result.ACCEPT);
+        assertThat(filter.filter(logger, Level.INFO, null, "Order {}", 6)).isEqualTo(Result.DENY);
+        assertThat(filter.filter(logger, Level.INFO, null, (Object) "Order 5", null))
+                .isEqualTo(Result.ACCEPT);
+        assertThat(filter.filter(logger, Level.INFO, null, new SimpleMessage("Order 5"), null))
+                .isEqualTo(Result.ACCEPT);
+        ThreadContext.put("tenant", "other");
+        assertThat(filter.filter(logger, Level.INFO, null, "Order {}", 5)).isEqualTo(Result.DENY);
+    }
+
+    @Test
+    void rejects_invalid_expressions() {
+        assertThat(createFilter("level >= 'UNKNOWN'")).isNull();
+        assertThat(ExpressionFilter.newBuilder().build()).isNull();
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Map;
 import org.apache.logging.log4j.core.pattern.AnsiEscape;
 import org.apache.logging.log4j.core.pattern.JAnsiTextRenderer;
 import org.apache.logging.log4j.core.pattern.TextRenderer;
+import org.apache.logging.log4j.core.util.internal.StackTraceDeduplicator;
 import org.apache.logging.log4j.util.Strings;
 import org.junit.jupiter.api.Test;
 
@@ -518,4 +519,28 @@ final class ThrowableFormatOptionsTest {
                 Strings.LINE_SEPARATOR,
                 Arrays.asList("package1", "package2"));
     }
+
+    /**
+     * Test {@code %throwable{dedup(1000)} }
+     */
+    @Test
+    void testDedupWindow() {
+        assertEquals(1000, ThrowableFormatOptions.newInstance(new String[] {"dedup(1000)"}).getDedupWindowMillis());
+        assertEquals(
+                StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS,
+                ThrowableFormatOptions.newInstance(new String[] {"dedup"}).getDedupWindowMillis());
+    }
+
+    /**
+     * Test {@code %throwable{dedup(1m)} }
+     */
+    @Test
+    void testInvalidDedupWindow() {
+        assertEquals(
+                StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS,
+                ThrowableFormatOptions.newInstance(new String[] {"dedup(1m)"}).getDedupWindowMillis());
+        assertEquals(
+                StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS,
+                ThrowableFormatOptions.newInstance(new String[] {"dedup(-1)"}).getDedupWindowMillis());
+    }
 }
@@ -16,6 +16,7 @@
  */
 package org.apache.logging.log4j.core.layout;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.apache.logging.log4j.Level;
@@ -101,4 +102,36 @@ class PatternSelectorTest {
         final String expectSuffix2 = String.format("Hello, world 1!%n");
         assertTrue(result2.endsWith(expectSuffix2), "Unexpected result: " + result2);
     }
+
+    @Test
+    void testExpressionPatternSelector() {
+        final PatternMatch[] patterns = {
+            new PatternMatch("marker == 'FLOW'", "FLOW %m%n"), new PatternMatch("level >= 'WARN'", "WARN %m%n")
+        };
+        final PatternSelector selector = ExpressionPatternSelector.newBuilder()
+                .setProperties(patterns)
+                .setDefaultPattern("%m%n")
+                .setConfiguration(ctx.getConfiguration())
+                .build();
+        final PatternLayout layout = PatternLayout.newBuilder()
+                .withPatternSelector(selector)
+                .withConfiguration(ctx.getConfiguration())
+                .build();
+        final LogEvent event1 = Log4jLogEvent.newBuilder() //
+                .setMarker(MarkerManager.getMarker("FLOW"))
+                .setLevel(Level.ERROR) //
+                .setMessage(new SimpleMessage("entry"))
+                .build();
+        assertEquals(String.format("FLOW entry%n"), new String(layout.toByteArray(event1)));
+        final LogEvent event2 = Log4jLogEvent.newBuilder() //
+                .setLevel(Level.ERROR) //
+                .setMessage(new SimpleMessage("failure"))
+                .build();
+        assertEquals(String.format("WARN failure%n"), new String(layout.toByteArray(event2)));
+        final LogEvent event3 = Log4jLogEvent.newBuilder() //
+                .setLevel(Level.INFO) //
+                .setMessage(new SimpleMessage("Hello, world 1!"))
+                .build();
+        assertEquals(String.format("Hello, world 1!%n"), new String(layout.toByteArray(event3)));
+    }
 }
@@ -32,6 +32,7 @@ import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.util.internal.StackTraceDeduplicator;
 import org.jspecify.annotations.Nullable;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -400,6 +401,40 @@ public class ThrowablePatternConverterTest {
             assertThat(stackTrace).as("pattern=`%s`", effectivePattern).isEmpty();
         }
 
+        @Test
+        void dedup_output_should_reference_repeated_stack_traces() {
+            final String pattern = "%p" + patternPrefix + "{dedup}";
+            final List<PatternFormatter> patternFormatters = PATTERN_PARSER.parse(pattern, false, true, true);
+            final String fingerprint =
+                    StackTraceDeduplicator.formatFingerprint(StackTraceDeduplicator.fingerprint(EXCEPTION));
+            final String firstStackTrace = convert(patternFormatters);
+            assertThat(firstStackTrace)
+                    .as("pattern=`%s`", pattern)
+                    .startsWith(String.format("%s%n", LEVEL))
+                    .contains(" [stack #" + fingerprint + "]" + LINE_SEPARATOR)
+                    .contains(THROWING_METHOD.getMethodName());
+            for (int count = 2; count <= 3; count++) {
+                assertThat(convert(patternFormatters))
+                        .as("pattern=`%s`", pattern)
+                        .startsWith(String.format("%s%n", LEVEL))
+                        .endsWith(String.format(" [stack #%s seen %d times]%s", fingerprint, count, LINE_SEPARATOR))
+                        .doesNotContain(THROWING_METHOD.getMethodName());
+            }
+        }
+
+        @Test
+        void repeated_output_should_reflect_new_suppressed_exceptions() {
+            final String pattern = "%p" + patternPrefix;
+            final List<PatternFormatter> patternFormatters = PATTERN_PARSER.parse(pattern, false, true, true);
+            final Exception exception = new IllegalStateException("foo");
+            final String stackTrace = convert(patternFormatters, exception);
+            assertThat(convert(patternFormatters, exception)).isEqualTo(stackTrace);
+            exception.addSuppressed(new IllegalArgumentException("bar"));
+            assertThat(convert(patternFormatters, exception))
+                    .as("pattern=`%s`", pattern)
+                    .contains(IllegalArgumentException.class.getName() + ": bar");
+        }
+
         void assertStackTraceLines(
                 @Nullable final DepthTestCase depthTestCase,
                 final String pattern,
@@ -437,8 +472,16 @@ public class ThrowablePatternConverterTest {
 
     static String convert(final String pattern) {
         final List<PatternFormatter> patternFormatters = PATTERN_PARSER.parse(pattern, false, true, true);
+        return convert(patternFormatters);
+    }
+
+    private static String convert(final List<PatternFormatter> patternFormatters) {
+        return convert(patternFormatters, EXCEPTION);
+    }
+
+    private static String convert(final List<PatternFormatter> patternFormatters, final Throwable throwable) {
         final LogEvent logEvent =
-                Log4jLogEvent.newBuilder().setThrown(EXCEPTION).setLevel(LEVEL).build();
+                Log4jLogEvent.newBuilder().setThrown(throwable).setLevel(LEVEL).build();
         final StringBuilder buffer = new StringBuilder();
         for (final PatternFormatter patternFormatter : patternFormatters) {
             patternFormatter.format(logEvent, buffer);
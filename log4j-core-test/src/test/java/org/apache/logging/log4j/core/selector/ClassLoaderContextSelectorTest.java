@@ -18,9 +18,11 @@ package org.apache.logging.log4j.core.selector;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import java.lang.reflect.Field;
 import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.util.ReflectionUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -60,4 +62,22 @@ class ClassLoaderContextSelectorTest {
         assertNotSame(logger1.getContext(), logger3.getContext());
         assertNotSame(logger2.getContext(), logger3.getContext());
     }
+
+    @Test
+    void testContextIsResolvedAgainAfterStop() {
+        final ClassLoaderContextSelector selector = new ClassLoaderContextSelector();
+        final String fqcn = ClassLoaderContextSelectorTest.class.getName();
+        final LoggerContext context = selector.getContext(fqcn, loader1, false);
+        assertSame(context, selector.getContext(fqcn, loader1, false));
+        assertNotSame(context, selector.getContext(fqcn, loader2, false));
+        context.stop();
+        final LoggerContext newContext = selector.getContext(fqcn, loader1, false);
+        try {
+            assertNotSame(context, newContext);
+            assertSame(newContext, selector.getContext(fqcn, loader1, false));
+        } finally {
+            newContext.stop();
+            selector.getContext(fqcn, loader2, false).stop();
+        }
+    }
 }
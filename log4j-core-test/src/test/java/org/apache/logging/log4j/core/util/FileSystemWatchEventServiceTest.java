@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.logging.log4j.core.config.ConfigurationScheduler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class FileSystemWatchEventServiceTest {
+
+    @TempDir
+    private Path tempDir;
+
+    private final ConfigurationScheduler scheduler = new ConfigurationScheduler();
+
+    // Polling is disabled, so that only file system events are reported
+    private final WatchManager watchManager = new WatchManager(scheduler);
+
+    private final FileSystemWatchEventService service = new FileSystemWatchEventService(true);
+
+    @BeforeEach
+    void setUp() {
+        scheduler.start();
+        watchManager.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.unsubscribe(watchManager);
+        watchManager.stop();
+        scheduler.stop();
+    }
+
+    @Test
+    void reports_modifications_on_file_system_events() throws Exception {
+        final Path file = Files.write(tempDir.resolve("log4j2.xml"), "<Configuration/>".getBytes(StandardCharsets.UTF_8));
+        final Watcher watcher = mock(Watcher.class);
+        when(watcher.getLastModified()).thenReturn(1L);
+        watchManager.watch(new Source(file.toFile()), watcher);
+        service.subscribe(watchManager);
+
+        when(watcher.isModified()).thenReturn(true);
+        when(watcher.getLastModified()).thenReturn(2L);
+        Files.write(file, "<Configuration status=\"WARN\"/>".getBytes(StandardCharsets.UTF_8));
+
+        // Some platforms emulate the watch service by polling
+        verify(watcher, timeout(30_000)).modified();
+    }
+
+    @Test
+    void ignores_repeated_events_about_the_same_modification() throws Exception {
+        final Path file = Files.write(tempDir.resolve("log4j2.xml"), "<Configuration/>".getBytes(StandardCharsets.UTF_8));
+        final Source source = new Source(file.toFile());
+        final Watcher watcher = mock(Watcher.class);
+        when(watcher.getLastModified()).thenReturn(1L);
+        watchManager.watch(source, watcher);
+
+        when(watcher.isModified()).thenReturn(true);
+        when(watcher.getLastModified()).thenReturn(2L);
+        watchManager.checkSource(source);
+        watchManager.checkSource(source);
+
+        verify(watcher, times(1)).modified();
+    }
+}
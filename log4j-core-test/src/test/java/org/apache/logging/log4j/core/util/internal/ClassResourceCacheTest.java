@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.core.util.internal.ClassResourceCache.ClassResource;
+import org.junit.jupiter.api.Test;
+
+class ClassResourceCacheTest {
+
+    @Test
+    void class_resource_is_computed_once() {
+        final ClassResourceCache cache = new ClassResourceCache(ClassResourceCache.DEFAULT_MAX_SIZE);
+        final ClassResource resource = cache.get(Test.class);
+        assertThat(resource.isUnknown()).isFalse();
+        assertThat(resource.getLocation()).startsWith("junit-jupiter-api").endsWith(".jar");
+        assertThat(resource.getClassLoader()).isSameAs(Test.class.getClassLoader());
+        assertThat(cache.get(Test.class)).isSameAs(resource);
+    }
+
+    @Test
+    void classes_outside_log4j_class_loader_are_not_cached() {
+        final ClassResourceCache cache = new ClassResourceCache(ClassResourceCache.DEFAULT_MAX_SIZE);
+        final ClassResource resource = cache.get(String.class);
+        assertThat(resource.isUnknown()).isFalse();
+        assertThat(cache.get(String.class)).isNotSameAs(resource);
+    }
+
+    @Test
+    void class_resources_are_bounded() {
+        final ClassResourceCache cache = new ClassResourceCache(1);
+        final ClassResource resource = cache.get(Test.class);
+        assertThat(cache.get(Test.class)).isSameAs(resource);
+        cache.get(ClassResourceCacheTest.class);
+        assertThat(cache.get(Test.class)).isNotSameAs(resource);
+    }
+
+    @Test
+    void class_name_resolution_is_cached_per_class_loader() {
+        final ClassResourceCache cache = new ClassResourceCache(ClassResourceCache.DEFAULT_MAX_SIZE);
+        final CountingClassLoader loader = new CountingClassLoader();
+        final String className = Test.class.getName();
+        final ClassResource resource = cache.resolve(loader, className);
+        assertThat(resource).isSameAs(cache.get(Test.class));
+        assertThat(cache.resolve(loader, className)).isSameAs(resource);
+        assertThat(loader.loadCount).hasValue(1);
+        // Another class loader triggers another resolution
+        assertThat(cache.resolve(null, className)).isSameAs(resource);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void class_name_resolution_is_cached_per_thread_context_class_loader() {
+        final ClassResourceCache cache = new ClassResourceCache(ClassResourceCache.DEFAULT_MAX_SIZE);
+        final String className = Test.class.getName();
+        final ClassResource resource = cache.resolve(null, className);
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextLoader = thread.getContextClassLoader();
+        final CountingClassLoader otherContextLoader = new CountingClassLoader();
+        thread.setContextClassLoader(otherContextLoader);
+        try {
+            assertThat(cache.resolve(null, className)).isSameAs(resource);
+            assertThat(cache.resolve(null, className)).isSameAs(resource);
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.resolve(null, className)).isSameAs(resource);
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void unknown_classes_are_cached() {
+        final ClassResourceCache cache = new ClassResourceCache(ClassResourceCache.DEFAULT_MAX_SIZE);
+        final CountingClassLoader loader = new CountingClassLoader();
+        final String className = "org.apache.logging.log4j.NonExistentClass";
+        assertThat(cache.resolve(loader, className)).isSameAs(ClassResource.UNKNOWN);
+        assertThat(cache.resolve(loader, className)).isSameAs(ClassResource.UNKNOWN);
+        assertThat(loader.loadCount).hasValue(1);
+        assertThat(ClassResource.UNKNOWN.getLocation()).isEqualTo("?");
+        assertThat(ClassResource.UNKNOWN.getVersion()).isEqualTo("?");
+        assertThat(ClassResource.UNKNOWN.getClassLoader()).isNull();
+    }
+
+    @Test
+    void size_is_bounded() {
+        final ClassResourceCache cache = new ClassResourceCache(2);
+        cache.resolve(null, String.class.getName());
+        cache.resolve(null, Integer.class.getName());
+        assertThat(cache.size()).isEqualTo(2);
+        cache.resolve(null, Long.class.getName());
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        // Evicted entries are resolved again
+        assertThat(cache.resolve(null, String.class.getName()).getLocation())
+                .isEqualTo(cache.get(String.class).getLocation());
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+    }
+
+    private static final class CountingClassLoader extends ClassLoader {
+
+        private final AtomicInteger loadCount = new AtomicInteger();
+
+        private CountingClassLoader() {
+            super(ClassResourceCacheTest.class.getClassLoader());
+        }
+
+        @Override
+        public Class<?> loadClass(final String name) throws ClassNotFoundException {
+            loadCount.incrementAndGet();
+            return super.loadClass(name);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.MarkerManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.apache.logging.log4j.util.SortedArrayStringMap;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class EventExpressionTest {
+
+    private static final Marker PARENT = MarkerManager.getMarker("PARENT");
+
+    private static final Marker AUDIT = MarkerManager.getMarker("AUDIT").setParents(PARENT);
+
+    private static final LogEvent EVENT = createEvent();
+
+    private static LogEvent createEvent() {
+        final SortedArrayStringMap contextData = new SortedArrayStringMap();
+        contextData.putValue("user.id", "42");
+        contextData.putValue("tenant", "acme");
+        return Log4jLogEvent.newBuilder()
+                .setLoggerName("com.example.Service")
+                .setLevel(Level.WARN)
+                .setMarker(AUDIT)
+                .setThreadName("worker-1")
+                .setMessage(new ParameterizedMessage("Order {} of {}", 5, "alice"))
+                .setThrown(new IOException())
+                .setContextData(contextData)
+                .build();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "level >= 'WARN'",
+                "level == 'warn'",
+                "'INFO' < level",
+                "level != 'ERROR'",
+                "logger == 'com.example.Service'",
+                "logger =~ 'com\\.example\\..*'",
+                "marker == 'AUDIT'",
+                "marker == 'PARENT'",
+                "marker =~ 'AUD.*'",
+                "thread == \"worker-1\"",
+                "message == 'Order 5 of alice'",
+                "throwable == 'java.io.IOException'",
+                "throwable",
+                "context.tenant == 'acme'",
+                "context['user.id'] == 42",
+                "context['user.id'] > 41.5",
+                "param[0] >= 5",
+                "param[1] == 'alice'",
+                "param[2] == null",
+                "!context.missing",
+                "not (level < 'WARN') and marker != 'OTHER'",
+                "level == 'ERROR' || logger =~ '.*Service'",
+                "level == 'ERROR' or true"
+            })
+    void matches(final String text) {
+        assertThat(EventExpression.compile(text).test(EVENT)).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "level > 'WARN'",
+                "level <= 'INFO'",
+                "logger == 'com.example'",
+                "logger =~ 'com'",
+                "marker == 'OTHER'",
+                "marker != 'PARENT'",
+                "throwable == 'java.lang.Exception'",
+                "context.missing",
+                "context['user.id'] < 42",
+                "param[1] > 5",
+                "param[9]",
+                "level >= 'WARN' && false",
+                "!(logger == 'com.example.Service')"
+            })
+    void does_not_match(final String text) {
+        assertThat(EventExpression.compile(text).test(EVENT)).isFalse();
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "",
+                "unknown == 1",
+                "level >= 'UNKNOWN'",
+                "level ==",
+                "(level == 'WARN'",
+                "level === 'WARN'",
+                "logger =~ '['",
+                "logger =~ logger",
+                "'unterminated",
+                "param[x]",
+                "context.",
+                "level == 'WARN' junk"
+            })
+    void rejects_invalid_expressions(final String text) {
+        assertThatThrownBy(() -> EventExpression.compile(text))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining(text);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.message.MessageFactory;
+import org.apache.logging.log4j.message.ParameterizedMessageFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class InternalLoggerRegistryTest {
+
+    private static final MessageFactory MESSAGE_FACTORY = ParameterizedMessageFactory.INSTANCE;
+
+    private final LoggerContext loggerContext = new LoggerContext(InternalLoggerRegistryTest.class.getSimpleName());
+
+    private final InternalLoggerRegistry registry = new InternalLoggerRegistry();
+
+    @AfterEach
+    void stopLoggerContext() {
+        loggerContext.stop();
+    }
+
+    @Test
+    void getLoggers_by_name_returns_the_name_hierarchy() {
+        for (final String name : new String[] {"a", "a.b", "a.b.c", "a.bc", "a..b", "ab", "b.a"}) {
+            registry.computeIfAbsent(name, MESSAGE_FACTORY, loggerContext::getLogger);
+        }
+        assertThat(getLoggerNames("a")).containsExactlyInAnyOrder("a", "a.b", "a.b.c", "a.bc", "a..b");
+        assertThat(getLoggerNames("a.b")).containsExactlyInAnyOrder("a.b", "a.b.c");
+        assertThat(getLoggerNames("a.b.c.d")).isEmpty();
+        assertThat(getLoggerNames("b")).containsExactly("b.a");
+        assertThat(getLoggerNames("")).hasSize(7);
+    }
+
+    @Test
+    void concurrent_computeIfAbsent_creates_each_logger_once() throws Exception {
+        final int threadCount = 8;
+        final int loggerCount = 1_000;
+        final AtomicInteger creationCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Future<Logger>> futures = new ArrayList<>();
+            for (int i = 0; i < threadCount * loggerCount; i++) {
+                final String name = "logger" + (i % loggerCount);
+                futures.add(executor.submit(() -> registry.computeIfAbsent(name, MESSAGE_FACTORY, (n, m) -> {
+                    creationCount.incrementAndGet();
+                    return loggerContext.getLogger(n, m);
+                })));
+            }
+            final List<Logger> loggers = new ArrayList<>();
+            for (final Future<Logger> future : futures) {
+                loggers.add(future.get());
+            }
+            assertThat(creationCount).hasValue(loggerCount);
+            assertThat(registry.getLoggers()).hasSize(loggerCount);
+            for (final Logger logger : loggers) {
+                assertThat(registry.getLogger(logger.getName(), MESSAGE_FACTORY)).isSameAs(logger);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failed_computeIfAbsent_can_be_retried() {
+        assertThatThrownBy(() -> registry.computeIfAbsent("a", MESSAGE_FACTORY, (n, m) -> {
+                    throw new IllegalStateException("expected");
+                }))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(registry.hasLogger("a", MESSAGE_FACTORY)).isFalse();
+        assertThat(registry.getLoggers()).isEmpty();
+        final Logger logger = registry.computeIfAbsent("a", MESSAGE_FACTORY, loggerContext::getLogger);
+        assertThat(registry.getLogger("a", MESSAGE_FACTORY)).isSameAs(logger);
+        assertThat(getLoggerNames("")).containsExactly("a");
+    }
+
+    private Object[] getLoggerNames(final String name) {
+        return registry.getLoggers(name).map(Logger::getName).collect(Collectors.toList()).toArray();
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class RenderedThrowableCacheTest {
+
+    @Test
+    void rendering_is_cached_per_instance_and_key() {
+        final RenderedThrowableCache cache = new RenderedThrowableCache();
+        final Exception exception = new Exception();
+        assertThat(cache.get(exception, "key")).isNull();
+        cache.put(exception, "key", "rendering");
+        assertThat(cache.get(exception, "key")).isEqualTo("rendering");
+        assertThat(cache.get(exception, "otherKey")).isNull();
+        assertThat(cache.get(new Exception(), "key")).isNull();
+        // A new key replaces the previous rendering
+        cache.put(exception, "otherKey", "otherRendering");
+        assertThat(cache.get(exception, "key")).isNull();
+        assertThat(cache.get(exception, "otherKey")).isEqualTo("otherRendering");
+    }
+
+    @Test
+    void throwables_are_compared_by_identity() {
+        final RenderedThrowableCache cache = new RenderedThrowableCache();
+        final Exception exception = new EqualException();
+        cache.put(exception, "key", "rendering");
+        assertThat(cache.get(new EqualException(), "key")).isNull();
+        assertThat(cache.get(exception, "key")).isEqualTo("rendering");
+    }
+
+    @Test
+    void rendering_is_discarded_on_new_cause() {
+        final RenderedThrowableCache cache = new RenderedThrowableCache();
+        // The cause of an exception created without one can be initialized later
+        final Exception exception = new Exception();
+        cache.put(exception, "key", "rendering");
+        exception.initCause(new Exception());
+        assertThat(cache.get(exception, "key")).isNull();
+    }
+
+    @Test
+    void rendering_is_discarded_on_new_nested_cause() {
+        final RenderedThrowableCache cache = new RenderedThrowableCache();
+        final Exception cause = new Exception();
+        final Exception exception = new Exception(cause);
+        cache.put(exception, "key", "rendering");
+        cause.initCause(new Exception());
+        assertThat(cache.get(exception, "key")).isNull();
+    }
+
+    @Test
+    void rendering_is_discarded_on_new_suppressed() {
+        final RenderedThrowableCache cache = new RenderedThrowableCache();
+        final Exception exception = new Exception();
+        cache.put(exception, "key", "rendering");
+        exception.addSuppressed(new Exception());
+        assertThat(cache.get(exception, "key")).isNull();
+    }
+
+    @Test
+    void rendering_is_discarded_on_new_nested_suppressed() {
+        final RenderedThrowableCache cache = new RenderedThrowableCache();
+        final Exception suppressed = new Exception();
+        final Exception exception = new Exception(new Exception());
+        exception.getCause().addSuppressed(suppressed);
+        cache.put(exception, "key", "rendering");
+        assertThat(cache.get(exception, "key")).isEqualTo("rendering");
+        suppressed.addSuppressed(new Exception());
+        assertThat(cache.get(exception, "key")).isNull();
+    }
+
+    @Test
+    void rendering_of_circular_references_is_cached() {
+        final RenderedThrowableCache cache = new RenderedThrowableCache();
+        final Exception cause = new Exception();
+        final Exception exception = new Exception(cause);
+        cause.addSuppressed(exception);
+        cache.put(exception, "key", "rendering");
+        assertThat(cache.get(exception, "key")).isEqualTo("rendering");
+    }
+
+    @Test
+    void size_is_bounded() {
+        final RenderedThrowableCache cache = new RenderedThrowableCache(2);
+        final Exception[] exceptions = {new Exception(), new Exception(), new Exception()};
+        for (final Exception exception : exceptions) {
+            cache.put(exception, "key", "rendering");
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(2);
+        assertThat(cache.get(exceptions[2], "key")).isEqualTo("rendering");
+    }
+
+    private static final class EqualException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public boolean equals(final Object object) {
+            return object instanceof EqualException;
+        }
+
+        @Override
+        public int hashCode() {
+            return 0;
+        }
+    }
+}
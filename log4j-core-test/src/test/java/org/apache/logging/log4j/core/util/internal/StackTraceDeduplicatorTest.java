@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class StackTraceDeduplicatorTest {
+
+    @Test
+    void fingerprint_ignores_messages() {
+        final Exception[] exceptions = new Exception[2];
+        for (int i = 0; i < exceptions.length; i++) {
+            exceptions[i] = new IllegalStateException("message " + i, new RuntimeException("cause " + i));
+        }
+        assertThat(StackTraceDeduplicator.fingerprint(exceptions[0]))
+                .isEqualTo(StackTraceDeduplicator.fingerprint(exceptions[1]));
+    }
+
+    @Test
+    void fingerprint_covers_class_names_causes_and_suppressed() {
+        final Exception exception = newException();
+        final long fingerprint = StackTraceDeduplicator.fingerprint(exception);
+        assertThat(StackTraceDeduplicator.fingerprint(new IllegalArgumentException()))
+                .isNotEqualTo(StackTraceDeduplicator.fingerprint(new IllegalStateException()));
+        final Exception withCause = newException();
+        withCause.initCause(new RuntimeException());
+        assertThat(StackTraceDeduplicator.fingerprint(withCause)).isNotEqualTo(fingerprint);
+        final Exception withSuppressed = newException();
+        withSuppressed.addSuppressed(new RuntimeException());
+        assertThat(StackTraceDeduplicator.fingerprint(withSuppressed)).isNotEqualTo(fingerprint);
+    }
+
+    @Test
+    void fingerprint_supports_circular_references() {
+        final Exception first = new Exception();
+        final Exception second = new Exception(first);
+        first.initCause(second);
+        first.addSuppressed(second);
+        assertThat(StackTraceDeduplicator.fingerprint(first)).isNotZero();
+    }
+
+    @Test
+    void occurrences_are_counted_within_the_window() {
+        final AtomicLong clock = new AtomicLong();
+        final StackTraceDeduplicator deduplicator = new StackTraceDeduplicator(1000, 16, clock::get);
+        assertThat(deduplicator.record(1)).isEqualTo(1);
+        assertThat(deduplicator.record(1)).isEqualTo(2);
+        assertThat(deduplicator.record(2)).isEqualTo(1);
+        clock.set(999);
+        assertThat(deduplicator.record(1)).isEqualTo(3);
+        clock.set(1000);
+        assertThat(deduplicator.record(1)).isEqualTo(1);
+        assertThat(deduplicator.record(2)).isEqualTo(1);
+    }
+
+    @Test
+    void tracked_fingerprints_are_bounded() {
+        final AtomicLong clock = new AtomicLong();
+        final StackTraceDeduplicator deduplicator = new StackTraceDeduplicator(1000, 2, clock::get);
+        deduplicator.record(1);
+        clock.set(1000);
+        deduplicator.record(2);
+        // Evicts the expired fingerprint only
+        deduplicator.record(3);
+        assertThat(deduplicator.record(2)).isEqualTo(2);
+        // Evicts all fingerprints
+        deduplicator.record(4);
+        assertThat(deduplicator.record(2)).isEqualTo(1);
+    }
+
+    @Test
+    void reference_is_formatted() {
+        assertThat(StackTraceDeduplicator.formatReference(0xabcL, 3)).isEqualTo("[stack #abc seen 3 times]");
+    }
+
+    @Test
+    void invalid_window_is_rejected() {
+        assertThatThrownBy(() -> new StackTraceDeduplicator(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Exception newException() {
+        return new IllegalStateException();
+    }
+}
@@ -33,6 +33,7 @@ import org.apache.logging.log4j.core.config.LocationAwareReliabilityStrategy;
 import org.apache.logging.log4j.core.config.LoggerConfig;
 import org.apache.logging.log4j.core.config.ReliabilityStrategy;
 import org.apache.logging.log4j.core.filter.CompositeFilter;
+import org.apache.logging.log4j.core.filter.PredictableFilter;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.message.DefaultFlowMessageFactory;
 import org.apache.logging.log4j.message.FlowMessageFactory;
@@ -66,6 +67,11 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
 
     private static final String FLOW_MESSAGE_FACTORY_PROPERTY_NAME = "log4j2.flowMessageFactory";
 
+    // The standard levels whose `intLevel` is a multiple of 100, indexed by `intLevel / 100`
+    private static final Level[] PREDICTED_LEVELS = {
+        Level.OFF, Level.FATAL, Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE
+    };
+
     /**
      * Config should be consistent across threads.
      */
@@ -531,6 +537,24 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         this.privateConfig = new PrivateConfig(newConfig, this);
     }
 
+    /**
+     * Predicts the results of a context-wide filter for the standard levels.
+     *
+     * @return the predicted results indexed by {@code intLevel / 100}, or {@code null} if none is predictable
+     */
+    private static Filter.Result[] predictResults(final Filter filter) {
+        if (!(filter instanceof PredictableFilter)) {
+            return null;
+        }
+        final Filter.Result[] results = new Filter.Result[PREDICTED_LEVELS.length];
+        boolean predictable = false;
+        for (int i = 0; i < results.length; i++) {
+            results[i] = ((PredictableFilter) filter).predict(PREDICTED_LEVELS[i]);
+            predictable |= results[i] != null;
+        }
+        return predictable ? results : null;
+    }
+
     /**
      * The binding between a Logger and its configuration.
      */
@@ -545,6 +569,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         private final int intLevel;
         private final Logger logger;
         private final boolean requiresLocation;
+        // The context-wide filter, whose results are predicted for some of the standard levels, or `null`
+        private final Filter predictedFilter;
+        // The predicted results of the context-wide filter, indexed by `intLevel / 100`
+        private final Filter.Result[] predictedResults;
 
         public PrivateConfig(final Configuration config, final Logger logger) {
             this.config = config;
@@ -553,6 +581,9 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             this.intLevel = this.loggerConfigLevel.intLevel();
             this.logger = logger;
             this.requiresLocation = this.loggerConfig.requiresLocation();
+            final Filter filter = config.getFilter();
+            this.predictedResults = predictResults(filter);
+            this.predictedFilter = this.predictedResults != null ? filter : null;
         }
 
         public PrivateConfig(final PrivateConfig pc, final Level level) {
@@ -562,6 +593,8 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             this.intLevel = this.loggerConfigLevel.intLevel();
             this.logger = pc.logger;
             this.requiresLocation = this.loggerConfig.requiresLocation();
+            this.predictedFilter = pc.predictedFilter;
+            this.predictedResults = pc.predictedResults;
         }
 
         public PrivateConfig(final PrivateConfig pc, final LoggerConfig lc) {
@@ -571,6 +604,26 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
             this.intLevel = this.loggerConfigLevel.intLevel();
             this.logger = pc.logger;
             this.requiresLocation = this.loggerConfig.requiresLocation();
+            this.predictedFilter = pc.predictedFilter;
+            this.predictedResults = pc.predictedResults;
+        }
+
+        /**
+         * Returns the predicted result of the context-wide filter for a level.
+         * <p>
+         *   The filter is compared with the one used for the prediction, since it can be replaced without updating
+         *   the loggers.
+         * </p>
+         *
+         * @return the predicted result, or {@code null} if it must be computed
+         */
+        private Filter.Result getPredictedResult(final Filter filter, final Level level) {
+            if (filter != predictedFilter || level == null) {
+                return null;
+            }
+            final int index = level.intLevel() / 100;
+            // Custom levels are not predicted, even if they have the same `intLevel` as a standard one
+            return index < PREDICTED_LEVELS.length && PREDICTED_LEVELS[index] == level ? predictedResults[index] : null;
         }
 
         // LOG4J2-151: changed visibility to public
@@ -585,7 +638,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -596,7 +652,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Throwable t) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, (Object) msg, t);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, (Object) msg, t);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -607,7 +666,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object... p1) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p1);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p1);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -618,7 +680,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object p0) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -629,7 +694,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final String msg, final Object p0, final Object p1) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -646,7 +714,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p2) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -664,7 +735,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p3) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -683,7 +757,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p4) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -703,7 +780,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p5) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -724,7 +804,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p6) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -746,7 +829,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p7) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -769,7 +855,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p8) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -793,8 +882,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
                 final Object p9) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r =
-                        filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -805,7 +896,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final CharSequence msg, final Throwable t) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, t);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, t);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -816,7 +910,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final Object msg, final Throwable t) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, t);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, t);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
@@ -827,7 +924,10 @@ public class Logger extends AbstractLogger implements Supplier<LoggerConfig> {
         boolean filter(final Level level, final Marker marker, final Message msg, final Throwable t) {
             final Filter filter = config.getFilter();
             if (filter != null) {
-                final Filter.Result r = filter.filter(logger, level, marker, msg, t);
+                Filter.Result r = getPredictedResult(filter, level);
+                if (r == null) {
+                    r = filter.filter(logger, level, marker, msg, t);
+                }
                 if (r != Filter.Result.NEUTRAL) {
                     return r == Filter.Result.ACCEPT;
                 }
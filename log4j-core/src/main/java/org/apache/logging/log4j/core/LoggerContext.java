@@ -35,6 +35,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.config.AbstractConfiguration;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.ConfigurationFactory;
 import org.apache.logging.log4j.core.config.ConfigurationListener;
@@ -637,6 +638,10 @@ public class LoggerContext extends AbstractLifeCycle
                 map.putIfAbsent("hostName", "unknown");
             }
             map.putIfAbsent("contextName", contextName);
+            if (config instanceof AbstractConfiguration) {
+                // Carry over the unchanged appenders of the previous configuration
+                ((AbstractConfiguration) config).setReplacedConfiguration(prev);
+            }
             config.start();
             this.configuration = config;
             updateLoggers();
@@ -780,6 +785,24 @@ public class LoggerContext extends AbstractLifeCycle
         firePropertyChangeEvent(new PropertyChangeEvent(this, PROPERTY_CONFIG, old, config));
     }
 
+    /**
+     * Causes the Loggers affected by a change of the LoggerConfig with the given name to be updated against the
+     * current Configuration.
+     * <p>
+     * Only the Logger with the given name and its descendants are updated, which is much cheaper than
+     * {@link #updateLoggers()} if a small part of the hierarchy changed, e.g. the level of a single LoggerConfig.
+     * </p>
+     *
+     * @param loggerConfigName The name of the added, removed or modified LoggerConfig, the empty string denoting the
+     *                         root LoggerConfig.
+     * @since 2.25.0
+     */
+    public void updateLoggers(final String loggerConfigName) {
+        final Configuration config = this.configuration;
+        loggerRegistry.getLoggers(loggerConfigName).forEach(logger -> logger.updateConfiguration(config));
+        firePropertyChangeEvent(new PropertyChangeEvent(this, PROPERTY_CONFIG, config, config));
+    }
+
     /**
      * Causes a reconfiguration to take place when the underlying configuration file changes.
      *
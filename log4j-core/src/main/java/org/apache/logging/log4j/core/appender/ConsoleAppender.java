@@ -21,6 +21,9 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.core.Appender;
@@ -45,6 +48,12 @@ import org.apache.logging.log4j.util.PropertiesUtil;
  * a String and then call getBytes which may use a configured encoding or the system default. OTOH, a Writer cannot
  * print byte streams.
  * </p>
+ * <p>
+ * With {@code channel="true"} the appender writes to the standard output or error file descriptor through a
+ * {@link FileChannel}, encoding events into a direct buffer of {@code bufferSize} bytes. This bypasses both the
+ * locking of {@link java.io.PrintStream} and the copy of heap arrays done by {@link FileOutputStream}. In this mode
+ * {@code immediateFlush} is honored, so that a large buffer can batch many events per system call.
+ * </p>
  */
 @Plugin(
         name = ConsoleAppender.PLUGIN_NAME,
@@ -55,6 +64,7 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
 
     public static final String PLUGIN_NAME = "Console";
     private static final ConsoleManagerFactory factory = new ConsoleManagerFactory();
+    private static final ChannelManagerFactory channelFactory = new ChannelManagerFactory();
     private static final Target DEFAULT_TARGET = Target.SYSTEM_OUT;
     private static final AtomicInteger COUNT = new AtomicInteger();
 
@@ -97,9 +107,10 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
             final Filter filter,
             final OutputStreamManager manager,
             final boolean ignoreExceptions,
+            final boolean immediateFlush,
             final Target target,
             final Property[] properties) {
-        super(name, layout, filter, ignoreExceptions, true, properties, manager);
+        super(name, layout, filter, ignoreExceptions, immediateFlush, properties, manager);
         this.target = target;
     }
 
@@ -178,6 +189,7 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
                 null,
                 getDefaultManager(layout),
                 true,
+                true,
                 DEFAULT_TARGET,
                 null);
     }
@@ -204,6 +216,9 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
         @PluginBuilderAttribute
         private boolean direct;
 
+        @PluginBuilderAttribute
+        private boolean channel;
+
         public B setTarget(final Target aTarget) {
             this.target = aTarget;
             return asBuilder();
@@ -219,16 +234,44 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
             return asBuilder();
         }
 
+        /**
+         * Sets whether to write to the file descriptor through a {@link FileChannel} and a direct buffer.
+         *
+         * @param shouldUseChannel {@code true} to use a {@link FileChannel}
+         * @return this
+         * @since 2.25.0
+         */
+        public B setChannel(final boolean shouldUseChannel) {
+            this.channel = shouldUseChannel;
+            return asBuilder();
+        }
+
         @Override
         public ConsoleAppender build() {
             if (!isValid()) {
                 return null;
             }
-            if (direct && follow) {
-                LOGGER.error("Cannot use both `direct` and `follow` on ConsoleAppender.");
+            if ((direct || channel) && follow) {
+                LOGGER.error("Cannot use both `{}` and `follow` on ConsoleAppender.", channel ? "channel" : "direct");
                 return null;
             }
             final Layout<? extends Serializable> layout = getOrCreateLayout(target.getDefaultCharset());
+            if (channel) {
+                final String managerName = target.name() + ".channel";
+                final OutputStreamManager manager = OutputStreamManager.getManager(
+                        managerName,
+                        new ChannelFactoryData(target, managerName, layout, getBufferSize()),
+                        channelFactory);
+                return new ConsoleAppender(
+                        getName(),
+                        layout,
+                        getFilter(),
+                        manager,
+                        isIgnoreExceptions(),
+                        isImmediateFlush(),
+                        target,
+                        getPropertyArray());
+            }
 
             OutputStream stream = direct
                     ? getDirectOutputStream(target)
@@ -238,7 +281,7 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
             final OutputStreamManager manager =
                     OutputStreamManager.getManager(managerName, new FactoryData(stream, managerName, layout), factory);
             return new ConsoleAppender(
-                    getName(), layout, getFilter(), manager, isIgnoreExceptions(), target, getPropertyArray());
+                    getName(), layout, getFilter(), manager, isIgnoreExceptions(), true, target, getPropertyArray());
         }
     }
 
@@ -254,8 +297,11 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
     }
 
     private static OutputStream getDirectOutputStream(Target target) {
-        return new CloseShieldOutputStream(
-                new FileOutputStream(target == Target.SYSTEM_OUT ? FileDescriptor.out : FileDescriptor.err));
+        return new CloseShieldOutputStream(getFileOutputStream(target));
+    }
+
+    private static FileOutputStream getFileOutputStream(final Target target) {
+        return new FileOutputStream(target == Target.SYSTEM_OUT ? FileDescriptor.out : FileDescriptor.err);
     }
 
     private static OutputStream getFollowOutputStream(Target target) {
@@ -366,6 +412,93 @@ public final class ConsoleAppender extends AbstractOutputStreamAppender<OutputSt
         }
     }
 
+    /**
+     * Data to pass to the channel manager factory.
+     */
+    private static class ChannelFactoryData {
+        private final Target target;
+        private final String name;
+        private final Layout<? extends Serializable> layout;
+        private final int bufferSize;
+
+        ChannelFactoryData(
+                final Target target,
+                final String name,
+                final Layout<? extends Serializable> layout,
+                final int bufferSize) {
+            this.target = target;
+            this.name = name;
+            this.layout = layout;
+            this.bufferSize = bufferSize;
+        }
+    }
+
+    /**
+     * Writes the direct byte buffer to the standard output or error file descriptor through a {@link FileChannel}.
+     * The file descriptor itself is never closed.
+     */
+    private static final class ChannelManager extends OutputStreamManager {
+
+        private final FileChannel channel;
+
+        private ChannelManager(
+                final OutputStream os,
+                final FileChannel channel,
+                final String name,
+                final Layout<? extends Serializable> layout,
+                final int bufferSize) {
+            super(null, os, name, false, layout, true, ByteBuffer.allocateDirect(bufferSize));
+            this.channel = channel;
+        }
+
+        @Override
+        protected synchronized void writeToDestination(final byte[] bytes, final int offset, final int length) {
+            writeFully(ByteBuffer.wrap(bytes, offset, length));
+        }
+
+        @Override
+        protected synchronized void flushBuffer(final ByteBuffer buf) {
+            ((Buffer) buf).flip();
+            try {
+                writeFully(buf);
+            } finally {
+                buf.clear();
+            }
+        }
+
+        /**
+         * Writes the buffer, deferring the interrupt of the calling thread until the write completes: an interrupted
+         * write would close the channel and with it the file descriptor of the process.
+         */
+        private void writeFully(final ByteBuffer buf) {
+            final boolean interrupted = Thread.interrupted();
+            try {
+                while (buf.hasRemaining()) {
+                    channel.write(buf);
+                }
+            } catch (final IOException ex) {
+                throw new AppenderLoggingException("Error writing to stream " + getName(), ex);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+    /**
+     * Factory to create the channel manager.
+     */
+    private static class ChannelManagerFactory implements ManagerFactory<ChannelManager, ChannelFactoryData> {
+
+        @Override
+        public ChannelManager createManager(final String name, final ChannelFactoryData data) {
+            final FileOutputStream os = getFileOutputStream(data.target);
+            return new ChannelManager(
+                    new CloseShieldOutputStream(os), os.getChannel(), data.name, data.layout, data.bufferSize);
+        }
+    }
+
     public Target getTarget() {
         return target;
     }
@@ -20,6 +20,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
 import org.apache.logging.log4j.LoggingException;
 import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Core;
@@ -31,9 +34,11 @@ import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginAliases;
 import org.apache.logging.log4j.core.config.plugins.PluginAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
 import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
 import org.apache.logging.log4j.core.config.plugins.PluginElement;
-import org.apache.logging.log4j.core.config.plugins.PluginFactory;
+import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
 import org.apache.logging.log4j.core.util.Booleans;
 import org.apache.logging.log4j.core.util.Constants;
 
@@ -41,12 +46,64 @@ import org.apache.logging.log4j.core.util.Constants;
  * The FailoverAppender will capture exceptions in an Appender and then route the event
  * to a different appender. Hopefully it is obvious that the Appenders must be configured
  * to not suppress exceptions for the FailoverAppender to work.
+ * <p>
+ * Calls to the primary appender are guarded by a circuit breaker. While the circuit is {@link CircuitState#CLOSED
+ * closed} every event is sent to the primary appender. Once the failures of the primary appender within a failure
+ * window reach the configured thresholds the circuit {@link CircuitState#OPEN opens}: events go straight to the
+ * failover appenders, without calling the primary appender, until the retry interval elapses. A single trial event
+ * is then sent to the primary appender while the circuit is {@link CircuitState#HALF_OPEN half-open}; its outcome
+ * decides whether the circuit closes again or stays open for another retry interval.
+ * </p>
  */
 @Plugin(name = "Failover", category = Core.CATEGORY_NAME, elementType = Appender.ELEMENT_TYPE, printObject = true)
 public final class FailoverAppender extends AbstractAppender {
 
     private static final int DEFAULT_INTERVAL_SECONDS = 60;
 
+    private static final int DEFAULT_FAILURE_THRESHOLD = 1;
+
+    private static final int DEFAULT_FAILURE_WINDOW_SECONDS = 60;
+
+    private static final AtomicReferenceFieldUpdater<FailoverAppender, Circuit> CIRCUIT_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(FailoverAppender.class, Circuit.class, "circuit");
+
+    /**
+     * The states of the circuit breaker that guards the primary appender.
+     *
+     * @since 2.25.0
+     */
+    public enum CircuitState {
+
+        /** Events are sent to the primary appender. */
+        CLOSED,
+
+        /** Events are sent to the failover appenders until the retry interval elapses. */
+        OPEN,
+
+        /** A single trial event is being sent to the primary appender; other events fail over. */
+        HALF_OPEN
+    }
+
+    /**
+     * Immutable snapshot of the circuit, so that the logging threads only need a single volatile read to route an
+     * event.
+     */
+    private static final class Circuit {
+
+        private static final Circuit CLOSED = new Circuit(CircuitState.CLOSED, 0);
+
+        private static final Circuit HALF_OPEN = new Circuit(CircuitState.HALF_OPEN, 0);
+
+        private final CircuitState state;
+
+        private final long retryNanos;
+
+        private Circuit(final CircuitState state, final long retryNanos) {
+            this.state = state;
+            this.retryNanos = retryNanos;
+        }
+    }
+
     private final String primaryRef;
 
     private final String[] failovers;
@@ -59,7 +116,29 @@ public final class FailoverAppender extends AbstractAppender {
 
     private final long intervalNanos;
 
-    private volatile long nextCheckNanos;
+    private final int failureThreshold;
+
+    private final int failureRatePercentage;
+
+    private final long failureWindowNanos;
+
+    private volatile Circuit circuit = Circuit.CLOSED;
+
+    // Tumbling failure window, only consulted while the circuit is closed.
+    private final AtomicLong windowStartNanos = new AtomicLong(System.nanoTime());
+
+    private final LongAdder windowCalls = new LongAdder();
+
+    private final LongAdder windowFailures = new LongAdder();
+
+    // Metrics
+    private final LongAdder primaryEventCount = new LongAdder();
+
+    private final LongAdder primaryFailureCount = new LongAdder();
+
+    private final LongAdder failoverEventCount = new LongAdder();
+
+    private final LongAdder circuitOpenCount = new LongAdder();
 
     private FailoverAppender(
             final String name,
@@ -67,6 +146,9 @@ public final class FailoverAppender extends AbstractAppender {
             final String primary,
             final String[] failovers,
             final int intervalMillis,
+            final int failureThreshold,
+            final int failureRatePercentage,
+            final int failureWindowMillis,
             final Configuration config,
             final boolean ignoreExceptions,
             final Property[] properties) {
@@ -75,6 +157,9 @@ public final class FailoverAppender extends AbstractAppender {
         this.failovers = failovers;
         this.config = config;
         this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.failureThreshold = failureThreshold;
+        this.failureRatePercentage = failureRatePercentage;
+        this.failureWindowNanos = TimeUnit.MILLISECONDS.toNanos(failureWindowMillis);
     }
 
     @Override
@@ -115,27 +200,115 @@ public final class FailoverAppender extends AbstractAppender {
             error("FailoverAppender " + getName() + " did not start successfully");
             return;
         }
-        final long localCheckNanos = nextCheckNanos;
-        if (localCheckNanos == 0 || System.nanoTime() - localCheckNanos > 0) {
-            callAppender(event);
-        } else {
-            failover(event, null);
+        final Circuit localCircuit = circuit;
+        switch (localCircuit.state) {
+            case CLOSED:
+                callAppender(event);
+                break;
+            case OPEN:
+                if (System.nanoTime() - localCircuit.retryNanos >= 0
+                        && CIRCUIT_UPDATER.compareAndSet(this, localCircuit, Circuit.HALF_OPEN)) {
+                    tryAppender(event);
+                } else {
+                    failover(event, null);
+                }
+                break;
+            default:
+                failover(event, null);
         }
     }
 
     private void callAppender(final LogEvent event) {
         try {
             primary.callAppender(event);
-            nextCheckNanos = 0;
         } catch (final Exception ex) {
-            nextCheckNanos = System.nanoTime() + intervalNanos;
+            recordFailure();
             failover(event, ex);
+            return;
+        } catch (final Error error) {
+            recordFailure();
+            throw error;
+        }
+        primaryEventCount.increment();
+        recordCall(false);
+    }
+
+    private void recordFailure() {
+        primaryFailureCount.increment();
+        if (recordCall(true)) {
+            openCircuit(Circuit.CLOSED);
+        }
+    }
+
+    /**
+     * Sends the trial event of a half-open circuit to the primary appender.
+     * <p>
+     * The circuit leaves the half-open state whatever the outcome, since no other event can be sent to the primary
+     * appender until it does.
+     * </p>
+     */
+    private void tryAppender(final LogEvent event) {
+        try {
+            primary.callAppender(event);
+        } catch (final Exception ex) {
+            primaryFailureCount.increment();
+            openCircuit(Circuit.HALF_OPEN);
+            failover(event, ex);
+            return;
+        } catch (final Error error) {
+            primaryFailureCount.increment();
+            openCircuit(Circuit.HALF_OPEN);
+            throw error;
+        }
+        primaryEventCount.increment();
+        resetWindow(System.nanoTime());
+        circuit = Circuit.CLOSED;
+        LOGGER.info("FailoverAppender {}: primary appender {} recovered", getName(), primaryRef);
+    }
+
+    /**
+     * Accounts a call to the primary appender in the current failure window.
+     *
+     * @param failed whether the call failed
+     * @return {@code true} if the circuit should open
+     */
+    private boolean recordCall(final boolean failed) {
+        final long now = System.nanoTime();
+        final long start = windowStartNanos.get();
+        if (now - start - failureWindowNanos >= 0 && windowStartNanos.compareAndSet(start, now)) {
+            // The counters of the expired window might lose a few concurrent updates, which is acceptable.
+            windowCalls.reset();
+            windowFailures.reset();
+        }
+        windowCalls.increment();
+        if (!failed) {
+            return false;
+        }
+        windowFailures.increment();
+        final long failures = windowFailures.sum();
+        return failures >= failureThreshold && failures * 100 >= windowCalls.sum() * failureRatePercentage;
+    }
+
+    private void resetWindow(final long now) {
+        windowStartNanos.set(now);
+        windowCalls.reset();
+        windowFailures.reset();
+    }
+
+    private void openCircuit(final Circuit expected) {
+        final Circuit open = new Circuit(CircuitState.OPEN, System.nanoTime() + intervalNanos);
+        if (CIRCUIT_UPDATER.compareAndSet(this, expected, open)) {
+            circuitOpenCount.increment();
+            LOGGER.warn(
+                    "FailoverAppender {}: primary appender {} failed, using failover appenders for the next {} ms",
+                    getName(),
+                    primaryRef,
+                    TimeUnit.NANOSECONDS.toMillis(intervalNanos));
         }
     }
 
     private void failover(final LogEvent event, final Exception ex) {
-        final RuntimeException re =
-                ex != null ? (ex instanceof LoggingException ? (LoggingException) ex : new LoggingException(ex)) : null;
+        failoverEventCount.increment();
         boolean written = false;
         Exception failoverException = null;
         for (final AppenderControl control : failoverAppenders) {
@@ -150,13 +323,63 @@ public final class FailoverAppender extends AbstractAppender {
             }
         }
         if (!written && !ignoreExceptions()) {
-            if (re != null) {
-                throw re;
+            if (ex != null) {
+                throw ex instanceof LoggingException ? (LoggingException) ex : new LoggingException(ex);
             }
             throw new LoggingException("Unable to write to failover appenders", failoverException);
         }
     }
 
+    /**
+     * Returns the current state of the circuit breaker guarding the primary appender.
+     *
+     * @return the circuit state
+     * @since 2.25.0
+     */
+    public CircuitState getCircuitState() {
+        return circuit.state;
+    }
+
+    /**
+     * Returns the number of events successfully written by the primary appender.
+     *
+     * @return the number of events written by the primary appender
+     * @since 2.25.0
+     */
+    public long getPrimaryEventCount() {
+        return primaryEventCount.sum();
+    }
+
+    /**
+     * Returns the number of calls to the primary appender that failed.
+     *
+     * @return the number of primary appender failures
+     * @since 2.25.0
+     */
+    public long getPrimaryFailureCount() {
+        return primaryFailureCount.sum();
+    }
+
+    /**
+     * Returns the number of events routed to the failover appenders.
+     *
+     * @return the number of failed over events
+     * @since 2.25.0
+     */
+    public long getFailoverEventCount() {
+        return failoverEventCount.sum();
+    }
+
+    /**
+     * Returns the number of times the circuit breaker opened.
+     *
+     * @return the number of times the circuit opened
+     * @since 2.25.0
+     */
+    public long getCircuitOpenCount() {
+        return circuitOpenCount.sum();
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder(getName());
@@ -184,8 +407,9 @@ public final class FailoverAppender extends AbstractAppender {
      * @param ignore If {@code "true"} (default) exceptions encountered when appending events are logged; otherwise
      *               they are propagated to the caller.
      * @return The FailoverAppender that was created.
+     * @deprecated Use {@link #newBuilder()}.
      */
-    @PluginFactory
+    @Deprecated
     public static FailoverAppender createAppender(
             @PluginAttribute("name") final String name,
             @PluginAttribute("primary") final String primary,
@@ -196,31 +420,174 @@ public final class FailoverAppender extends AbstractAppender {
             @PluginConfiguration final Configuration config,
             @PluginElement("Filter") final Filter filter,
             @PluginAttribute("ignoreExceptions") final String ignore) {
-        if (name == null) {
-            LOGGER.error("A name for the Appender must be specified");
-            return null;
+        return newBuilder()
+                .setName(name)
+                .setPrimary(primary)
+                .setFailovers(failovers)
+                .setRetryIntervalSeconds(parseInt(retryIntervalSeconds, DEFAULT_INTERVAL_SECONDS))
+                .setConfiguration(config)
+                .setFilter(filter)
+                .setIgnoreExceptions(Booleans.parseBoolean(ignore, true))
+                .build();
+    }
+
+    /**
+     * Creates a new builder.
+     *
+     * @return a new builder
+     * @since 2.25.0
+     */
+    @PluginBuilderFactory
+    public static <B extends Builder<B>> B newBuilder() {
+        return new Builder<B>().asBuilder();
+    }
+
+    /**
+     * Builds FailoverAppender instances.
+     *
+     * @param <B> The type to build
+     * @since 2.25.0
+     */
+    public static class Builder<B extends Builder<B>> extends AbstractAppender.Builder<B>
+            implements org.apache.logging.log4j.core.util.Builder<FailoverAppender> {
+
+        @PluginBuilderAttribute
+        @Required(message = "A primary Appender must be specified")
+        private String primary;
+
+        @PluginElement("Failovers")
+        private String[] failovers;
+
+        @PluginBuilderAttribute
+        @PluginAliases("retryInterval") // deprecated
+        private int retryIntervalSeconds = DEFAULT_INTERVAL_SECONDS;
+
+        @PluginBuilderAttribute
+        private int failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+
+        @PluginBuilderAttribute
+        private int failureRatePercentage;
+
+        @PluginBuilderAttribute
+        private int failureWindowSeconds = DEFAULT_FAILURE_WINDOW_SECONDS;
+
+        /**
+         * Sets the name of the primary appender.
+         *
+         * @param primary the name of the primary appender
+         * @return this
+         */
+        public B setPrimary(final String primary) {
+            this.primary = primary;
+            return asBuilder();
         }
-        if (primary == null) {
-            LOGGER.error("A primary Appender must be specified");
-            return null;
+
+        /**
+         * Sets the names of the appenders to fail over to.
+         *
+         * @param failovers the names of the failover appenders
+         * @return this
+         */
+        public B setFailovers(final String... failovers) {
+            this.failovers = failovers;
+            return asBuilder();
         }
-        if (failovers == null || failovers.length == 0) {
-            LOGGER.error("At least one failover Appender must be specified");
-            return null;
+
+        /**
+         * Sets how many seconds the circuit stays open before a trial event is sent to the primary appender.
+         *
+         * @param retryIntervalSeconds the retry interval in seconds
+         * @return this
+         */
+        public B setRetryIntervalSeconds(final int retryIntervalSeconds) {
+            this.retryIntervalSeconds = retryIntervalSeconds;
+            return asBuilder();
         }
 
-        final int seconds = parseInt(retryIntervalSeconds, DEFAULT_INTERVAL_SECONDS);
-        int retryIntervalMillis;
-        if (seconds >= 0) {
-            retryIntervalMillis = seconds * Constants.MILLIS_IN_SECONDS;
-        } else {
-            LOGGER.warn("Interval " + retryIntervalSeconds + " is less than zero. Using default");
-            retryIntervalMillis = DEFAULT_INTERVAL_SECONDS * Constants.MILLIS_IN_SECONDS;
+        /**
+         * Sets the minimum number of primary appender failures within a failure window that opens the circuit.
+         *
+         * @param failureThreshold the number of failures that opens the circuit
+         * @return this
+         */
+        public B setFailureThreshold(final int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+            return asBuilder();
         }
 
-        final boolean ignoreExceptions = Booleans.parseBoolean(ignore, true);
+        /**
+         * Sets the minimum percentage of failed primary appender calls within a failure window that opens the
+         * circuit.
+         *
+         * @param failureRatePercentage a percentage between {@code 0} and {@code 100}
+         * @return this
+         */
+        public B setFailureRatePercentage(final int failureRatePercentage) {
+            this.failureRatePercentage = failureRatePercentage;
+            return asBuilder();
+        }
+
+        /**
+         * Sets the length of the window in which primary appender calls and failures are counted.
+         *
+         * @param failureWindowSeconds the length of the failure window in seconds
+         * @return this
+         */
+        public B setFailureWindowSeconds(final int failureWindowSeconds) {
+            this.failureWindowSeconds = failureWindowSeconds;
+            return asBuilder();
+        }
 
-        return new FailoverAppender(
-                name, filter, primary, failovers, retryIntervalMillis, config, ignoreExceptions, null);
+        @Override
+        public FailoverAppender build() {
+            if (getName() == null) {
+                LOGGER.error("A name for the Appender must be specified");
+                return null;
+            }
+            if (primary == null) {
+                LOGGER.error("A primary Appender must be specified");
+                return null;
+            }
+            if (failovers == null || failovers.length == 0) {
+                LOGGER.error("At least one failover Appender must be specified");
+                return null;
+            }
+            int retryIntervalMillis;
+            if (retryIntervalSeconds >= 0) {
+                retryIntervalMillis = retryIntervalSeconds * Constants.MILLIS_IN_SECONDS;
+            } else {
+                LOGGER.warn("Interval " + retryIntervalSeconds + " is less than zero. Using default");
+                retryIntervalMillis = DEFAULT_INTERVAL_SECONDS * Constants.MILLIS_IN_SECONDS;
+            }
+            int threshold = failureThreshold;
+            if (threshold < 1) {
+                LOGGER.warn("Failure threshold " + failureThreshold + " is less than one. Using default");
+                threshold = DEFAULT_FAILURE_THRESHOLD;
+            }
+            int ratePercentage = failureRatePercentage;
+            if (ratePercentage < 0 || ratePercentage > 100) {
+                LOGGER.warn("Failure rate " + failureRatePercentage + "% is not a percentage. Using 0%");
+                ratePercentage = 0;
+            }
+            int failureWindowMillis;
+            if (failureWindowSeconds > 0) {
+                failureWindowMillis = failureWindowSeconds * Constants.MILLIS_IN_SECONDS;
+            } else {
+                LOGGER.warn("Failure window " + failureWindowSeconds + " is not positive. Using default");
+                failureWindowMillis = DEFAULT_FAILURE_WINDOW_SECONDS * Constants.MILLIS_IN_SECONDS;
+            }
+            return new FailoverAppender(
+                    getName(),
+                    getFilter(),
+                    primary,
+                    failovers,
+                    retryIntervalMillis,
+                    threshold,
+                    ratePercentage,
+                    failureWindowMillis,
+                    getConfiguration(),
+                    isIgnoreExceptions(),
+                    getPropertyArray());
+        }
     }
 }
@@ -24,6 +24,7 @@ import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
@@ -83,6 +84,15 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
         @PluginBuilderAttribute
         private String fileGroup;
 
+        @PluginBuilderAttribute
+        private boolean durable;
+
+        @PluginBuilderAttribute
+        private long maxCommitDelayMillis;
+
+        @PluginBuilderAttribute
+        private int maxCommitBatchSize = FileSyncer.DEFAULT_MAX_COMMIT_BATCH_SIZE;
+
         @Override
         public FileAppender build() {
             if (!isValid()) {
@@ -115,6 +125,7 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             if (manager == null) {
                 return null;
             }
+            manager.setDurability(durable, maxCommitDelayMillis, maxCommitBatchSize);
 
             return new FileAppender(
                     getName(),
@@ -208,6 +219,51 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
             this.fileGroup = fileGroup;
             return asBuilder();
         }
+
+        /**
+         * @since 2.25.0
+         */
+        public boolean isDurable() {
+            return durable;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public long getMaxCommitDelayMillis() {
+            return maxCommitDelayMillis;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public int getMaxCommitBatchSize() {
+            return maxCommitBatchSize;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withDurable(final boolean durable) {
+            this.durable = durable;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withMaxCommitDelayMillis(final long maxCommitDelayMillis) {
+            this.maxCommitDelayMillis = maxCommitDelayMillis;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withMaxCommitBatchSize(final int maxCommitBatchSize) {
+            this.maxCommitBatchSize = maxCommitBatchSize;
+            return asBuilder();
+        }
     }
 
     private static final int DEFAULT_BUFFER_SIZE = 8192;
@@ -304,6 +360,20 @@ public final class FileAppender extends AbstractOutputStreamAppender<FileManager
         this.advertiser = advertiser;
     }
 
+    /**
+     * Writes the log event and waits for it to reach the storage device, if the appender is durable.
+     *
+     * @param event The LogEvent.
+     */
+    @Override
+    public void append(final LogEvent event) {
+        super.append(event);
+        final FileSyncer fileSyncer = getManager().getFileSyncer();
+        if (fileSyncer != null && (getImmediateFlush() || event.isEndOfBatch())) {
+            fileSyncer.commit();
+        }
+    }
+
     /**
      * Returns the file name this appender is associated with.
      * @return The File name.
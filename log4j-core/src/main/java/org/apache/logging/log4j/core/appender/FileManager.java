@@ -39,6 +39,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
@@ -61,6 +62,9 @@ public class FileManager extends OutputStreamManager {
     private final String fileOwner;
     private final String fileGroup;
     private final boolean attributeViewEnabled;
+    private volatile FileSyncer fileSyncer;
+    /** The channel of the current file, read by the syncer without taking the lock of the manager. */
+    private volatile FileChannel fileChannel;
 
     /**
      * @deprecated
@@ -102,6 +106,7 @@ public class FileManager extends OutputStreamManager {
         this.fileOwner = null;
         this.fileGroup = null;
         this.attributeViewEnabled = false;
+        this.fileChannel = getChannel(os);
     }
 
     /**
@@ -130,6 +135,7 @@ public class FileManager extends OutputStreamManager {
         this.fileOwner = null;
         this.fileGroup = null;
         this.attributeViewEnabled = false;
+        this.fileChannel = getChannel(os);
     }
 
     /**
@@ -185,6 +191,7 @@ public class FileManager extends OutputStreamManager {
 
         // Supported and defined
         this.attributeViewEnabled = this.filePermissions != null || this.fileOwner != null || this.fileGroup != null;
+        this.fileChannel = getChannel(os);
     }
 
     /**
@@ -259,9 +266,20 @@ public class FileManager extends OutputStreamManager {
             writeHeader(fos);
         }
         defineAttributeView(Paths.get(filename));
+        fileChannel = fos.getChannel();
         return fos;
     }
 
+    @Override
+    protected void setOutputStream(final OutputStream os) {
+        super.setOutputStream(os);
+        fileChannel = getChannel(os);
+    }
+
+    private static FileChannel getChannel(final OutputStream os) {
+        return os instanceof FileOutputStream ? ((FileOutputStream) os).getChannel() : null;
+    }
+
     protected void createParentDir(final File file) {}
 
     protected void defineAttributeView(final Path path) {
@@ -336,6 +354,97 @@ public class FileManager extends OutputStreamManager {
         }
     }
 
+    /**
+     * Enables or disables durable writes.
+     * <p>
+     * When enabled, appenders {@linkplain FileSyncer#commit() commit} their events after flushing them, and files are
+     * synced before being closed.
+     * </p>
+     *
+     * @param durable whether events must reach the storage device before an appender returns.
+     * @param maxCommitDelayMillis the maximum time to wait for more events before syncing.
+     * @param maxCommitBatchSize the number of waiting events that triggers a sync without further delay.
+     * @since 2.25.0
+     */
+    public void setDurability(final boolean durable, final long maxCommitDelayMillis, final int maxCommitBatchSize) {
+        final FileSyncer previous;
+        synchronized (this) {
+            previous = fileSyncer;
+            if (durable
+                    && previous != null
+                    && previous.getMaxCommitDelayMillis() == maxCommitDelayMillis
+                    && previous.getMaxCommitBatchSize() == maxCommitBatchSize) {
+                return;
+            }
+            fileSyncer = durable
+                    ? new FileSyncer(getName(), this::getFileChannel, maxCommitDelayMillis, maxCommitBatchSize)
+                    : null;
+        }
+        // Writers holding the lock might wait for the previous syncer
+        if (previous != null) {
+            previous.stop(FileSyncer.REPLACEMENT_STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the syncer of durable writes.
+     *
+     * @return the syncer or {@code null} if writes are not durable.
+     * @since 2.25.0
+     */
+    public FileSyncer getFileSyncer() {
+        return fileSyncer;
+    }
+
+    /**
+     * Returns the channel of the current file.
+     * <p>
+     * Called by the syncer thread, implementations must not take the lock of the manager.
+     * </p>
+     *
+     * @return the channel or {@code null} if no file is open.
+     * @since 2.25.0
+     */
+    protected FileChannel getFileChannel() {
+        return fileChannel;
+    }
+
+    /**
+     * Flushes and syncs the current file if writes are durable. Called before the file is closed or detached.
+     *
+     * @since 2.25.0
+     */
+    protected synchronized void syncFileChannel() {
+        if (fileSyncer != null) {
+            flush();
+            final FileChannel channel = getFileChannel();
+            if (channel != null && channel.isOpen()) {
+                try {
+                    FileSyncer.force(channel);
+                } catch (final IOException ex) {
+                    logError("Unable to sync file", ex);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected synchronized boolean closeOutputStream() {
+        syncFileChannel();
+        return super.closeOutputStream();
+    }
+
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        final boolean closed = super.releaseSub(timeout, timeUnit);
+        final FileSyncer syncer = fileSyncer;
+        if (syncer != null) {
+            fileSyncer = null;
+            return syncer.stop(timeout, timeUnit) && closed;
+        }
+        return closed;
+    }
+
     /**
      * Returns the name of the File being managed.
      * @return The name of the File being managed.
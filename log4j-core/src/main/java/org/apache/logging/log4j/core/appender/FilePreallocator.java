@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Extends a {@link RandomAccessFile} ahead of the write position in chunks of a fixed size, so that the file length
+ * changes once per chunk instead of on every write.
+ * <p>
+ * The file is truncated to the bytes actually written when it is {@linkplain #close() closed}. Each time the file is
+ * extended, the number of bytes written so far and the new length of the file are recorded in a companion file, named
+ * after the file with a {@value #LENGTH_FILE_SUFFIX} suffix, which is deleted on close. If the application stops
+ * without closing the file, {@link #open(RandomAccessFile, Path)} uses the companion file to recognize the unused
+ * space and removes the trailing zero bytes written after the recorded position when the file is opened again.
+ * </p>
+ * <p>
+ * This class is not thread-safe: managers call it while holding their lock.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public final class FilePreallocator {
+
+    /**
+     * The suffix of the companion file recording the length of the data.
+     */
+    public static final String LENGTH_FILE_SUFFIX = ".length";
+
+    private static final int LENGTH_FILE_SIZE = 2 * Long.BYTES;
+
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    private final long chunkSize;
+    private final ByteBuffer lengthBuffer = ByteBuffer.allocate(LENGTH_FILE_SIZE);
+    private RandomAccessFile file;
+    private Path lengthFile;
+    // Not a FileChannel: an interrupted caller thread must not close it
+    private RandomAccessFile lengthRecord;
+    private long position;
+    private long allocatedLength;
+
+    /**
+     * Creates a preallocator.
+     *
+     * @param chunkSize the number of bytes the file is extended by, must be positive.
+     */
+    public FilePreallocator(final long chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid preallocation chunk size: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Starts extending a file, from its current file pointer.
+     * <p>
+     * If the file pointer is at the end of the file and the companion file left by a previous preallocator records
+     * the current length of the file, the trailing zero bytes after the recorded position are removed.
+     * </p>
+     *
+     * @param file the file.
+     * @param path the path of the file, used to locate the companion file.
+     * @throws IOException if the file could not be truncated or the companion file could not be written.
+     */
+    public void open(final RandomAccessFile file, final Path path) throws IOException {
+        final Path newLengthFile = path.resolveSibling(path.getFileName() + LENGTH_FILE_SUFFIX);
+        final RandomAccessFile record = new RandomAccessFile(newLengthFile.toFile(), "rw");
+        try {
+            position = file.getFilePointer();
+            allocatedLength = file.length();
+            if (position == allocatedLength) {
+                final long writtenLength = readWrittenLength(record, allocatedLength);
+                if (writtenLength >= 0) {
+                    final long dataLength = findDataLength(file, writtenLength, allocatedLength);
+                    file.setLength(dataLength);
+                    file.seek(dataLength);
+                    position = dataLength;
+                    allocatedLength = dataLength;
+                }
+            }
+            lengthRecord = record;
+            writeLengths();
+        } catch (final IOException | RuntimeException e) {
+            lengthRecord = null;
+            record.close();
+            throw e;
+        }
+        this.file = file;
+        this.lengthFile = newLengthFile;
+    }
+
+    /**
+     * Writes bytes at the current position, extending the file first if needed.
+     *
+     * @param bytes the data.
+     * @param offset the start offset in the data.
+     * @param length the number of bytes to write.
+     * @throws IOException if the file could not be extended or written.
+     */
+    public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+        final long end = position + length;
+        if (end > allocatedLength) {
+            final long newLength = (end + chunkSize - 1) / chunkSize * chunkSize;
+            file.setLength(newLength);
+            allocatedLength = newLength;
+            writeLengths();
+        }
+        file.write(bytes, offset, length);
+        position = end;
+    }
+
+    /**
+     * Truncates the file to the bytes written, deletes the companion file and stops tracking the file. The file
+     * itself is not closed.
+     *
+     * @throws IOException if the file could not be truncated or the companion file could not be deleted.
+     */
+    public void close() throws IOException {
+        if (file != null) {
+            try {
+                if (allocatedLength > position) {
+                    file.setLength(position);
+                }
+            } finally {
+                file = null;
+                try {
+                    lengthRecord.close();
+                } finally {
+                    lengthRecord = null;
+                }
+            }
+            // The record is kept if the file could not be truncated
+            Files.deleteIfExists(lengthFile);
+        }
+    }
+
+    /**
+     * Returns the chunk size.
+     *
+     * @return the number of bytes the file is extended by.
+     */
+    public long getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Returns the number of bytes written to the current file, including those present when it was opened.
+     *
+     * @return the write position.
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the number of bytes written recorded by a previous preallocator of a file.
+     *
+     * @param record the companion file.
+     * @param length the current length of the file.
+     * @return the recorded number of bytes written or {@code -1} if the record does not match the file.
+     */
+    private static long readWrittenLength(final RandomAccessFile record, final long length) throws IOException {
+        if (record.length() != LENGTH_FILE_SIZE) {
+            return -1;
+        }
+        record.seek(0);
+        final long writtenLength = record.readLong();
+        final long recordedLength = record.readLong();
+        // Only trust a record of the current length of the file, in case the file was replaced in the meantime
+        return recordedLength == length && writtenLength >= 0 && writtenLength <= length ? writtenLength : -1;
+    }
+
+    /**
+     * Finds the end of the data, by skipping the zero bytes at the end of the file.
+     *
+     * @param file the file.
+     * @param writtenLength the number of bytes known to be written, which are never removed.
+     * @param length the length of the file.
+     * @return the position after the last non-zero byte, but at least {@code writtenLength}.
+     */
+    private static long findDataLength(final RandomAccessFile file, final long writtenLength, final long length)
+            throws IOException {
+        final byte[] buffer = new byte[(int) Math.min(SCAN_BUFFER_SIZE, Math.max(1, length - writtenLength))];
+        long end = length;
+        while (end > writtenLength) {
+            final int count = (int) Math.min(buffer.length, end - writtenLength);
+            final long start = end - count;
+            file.seek(start);
+            file.readFully(buffer, 0, count);
+            for (int i = count - 1; i >= 0; i--) {
+                if (buffer[i] != 0) {
+                    return start + i + 1;
+                }
+            }
+            end = start;
+        }
+        return writtenLength;
+    }
+
+    private void writeLengths() throws IOException {
+        lengthBuffer.clear();
+        lengthBuffer.putLong(position).putLong(allocatedLength);
+        lengthRecord.seek(0);
+        lengthRecord.write(lengthBuffer.array());
+    }
+
+    @Override
+    public String toString() {
+        return "FilePreallocator[chunkSize=" + chunkSize + ", position=" + position + ", allocatedLength="
+                + allocatedLength + "]";
+    }
+}
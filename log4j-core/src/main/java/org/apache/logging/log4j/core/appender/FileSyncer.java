@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender;
+
+import java.io.IOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.util.Log4jThreadFactory;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Forces the content of a file to the storage device on behalf of many writers at once (group commit).
+ * <p>
+ * A writer calls {@link #commit()} once its bytes have been flushed to the file. The call registers a sequence
+ * number and returns once a {@link FileChannel#force(boolean)} started after the registration has completed. A single
+ * syncer thread performs the calls to {@code force}: writers that commit while a call is in progress are served by
+ * the next one.
+ * </p>
+ * <p>
+ * The syncer thread can wait up to {@code maxCommitDelayMillis} for more writers to commit before calling
+ * {@code force}, unless {@code maxCommitBatchSize} writers are already waiting.
+ * </p>
+ * <p>
+ * The channels are obtained from a supplier, since they change on rollover. The supplier must not take the lock of
+ * the manager, since managers stop their syncer while holding it. Managers must force a channel themselves before
+ * closing it: a channel found closed is considered synced, unless an interrupt closed it.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public final class FileSyncer {
+
+    /**
+     * The default number of waiting writers that triggers a sync without further delay.
+     */
+    public static final int DEFAULT_MAX_COMMIT_BATCH_SIZE = 64;
+
+    /**
+     * The maximum time, in milliseconds, managers wait for the syncer they replace to stop.
+     */
+    public static final long REPLACEMENT_STOP_TIMEOUT_MILLIS = 5000;
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final Log4jThreadFactory THREAD_FACTORY = Log4jThreadFactory.createDaemonThreadFactory("FileSyncer");
+
+    private final String name;
+    private final Supplier<FileChannel> channelSupplier;
+    private final long maxCommitDelayMillis;
+    private final int maxCommitBatchSize;
+    private final Thread thread;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Signals the syncer thread that a writer is waiting. */
+    private final Condition pending = lock.newCondition();
+    /** Signals the writers that a call to {@code force} completed. */
+    private final Condition completed = lock.newCondition();
+
+    // Guarded by lock
+    private long requestedSequence;
+    private long completedSequence;
+    private long failedFromSequence;
+    private long failedToSequence;
+    private IOException failure;
+    private boolean running = true;
+
+    /**
+     * Creates and starts a syncer.
+     *
+     * @param name the name of the file, used in error messages.
+     * @param channelSupplier supplies the channel of the current file, or {@code null} if there is none.
+     * @param maxCommitDelayMillis the maximum time the syncer thread waits for more writers before syncing.
+     * @param maxCommitBatchSize the number of waiting writers that triggers a sync without further delay.
+     */
+    public FileSyncer(
+            final String name,
+            final Supplier<FileChannel> channelSupplier,
+            final long maxCommitDelayMillis,
+            final int maxCommitBatchSize) {
+        this.name = name;
+        this.channelSupplier = channelSupplier;
+        this.maxCommitDelayMillis = Math.max(0, maxCommitDelayMillis);
+        this.maxCommitBatchSize = Math.max(1, maxCommitBatchSize);
+        this.thread = THREAD_FACTORY.newThread(this::run);
+        this.thread.start();
+    }
+
+    /**
+     * Waits until the bytes flushed to the file before this call are on the storage device.
+     *
+     * @throws AppenderLoggingException if the file could not be synced or the thread was interrupted.
+     */
+    public void commit() {
+        lock.lock();
+        try {
+            if (!running) {
+                // Late writers after stop() sync by themselves
+                syncNow();
+                return;
+            }
+            final long sequence = ++requestedSequence;
+            final long waiting = sequence - completedSequence;
+            if (waiting == 1 || waiting >= maxCommitBatchSize) {
+                pending.signal();
+            }
+            while (completedSequence < sequence) {
+                completed.await();
+            }
+            if (failedFromSequence < sequence && sequence <= failedToSequence) {
+                throw new AppenderLoggingException("Unable to sync " + name, failure);
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppenderLoggingException("Interrupted while syncing " + name, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Syncs the writers that are still waiting and stops the syncer thread.
+     * <p>
+     * Later calls to {@link #commit()} sync the file on the calling thread.
+     * </p>
+     *
+     * @param timeout the maximum time to wait for the syncer thread.
+     * @param timeUnit the unit of the timeout.
+     * @return {@code true} if the syncer thread stopped in time.
+     */
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        lock.lock();
+        try {
+            running = false;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            if (timeout > 0) {
+                timeUnit.timedJoin(thread, timeout);
+            } else {
+                thread.join();
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return !thread.isAlive();
+    }
+
+    /**
+     * Returns the maximum time the syncer thread waits for more writers.
+     *
+     * @return the maximum commit delay in milliseconds.
+     */
+    public long getMaxCommitDelayMillis() {
+        return maxCommitDelayMillis;
+    }
+
+    /**
+     * Returns the number of waiting writers that triggers a sync without further delay.
+     *
+     * @return the maximum commit batch size.
+     */
+    public int getMaxCommitBatchSize() {
+        return maxCommitBatchSize;
+    }
+
+    private void run() {
+        while (true) {
+            long sequence;
+            lock.lock();
+            try {
+                while (running && requestedSequence == completedSequence) {
+                    pending.await();
+                }
+                if (requestedSequence == completedSequence) {
+                    return;
+                }
+                long remaining = TimeUnit.MILLISECONDS.toNanos(maxCommitDelayMillis);
+                while (running && remaining > 0 && requestedSequence - completedSequence < maxCommitBatchSize) {
+                    remaining = pending.awaitNanos(remaining);
+                }
+                sequence = requestedSequence;
+            } catch (final InterruptedException e) {
+                LOGGER.warn("FileSyncer for {} interrupted, later writers sync by themselves", name);
+                running = false;
+                sequence = requestedSequence;
+            } finally {
+                lock.unlock();
+            }
+            final IOException exception = sync();
+            lock.lock();
+            try {
+                complete(sequence, exception);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /** Syncs on the current thread, while holding the lock. */
+    private void syncNow() {
+        final long sequence = ++requestedSequence;
+        complete(sequence, sync());
+        if (failedFromSequence < sequence && sequence <= failedToSequence) {
+            throw new AppenderLoggingException("Unable to sync " + name, failure);
+        }
+    }
+
+    private void complete(final long sequence, final IOException exception) {
+        if (exception != null) {
+            // Merges consecutive failures, so that writers that were not woken up in between still see them
+            if (failedToSequence != completedSequence) {
+                failedFromSequence = completedSequence;
+            }
+            failedToSequence = sequence;
+            failure = exception;
+        }
+        completedSequence = sequence;
+        completed.signalAll();
+    }
+
+    /**
+     * Forces the content of a channel to the storage device.
+     * <p>
+     * An interrupt of the calling thread is deferred until the call returns: otherwise, the channel would be closed,
+     * and with it the stream of the manager.
+     * </p>
+     *
+     * @param channel a file channel.
+     * @throws IOException if the channel could not be forced.
+     */
+    public static void force(final FileChannel channel) throws IOException {
+        final boolean interrupted = Thread.interrupted();
+        try {
+            channel.force(false);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private IOException sync() {
+        try {
+            final FileChannel channel = channelSupplier.get();
+            if (channel != null) {
+                force(channel);
+            }
+            return null;
+        } catch (final ClosedByInterruptException e) {
+            // The channel was closed by an interrupt received during the call, the content might not be synced
+            LOGGER.error("Interrupted while syncing {}", name, e);
+            return e;
+        } catch (final ClosedChannelException e) {
+            // The manager synced the channel before closing it
+            return null;
+        } catch (final IOException e) {
+            LOGGER.error("Unable to sync {}", name, e);
+            return e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FileSyncer[name=" + name + ", maxCommitDelayMillis=" + maxCommitDelayMillis + ", maxCommitBatchSize="
+                + maxCommitBatchSize + "]";
+    }
+}
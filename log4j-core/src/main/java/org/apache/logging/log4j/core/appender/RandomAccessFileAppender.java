@@ -24,6 +24,8 @@ import org.apache.logging.log4j.core.Appender;
 import org.apache.logging.log4j.core.Core;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.rolling.FileSize;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.Property;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
@@ -64,6 +66,18 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
         @PluginBuilderAttribute("advertiseURI")
         private String advertiseURI;
 
+        @PluginBuilderAttribute("durable")
+        private boolean durable;
+
+        @PluginBuilderAttribute("maxCommitDelayMillis")
+        private long maxCommitDelayMillis;
+
+        @PluginBuilderAttribute("maxCommitBatchSize")
+        private int maxCommitBatchSize = FileSyncer.DEFAULT_MAX_COMMIT_BATCH_SIZE;
+
+        @PluginBuilderAttribute("preallocationSize")
+        private String preallocationSize;
+
         public Builder() {
             this.withBufferSize(RandomAccessFileManager.DEFAULT_BUFFER_SIZE);
         }
@@ -87,6 +101,8 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
             if (manager == null) {
                 return null;
             }
+            manager.setDurability(durable, maxCommitDelayMillis, maxCommitBatchSize);
+            manager.setPreallocationSize(preallocationSize == null ? 0 : FileSize.parse(preallocationSize, 0));
 
             return new RandomAccessFileAppender(
                     name,
@@ -119,6 +135,66 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
             this.advertiseURI = advertiseURI;
             return asBuilder();
         }
+
+        /**
+         * @since 2.25.0
+         */
+        public boolean isDurable() {
+            return durable;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public long getMaxCommitDelayMillis() {
+            return maxCommitDelayMillis;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public int getMaxCommitBatchSize() {
+            return maxCommitBatchSize;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B setDurable(final boolean durable) {
+            this.durable = durable;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B setMaxCommitDelayMillis(final long maxCommitDelayMillis) {
+            this.maxCommitDelayMillis = maxCommitDelayMillis;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B setMaxCommitBatchSize(final int maxCommitBatchSize) {
+            this.maxCommitBatchSize = maxCommitBatchSize;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public String getPreallocationSize() {
+            return preallocationSize;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B setPreallocationSize(final String preallocationSize) {
+            this.preallocationSize = preallocationSize;
+            return asBuilder();
+        }
     }
 
     private final String fileName;
@@ -159,6 +235,20 @@ public final class RandomAccessFileAppender extends AbstractOutputStreamAppender
         return true;
     }
 
+    /**
+     * Writes the log event and waits for it to reach the storage device, if the appender is durable.
+     *
+     * @param event The LogEvent.
+     */
+    @Override
+    public void append(final LogEvent event) {
+        super.append(event);
+        final FileSyncer fileSyncer = getManager().getFileSyncer();
+        if (fileSyncer != null && (getImmediateFlush() || event.isEndOfBatch())) {
+            fileSyncer.commit();
+        }
+    }
+
     /**
      * Returns the file name this appender is associated with.
      *
@@ -23,8 +23,10 @@ import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.config.Configuration;
@@ -43,6 +45,8 @@ public class RandomAccessFileManager extends OutputStreamManager {
 
     private final String advertiseURI;
     private final RandomAccessFile randomAccessFile;
+    private volatile FileSyncer fileSyncer;
+    private FilePreallocator preallocator;
 
     protected RandomAccessFileManager(
             final LoggerContext loggerContext,
@@ -109,7 +113,11 @@ public class RandomAccessFileManager extends OutputStreamManager {
     @Override
     protected void writeToDestination(final byte[] bytes, final int offset, final int length) {
         try {
-            randomAccessFile.write(bytes, offset, length);
+            if (preallocator != null) {
+                preallocator.write(bytes, offset, length);
+            } else {
+                randomAccessFile.write(bytes, offset, length);
+            }
         } catch (final IOException ex) {
             final String msg = "Error writing to RandomAccessFile " + getName();
             throw new AppenderLoggingException(msg, ex);
@@ -124,6 +132,14 @@ public class RandomAccessFileManager extends OutputStreamManager {
     @Override
     public synchronized boolean closeOutputStream() {
         flush();
+        closePreallocator();
+        if (fileSyncer != null) {
+            try {
+                FileSyncer.force(randomAccessFile.getChannel());
+            } catch (final IOException ex) {
+                logError("Unable to sync RandomAccessFile", ex);
+            }
+        }
         try {
             randomAccessFile.close();
             return true;
@@ -133,6 +149,109 @@ public class RandomAccessFileManager extends OutputStreamManager {
         }
     }
 
+    @Override
+    public boolean releaseSub(final long timeout, final TimeUnit timeUnit) {
+        final boolean closed = super.releaseSub(timeout, timeUnit);
+        final FileSyncer syncer = fileSyncer;
+        if (syncer != null) {
+            fileSyncer = null;
+            return syncer.stop(timeout, timeUnit) && closed;
+        }
+        return closed;
+    }
+
+    /**
+     * Enables or disables the preallocation of file space.
+     * <p>
+     * When enabled, the file is extended ahead of the write position in chunks of the given size and truncated to the
+     * bytes actually written when it is closed.
+     * </p>
+     *
+     * @param preallocationSize the size of the chunks, or {@code 0} to disable preallocation.
+     * @since 2.25.0
+     */
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The name of the accessed files is based on a configuration value.")
+    public synchronized void setPreallocationSize(final long preallocationSize) {
+        if (preallocator != null && preallocator.getChunkSize() == preallocationSize) {
+            return;
+        }
+        flush();
+        closePreallocator();
+        if (preallocationSize > 0) {
+            final FilePreallocator newPreallocator = new FilePreallocator(preallocationSize);
+            try {
+                newPreallocator.open(randomAccessFile, Paths.get(getFileName()));
+                preallocator = newPreallocator;
+            } catch (final IOException ex) {
+                logError("Unable to preallocate RandomAccessFile", ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the chunks the file is extended by.
+     *
+     * @return the preallocation size, or {@code 0} if preallocation is disabled.
+     * @since 2.25.0
+     */
+    public synchronized long getPreallocationSize() {
+        return preallocator != null ? preallocator.getChunkSize() : 0;
+    }
+
+    private void closePreallocator() {
+        if (preallocator != null) {
+            try {
+                preallocator.close();
+            } catch (final IOException ex) {
+                logError("Unable to truncate RandomAccessFile", ex);
+            } finally {
+                preallocator = null;
+            }
+        }
+    }
+
+    /**
+     * Enables or disables durable writes.
+     *
+     * @param durable whether events must reach the storage device before an appender returns.
+     * @param maxCommitDelayMillis the maximum time to wait for more events before syncing.
+     * @param maxCommitBatchSize the number of waiting events that triggers a sync without further delay.
+     * @see FileManager#setDurability(boolean, long, int)
+     * @since 2.25.0
+     */
+    public void setDurability(final boolean durable, final long maxCommitDelayMillis, final int maxCommitBatchSize) {
+        final FileSyncer previous;
+        synchronized (this) {
+            previous = fileSyncer;
+            if (durable
+                    && previous != null
+                    && previous.getMaxCommitDelayMillis() == maxCommitDelayMillis
+                    && previous.getMaxCommitBatchSize() == maxCommitBatchSize) {
+                return;
+            }
+            fileSyncer = durable
+                    ? new FileSyncer(
+                            getName(), randomAccessFile::getChannel, maxCommitDelayMillis, maxCommitBatchSize)
+                    : null;
+        }
+        // Writers holding the lock might wait for the previous syncer
+        if (previous != null) {
+            previous.stop(FileSyncer.REPLACEMENT_STOP_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Returns the syncer of durable writes.
+     *
+     * @return the syncer or {@code null} if writes are not durable.
+     * @since 2.25.0
+     */
+    public FileSyncer getFileSyncer() {
+        return fileSyncer;
+    }
+
     /**
      * Returns the name of the File being managed.
      *
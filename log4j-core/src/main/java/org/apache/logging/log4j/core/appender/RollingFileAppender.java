@@ -103,6 +103,15 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
         @PluginBuilderAttribute
         private String fileGroup;
 
+        @PluginBuilderAttribute
+        private boolean durable;
+
+        @PluginBuilderAttribute
+        private long maxCommitDelayMillis;
+
+        @PluginBuilderAttribute
+        private int maxCommitBatchSize = FileSyncer.DEFAULT_MAX_COMMIT_BATCH_SIZE;
+
         @Override
         public RollingFileAppender build() {
             if (!isValid()) {
@@ -160,6 +169,7 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
             if (manager == null) {
                 return null;
             }
+            manager.setDurability(durable, maxCommitDelayMillis, maxCommitBatchSize);
 
             manager.initialize();
 
@@ -283,6 +293,51 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
             this.fileGroup = fileGroup;
             return asBuilder();
         }
+
+        /**
+         * @since 2.25.0
+         */
+        public boolean isDurable() {
+            return durable;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public long getMaxCommitDelayMillis() {
+            return maxCommitDelayMillis;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public int getMaxCommitBatchSize() {
+            return maxCommitBatchSize;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withDurable(final boolean durable) {
+            this.durable = durable;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withMaxCommitDelayMillis(final long maxCommitDelayMillis) {
+            this.maxCommitDelayMillis = maxCommitDelayMillis;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withMaxCommitBatchSize(final int maxCommitBatchSize) {
+            this.maxCommitBatchSize = maxCommitBatchSize;
+            return asBuilder();
+        }
     }
 
     private static final int DEFAULT_BUFFER_SIZE = 8192;
@@ -335,6 +390,10 @@ public final class RollingFileAppender extends AbstractOutputStreamAppender<Roll
     public void append(final LogEvent event) {
         getManager().checkRollover(event);
         super.append(event);
+        final FileSyncer fileSyncer = getManager().getFileSyncer();
+        if (fileSyncer != null && (getImmediateFlush() || event.isEndOfBatch())) {
+            fileSyncer.commit();
+        }
     }
 
     /**
@@ -29,6 +29,7 @@ import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.appender.rolling.DefaultRolloverStrategy;
 import org.apache.logging.log4j.core.appender.rolling.DirectFileRolloverStrategy;
 import org.apache.logging.log4j.core.appender.rolling.DirectWriteRolloverStrategy;
+import org.apache.logging.log4j.core.appender.rolling.FileSize;
 import org.apache.logging.log4j.core.appender.rolling.RollingRandomAccessFileManager;
 import org.apache.logging.log4j.core.appender.rolling.RolloverStrategy;
 import org.apache.logging.log4j.core.appender.rolling.TriggeringPolicy;
@@ -93,6 +94,18 @@ public final class RollingRandomAccessFileAppender
         @PluginBuilderAttribute
         private String fileGroup;
 
+        @PluginBuilderAttribute
+        private boolean durable;
+
+        @PluginBuilderAttribute
+        private long maxCommitDelayMillis;
+
+        @PluginBuilderAttribute
+        private int maxCommitBatchSize = FileSyncer.DEFAULT_MAX_COMMIT_BATCH_SIZE;
+
+        @PluginBuilderAttribute
+        private String preallocationSize;
+
         @Override
         public RollingRandomAccessFileAppender build() {
             final String name = getName();
@@ -151,6 +164,8 @@ public final class RollingRandomAccessFileAppender
             if (manager == null) {
                 return null;
             }
+            manager.setDurability(durable, maxCommitDelayMillis, maxCommitBatchSize);
+            manager.setPreallocationSize(preallocationSize == null ? 0 : FileSize.parse(preallocationSize, 0));
 
             manager.initialize();
 
@@ -217,6 +232,66 @@ public final class RollingRandomAccessFileAppender
             this.fileGroup = fileGroup;
             return asBuilder();
         }
+
+        /**
+         * @since 2.25.0
+         */
+        public boolean isDurable() {
+            return durable;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public long getMaxCommitDelayMillis() {
+            return maxCommitDelayMillis;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public int getMaxCommitBatchSize() {
+            return maxCommitBatchSize;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withDurable(final boolean durable) {
+            this.durable = durable;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withMaxCommitDelayMillis(final long maxCommitDelayMillis) {
+            this.maxCommitDelayMillis = maxCommitDelayMillis;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withMaxCommitBatchSize(final int maxCommitBatchSize) {
+            this.maxCommitBatchSize = maxCommitBatchSize;
+            return asBuilder();
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public String getPreallocationSize() {
+            return preallocationSize;
+        }
+
+        /**
+         * @since 2.25.0
+         */
+        public B withPreallocationSize(final String preallocationSize) {
+            this.preallocationSize = preallocationSize;
+            return asBuilder();
+        }
     }
 
     private final String fileName;
@@ -273,6 +348,10 @@ public final class RollingRandomAccessFileAppender
 
         // LOG4J2-1292 utilize gc-free Layout.encode() method: taken care of in superclass
         super.append(event);
+        final FileSyncer fileSyncer = getManager().getFileSyncer();
+        if (fileSyncer != null && (getImmediateFlush() || event.isEndOfBatch())) {
+            fileSyncer.commit();
+        }
     }
 
     /**
@@ -30,7 +30,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
  * Triggering policy that wraps other triggering policies.
  */
 @Plugin(name = "Policies", category = Core.CATEGORY_NAME, printObject = true)
-public final class CompositeTriggeringPolicy extends AbstractTriggeringPolicy {
+public final class CompositeTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     private final TriggeringPolicy[] triggeringPolicies;
 
@@ -69,6 +69,37 @@ public final class CompositeTriggeringPolicy extends AbstractTriggeringPolicy {
         return false;
     }
 
+    /**
+     * Returns the earliest time of the wrapped policies, or {@link Long#MIN_VALUE} if one of them does not provide
+     * thresholds.
+     */
+    @Override
+    public long getNextTriggerMillis() {
+        long millis = NEVER;
+        for (final TriggeringPolicy triggeringPolicy : triggeringPolicies) {
+            if (!(triggeringPolicy instanceof ThresholdTriggeringPolicy)) {
+                return Long.MIN_VALUE;
+            }
+            millis = Math.min(millis, ((ThresholdTriggeringPolicy) triggeringPolicy).getNextTriggerMillis());
+        }
+        return millis;
+    }
+
+    /**
+     * Returns the smallest size of the wrapped policies, or {@code -1} if one of them does not provide thresholds.
+     */
+    @Override
+    public long getNextTriggerSize() {
+        long size = NEVER;
+        for (final TriggeringPolicy triggeringPolicy : triggeringPolicies) {
+            if (!(triggeringPolicy instanceof ThresholdTriggeringPolicy)) {
+                return -1;
+            }
+            size = Math.min(size, ((ThresholdTriggeringPolicy) triggeringPolicy).getNextTriggerSize());
+        }
+        return size;
+    }
+
     /**
      * Creates a CompositeTriggeringPolicy.
      * @param triggeringPolicy The triggering policies.
@@ -37,7 +37,7 @@ import org.apache.logging.log4j.core.util.CronExpression;
  */
 @Plugin(name = "CronTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
 @Scheduled
-public final class CronTriggeringPolicy extends AbstractTriggeringPolicy {
+public final class CronTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     private static final String defaultSchedule = "0 0 0 * * ?";
     private RollingFileManager manager;
@@ -103,6 +103,19 @@ public final class CronTriggeringPolicy extends AbstractTriggeringPolicy {
         return false;
     }
 
+    /**
+     * Returns {@link #NEVER}: rollovers are scheduled, not triggered by events.
+     */
+    @Override
+    public long getNextTriggerMillis() {
+        return NEVER;
+    }
+
+    @Override
+    public long getNextTriggerSize() {
+        return NEVER;
+    }
+
     public CronExpression getCronExpression() {
         return cronExpression;
     }
@@ -21,11 +21,13 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 import java.util.zip.Deflater;
 import org.apache.logging.log4j.core.Core;
@@ -43,6 +45,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
 import org.apache.logging.log4j.core.config.plugins.PluginElement;
 import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.core.pattern.NotANumber;
 import org.apache.logging.log4j.core.util.Integers;
 
 /**
@@ -77,6 +80,11 @@ import org.apache.logging.log4j.core.util.Integers;
  * Given that this rollover algorithm requires as many file renaming operations as the window size, large window sizes
  * are discouraged.
  * </p>
+ * <p>
+ * When the file index is set to "monotonic", the counter keeps increasing past the maximum value and no archive is ever
+ * renamed: each rollover deletes the archives with the smallest counters, so that at most <em>max - min + 1</em> files
+ * are kept, and renames the current file once. Files with a higher index are newer, as with the ascending strategy.
+ * </p>
  */
 @Plugin(name = "DefaultRolloverStrategy", category = Core.CATEGORY_NAME, printObject = true)
 public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
@@ -117,13 +125,15 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             int minIndex;
             int maxIndex;
             boolean useMax;
+            boolean monotonic = false;
 
             if (fileIndex != null && fileIndex.equalsIgnoreCase("nomax")) {
                 minIndex = Integer.MIN_VALUE;
                 maxIndex = Integer.MAX_VALUE;
                 useMax = false;
             } else {
-                useMax = fileIndex == null ? true : fileIndex.equalsIgnoreCase("max");
+                monotonic = fileIndex != null && fileIndex.equalsIgnoreCase("monotonic");
+                useMax = fileIndex == null || monotonic ? true : fileIndex.equalsIgnoreCase("max");
                 minIndex = MIN_WINDOW_SIZE;
                 if (min != null) {
                     minIndex = Integers.parseInt(min);
@@ -156,7 +166,8 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                     nonNullStrSubstitutor,
                     customActions,
                     stopCustomActionsOnError,
-                    tempCompressedFilePattern);
+                    tempCompressedFilePattern,
+                    monotonic);
         }
 
         public String getMax() {
@@ -197,7 +208,8 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
          * Defines the file index for rolling strategy.
          *
          * @param fileIndex If set to "max" (the default), files with a higher index will be newer than files with a smaller
-         *            index. If set to "min", file renaming and the counter will follow the Fixed Window strategy.
+         *            index. If set to "min", file renaming and the counter will follow the Fixed Window strategy. If set
+         *            to "monotonic", the index keeps increasing and the oldest files are deleted instead of renamed.
          * @return This builder for chaining convenience
          */
         public Builder withFileIndex(final String fileIndex) {
@@ -339,6 +351,17 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
     private final List<Action> customActions;
     private final boolean stopCustomActionsOnError;
     private final PatternProcessor tempCompressedFilePattern;
+    private final boolean monotonic;
+
+    /**
+     * Archives of the current file pattern, by index, when the index is monotonic.
+     */
+    private SortedMap<Integer, Path> archives;
+
+    /**
+     * File pattern the archives were looked up with, all converters except {@code %i} resolved.
+     */
+    private String archivesPattern;
 
     /**
      * Constructs a new instance.
@@ -388,7 +411,42 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             final Action[] customActions,
             final boolean stopCustomActionsOnError,
             final String tempCompressedFilePatternString) {
+        this(
+                minIndex,
+                maxIndex,
+                useMax,
+                compressionLevel,
+                strSubstitutor,
+                customActions,
+                stopCustomActionsOnError,
+                tempCompressedFilePatternString,
+                false);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param minIndex The minimum index.
+     * @param maxIndex The maximum index.
+     * @param customActions custom actions to perform asynchronously after rollover
+     * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
+     * @param tempCompressedFilePatternString File pattern of the working file
+     *                                     used during compression, if null no temporary file are used
+     * @param monotonic whether the index keeps increasing and the oldest files are deleted instead of renamed
+     * @since 2.25.0
+     */
+    protected DefaultRolloverStrategy(
+            final int minIndex,
+            final int maxIndex,
+            final boolean useMax,
+            final int compressionLevel,
+            final StrSubstitutor strSubstitutor,
+            final Action[] customActions,
+            final boolean stopCustomActionsOnError,
+            final String tempCompressedFilePatternString,
+            final boolean monotonic) {
         super(strSubstitutor);
+        this.monotonic = monotonic;
         this.minIndex = minIndex;
         this.maxIndex = maxIndex;
         this.useMax = useMax;
@@ -423,14 +481,155 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
         return useMax;
     }
 
+    /**
+     * Returns whether the index keeps increasing past the maximum index, the oldest files being deleted instead of the
+     * remaining ones being renamed.
+     *
+     * @return whether the file index is monotonic
+     * @since 2.25.0
+     */
+    public boolean isMonotonic() {
+        return monotonic;
+    }
+
     public PatternProcessor getTempCompressedFilePattern() {
         return tempCompressedFilePattern;
     }
 
     private int purge(final int lowIndex, final int highIndex, final RollingFileManager manager) {
+        if (monotonic) {
+            return purgeMonotonic(lowIndex, highIndex, manager);
+        }
         return useMax ? purgeAscending(lowIndex, highIndex, manager) : purgeDescending(lowIndex, highIndex, manager);
     }
 
+    /**
+     * Deletes the oldest log files in preparation for rollover, without renaming the remaining ones. The oldest file
+     * will have the smallest index, the newest the highest, which may exceed the high index.
+     * <p>
+     * The directory is only scanned when the part of the file pattern other than the index changes, e.g. on a new
+     * day, otherwise the archives are looked up in the index kept by the previous rollovers.
+     * </p>
+     *
+     * @param lowIndex low index.
+     * @param highIndex high index.
+     * @param manager The RollingFileManager
+     * @return the index of the next archive.
+     */
+    private synchronized int purgeMonotonic(final int lowIndex, final int highIndex, final RollingFileManager manager) {
+        final StringBuilder buf = new StringBuilder();
+        manager.getPatternProcessor().formatFileName(strSubstitutor, buf, NotANumber.NAN);
+        final String pattern = buf.toString();
+        if (archives == null || !pattern.equals(archivesPattern)) {
+            archives = new TreeMap<>(getEligibleFiles(manager));
+            archivesPattern = pattern;
+        }
+        final int maxFiles = highIndex - lowIndex + 1;
+        LOGGER.debug("Archived files: {}", archives);
+        while (archives.size() >= maxFiles) {
+            final Integer key = archives.firstKey();
+            final Path archive = archives.remove(key);
+            try {
+                LOGGER.debug("Deleting {}", archive.toAbsolutePath());
+                manager.getArchiveIndex().touch(archive);
+                if (!Files.deleteIfExists(archive)) {
+                    // The compression of the archive may have failed
+                    final String name = archive.toString();
+                    final int suffixLength = suffixLength(name);
+                    if (suffixLength > 0) {
+                        final Path uncompressed = Paths.get(name.substring(0, name.length() - suffixLength));
+                        manager.getArchiveIndex().touch(uncompressed);
+                        Files.deleteIfExists(uncompressed);
+                    }
+                }
+            } catch (final IOException ioe) {
+                LOGGER.error("Unable to delete {}, {}", archive, ioe.getMessage(), ioe);
+            }
+        }
+        if (archives.isEmpty()) {
+            return lowIndex;
+        }
+        final int lastIndex = archives.lastKey();
+        if (lastIndex == Integer.MAX_VALUE) {
+            return renumberArchives(lowIndex, manager);
+        }
+        return Math.max(lastIndex + 1, lowIndex);
+    }
+
+    /**
+     * Renames the archives to consecutive indexes starting at the low index, when the index would overflow.
+     *
+     * @param lowIndex low index.
+     * @param manager The RollingFileManager
+     * @return the index of the next archive or -1 if a file could not be renamed.
+     */
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The name of the accessed files is based on a configuration value.")
+    private int renumberArchives(final int lowIndex, final RollingFileManager manager) {
+        final SortedMap<Integer, Path> renumbered = new TreeMap<>();
+        int index = lowIndex;
+        final StringBuilder buf = new StringBuilder();
+        for (final Map.Entry<Integer, Path> entry : archives.entrySet()) {
+            buf.setLength(0);
+            manager.getPatternProcessor().formatFileName(strSubstitutor, buf, index);
+            final String currentName = entry.getValue().toFile().getName();
+            String renameTo = buf.toString();
+            final int suffixLength = suffixLength(renameTo);
+            if (suffixLength > 0 && suffixLength(currentName) == 0) {
+                renameTo = renameTo.substring(0, renameTo.length() - suffixLength);
+            }
+            final Action action = new FileRenameAction(entry.getValue().toFile(), new File(renameTo), true);
+            manager.getArchiveIndex().prepare(action);
+            try {
+                LOGGER.debug("DefaultRolloverStrategy.renumberArchives executing {}", action);
+                if (!action.execute()) {
+                    archives = null;
+                    return -1;
+                }
+            } catch (final Exception ex) {
+                LOGGER.warn("Exception during purge in RollingFileAppender", ex);
+                archives = null;
+                return -1;
+            }
+            renumbered.put(index++, Paths.get(renameTo));
+        }
+        archives = renumbered;
+        return index;
+    }
+
+    private synchronized void addArchive(final int index, final String archive) {
+        if (archives != null) {
+            archives.put(index, Paths.get(archive));
+        }
+    }
+
+    /**
+     * Renames the active file and, only if an archive was created, records it in the monotonic archives.
+     */
+    private final class IndexingRenameAction extends FileRenameAction {
+
+        private final int index;
+        private final String archive;
+
+        IndexingRenameAction(
+                final File src, final File dst, final boolean renameEmptyFiles, final int index, final String archive) {
+            super(src, dst, renameEmptyFiles);
+            this.index = index;
+            this.archive = archive;
+        }
+
+        @Override
+        public boolean execute() {
+            final boolean renamed = super.execute();
+            // Empty files may be deleted instead of renamed
+            if (renamed && getDestination().exists()) {
+                addArchive(index, archive);
+            }
+            return renamed;
+        }
+    }
+
     /**
      * Purges and renames old log files in preparation for rollover. The oldest file will have the smallest index, the
      * newest the highest.
@@ -453,6 +652,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 LOGGER.debug("Eligible files: {}", eligibleFiles);
                 final Integer key = eligibleFiles.firstKey();
                 LOGGER.debug("Deleting {}", eligibleFiles.get(key).toFile().getAbsolutePath());
+                manager.getArchiveIndex().touch(eligibleFiles.get(key));
                 Files.delete(eligibleFiles.get(key));
                 eligibleFiles.remove(key);
                 renameFiles = true;
@@ -474,6 +674,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                     renameTo = renameTo.substring(0, renameTo.length() - suffixLength);
                 }
                 final Action action = new FileRenameAction(entry.getValue().toFile(), new File(renameTo), true);
+                manager.getArchiveIndex().prepare(action);
                 try {
                     LOGGER.debug("DefaultRolloverStrategy.purgeAscending executing {}", action);
                     if (!action.execute()) {
@@ -512,6 +713,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             try {
                 final Integer key = eligibleFiles.firstKey();
                 LOGGER.debug("Deleting {}", eligibleFiles.get(key).toFile().getAbsolutePath());
+                manager.getArchiveIndex().touch(eligibleFiles.get(key));
                 Files.delete(eligibleFiles.get(key));
                 eligibleFiles.remove(key);
             } catch (final IOException ioe) {
@@ -531,6 +733,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
                 renameTo = renameTo.substring(0, renameTo.length() - suffixLength);
             }
             final Action action = new FileRenameAction(entry.getValue().toFile(), new File(renameTo), true);
+            manager.getArchiveIndex().prepare(action);
             try {
                 LOGGER.debug("DefaultRolloverStrategy.purgeDescending executing {}", action);
                 if (!action.execute()) {
@@ -630,8 +833,14 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
             compressAction = new CompositeAction(Arrays.asList(compressAction, posixAttributeViewAction), false);
         }
 
-        final FileRenameAction renameAction =
-                new FileRenameAction(new File(currentFileName), new File(renameTo), manager.isRenameEmptyFiles());
+        final FileRenameAction renameAction = monotonic
+                ? new IndexingRenameAction(
+                        new File(currentFileName),
+                        new File(renameTo),
+                        manager.isRenameEmptyFiles(),
+                        fileIndex,
+                        compressedName)
+                : new FileRenameAction(new File(currentFileName), new File(renameTo), manager.isRenameEmptyFiles());
 
         final Action asyncAction = merge(compressAction, customActions, stopCustomActionsOnError);
         return new RolloverDescriptionImpl(currentFileName, false, renameAction, asyncAction);
@@ -639,6 +848,7 @@ public class DefaultRolloverStrategy extends AbstractRolloverStrategy {
 
     @Override
     public String toString() {
-        return "DefaultRolloverStrategy(min=" + minIndex + ", max=" + maxIndex + ", useMax=" + useMax + ")";
+        return "DefaultRolloverStrategy(min=" + minIndex + ", max=" + maxIndex + ", useMax=" + useMax + ", monotonic="
+                + monotonic + ")";
     }
 }
@@ -80,6 +80,9 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
         @PluginBuilderAttribute(value = "tempCompressedFilePattern")
         private String tempCompressedFilePattern;
 
+        @PluginBuilderAttribute(value = "nonBlocking")
+        private boolean nonBlocking;
+
         @PluginConfiguration
         private Configuration config;
 
@@ -102,7 +105,8 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
                     config.getStrSubstitutor(),
                     customActions,
                     stopCustomActionsOnError,
-                    tempCompressedFilePattern);
+                    tempCompressedFilePattern,
+                    nonBlocking);
         }
 
         public String getMaxFiles() {
@@ -180,6 +184,23 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
             return this;
         }
 
+        public boolean isNonBlocking() {
+            return nonBlocking;
+        }
+
+        /**
+         * Defines whether the previous file is closed and the rollover actions are executed outside of the lock of the
+         * manager.
+         *
+         * @param nonBlocking if {@code true}, writers only wait for the next file to be opened during a rollover
+         * @return This builder for chaining convenience
+         * @since 2.25.0
+         */
+        public Builder withNonBlocking(final boolean nonBlocking) {
+            this.nonBlocking = nonBlocking;
+            return this;
+        }
+
         public Configuration getConfig() {
             return config;
         }
@@ -244,6 +265,7 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
     private int nextIndex = -1;
     private final PatternProcessor tempCompressedFilePattern;
     private volatile boolean usePrevTime = false;
+    private final boolean nonBlocking;
 
     /**
      * Constructs a new instance.
@@ -279,7 +301,37 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
             final Action[] customActions,
             final boolean stopCustomActionsOnError,
             final String tempCompressedFilePatternString) {
+        this(
+                maxFiles,
+                compressionLevel,
+                strSubstitutor,
+                customActions,
+                stopCustomActionsOnError,
+                tempCompressedFilePatternString,
+                false);
+    }
+
+    /**
+     * Constructs a new instance.
+     *
+     * @param maxFiles The maximum number of files that match the date portion of the pattern to keep.
+     * @param customActions custom actions to perform asynchronously after rollover
+     * @param stopCustomActionsOnError whether to stop executing asynchronous actions if an error occurs
+     * @param tempCompressedFilePatternString File pattern of the working file
+     *                                     used during compression, if null no temporary file are used
+     * @param nonBlocking whether the previous file is closed outside of the lock of the manager
+     * @since 2.25.0
+     */
+    protected DirectWriteRolloverStrategy(
+            final int maxFiles,
+            final int compressionLevel,
+            final StrSubstitutor strSubstitutor,
+            final Action[] customActions,
+            final boolean stopCustomActionsOnError,
+            final String tempCompressedFilePatternString,
+            final boolean nonBlocking) {
         super(strSubstitutor);
+        this.nonBlocking = nonBlocking;
         this.maxFiles = maxFiles;
         this.compressionLevel = compressionLevel;
         this.stopCustomActionsOnError = stopCustomActionsOnError;
@@ -308,12 +360,24 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
         return tempCompressedFilePattern;
     }
 
+    /**
+     * Returns whether the previous file is closed and the rollover actions are executed asynchronously, writers only
+     * waiting for the next file to be opened.
+     *
+     * @return whether rollovers are non-blocking
+     * @since 2.25.0
+     */
+    public boolean isNonBlocking() {
+        return nonBlocking;
+    }
+
     private int purge(final RollingFileManager manager) {
         final SortedMap<Integer, Path> eligibleFiles = getEligibleFiles(manager);
         LOGGER.debug("Found {} eligible files, max is  {}", eligibleFiles.size(), maxFiles);
         while (eligibleFiles.size() >= maxFiles) {
             try {
                 final Integer key = eligibleFiles.firstKey();
+                manager.getArchiveIndex().touch(eligibleFiles.get(key));
                 Files.delete(eligibleFiles.get(key));
                 eligibleFiles.remove(key);
             } catch (final IOException ioe) {
@@ -418,6 +482,6 @@ public class DirectWriteRolloverStrategy extends AbstractRolloverStrategy implem
 
     @Override
     public String toString() {
-        return "DirectWriteRolloverStrategy(maxFiles=" + maxFiles + ')';
+        return "DirectWriteRolloverStrategy(maxFiles=" + maxFiles + ", nonBlocking=" + nonBlocking + ')';
     }
 }
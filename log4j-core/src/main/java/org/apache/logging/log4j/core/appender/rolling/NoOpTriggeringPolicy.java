@@ -27,7 +27,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
  * @since 2.11.1
  */
 @Plugin(name = "NoOpTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
-public class NoOpTriggeringPolicy extends AbstractTriggeringPolicy {
+public class NoOpTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     public static final NoOpTriggeringPolicy INSTANCE = new NoOpTriggeringPolicy();
 
@@ -46,4 +46,15 @@ public class NoOpTriggeringPolicy extends AbstractTriggeringPolicy {
         // Never triggers.
         return false;
     }
+
+    @Override
+    public long getNextTriggerMillis() {
+        // Subclasses may trigger on events
+        return getClass() == NoOpTriggeringPolicy.class ? NEVER : Long.MIN_VALUE;
+    }
+
+    @Override
+    public long getNextTriggerSize() {
+        return getClass() == NoOpTriggeringPolicy.class ? NEVER : -1;
+    }
 }
@@ -29,7 +29,7 @@ import org.apache.logging.log4j.status.StatusLogger;
  * Triggers a rollover on every restart, but only if the file size is greater than zero.
  */
 @Plugin(name = "OnStartupTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
-public class OnStartupTriggeringPolicy extends AbstractTriggeringPolicy {
+public class OnStartupTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     private static final long JVM_START_TIME = initStartTime();
 
@@ -98,6 +98,20 @@ public class OnStartupTriggeringPolicy extends AbstractTriggeringPolicy {
         return false;
     }
 
+    /**
+     * Returns {@link #NEVER}: the rollover happens at startup, not on events.
+     */
+    @Override
+    public long getNextTriggerMillis() {
+        // Subclasses may trigger on events
+        return getClass() == OnStartupTriggeringPolicy.class ? NEVER : Long.MIN_VALUE;
+    }
+
+    @Override
+    public long getNextTriggerSize() {
+        return getClass() == OnStartupTriggeringPolicy.class ? NEVER : -1;
+    }
+
     @Override
     public String toString() {
         return "OnStartupTriggeringPolicy";
@@ -17,6 +17,7 @@
 package org.apache.logging.log4j.core.appender.rolling;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -25,6 +26,7 @@ import java.io.Serializable;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.nio.file.attribute.FileTime;
 import java.util.Collection;
@@ -46,6 +48,7 @@ import org.apache.logging.log4j.core.appender.FileManager;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
 import org.apache.logging.log4j.core.appender.rolling.action.AbstractAction;
 import org.apache.logging.log4j.core.appender.rolling.action.Action;
+import org.apache.logging.log4j.core.appender.rolling.action.ArchiveIndex;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.FileUtils;
@@ -61,18 +64,26 @@ public class RollingFileManager extends FileManager {
     private static final int MIN_DURATION = 100;
     private static final FileTime EPOCH = FileTime.fromMillis(0);
 
-    protected long size;
+    /**
+     * The number of bytes written to the file, updated under the lock of the manager.
+     * <p>
+     * Volatile, since {@link #checkRollover} reads it without the lock.
+     * </p>
+     */
+    protected volatile long size;
     private long initialTime;
     private volatile PatternProcessor patternProcessor;
     private final Semaphore semaphore = new Semaphore(1);
     private final Log4jThreadFactory threadFactory = Log4jThreadFactory.createThreadFactory("RollingFileManager");
     private volatile TriggeringPolicy triggeringPolicy;
+    private volatile TriggerThresholds triggerThresholds;
     private volatile RolloverStrategy rolloverStrategy;
     private volatile boolean renameEmptyFiles;
     private volatile boolean initialized;
     private volatile String fileName;
     private final boolean directWrite;
     private final CopyOnWriteArrayList<RolloverListener> rolloverListeners = new CopyOnWriteArrayList<>();
+    private final ArchiveIndex archiveIndex = new ArchiveIndex();
 
     /* This executor pool will create a new Thread for every work async action to be performed. Using it allows
     us to make sure all the Threads are completed when the Manager is stopped. */
@@ -249,6 +260,7 @@ public class RollingFileManager extends FileManager {
             if (triggeringPolicy instanceof LifeCycle) {
                 ((LifeCycle) triggeringPolicy).start();
             }
+            updateTriggerThresholds();
             if (directWrite) {
                 // LOG4J2-2485: Initialize size from the most recently written file.
                 final File file = new File(getFileName());
@@ -411,12 +423,40 @@ public class RollingFileManager extends FileManager {
 
     /**
      * Determines if a rollover should occur.
+     * <p>
+     * If the triggering policy is a {@link ThresholdTriggeringPolicy}, events that reach none of its thresholds are
+     * discarded without taking the lock of the manager.
+     * </p>
      * @param event The LogEvent.
      */
-    public synchronized void checkRollover(final LogEvent event) {
+    public void checkRollover(final LogEvent event) {
+        final TriggerThresholds thresholds = triggerThresholds;
+        if (thresholds != null && event.getTimeMillis() < thresholds.millis && getFileSize() <= thresholds.size) {
+            return;
+        }
+        evaluateTriggeringPolicy(event);
+    }
+
+    private synchronized void evaluateTriggeringPolicy(final LogEvent event) {
         if (triggeringPolicy.isTriggeringEvent(event)) {
             rollover();
         }
+        updateTriggerThresholds();
+    }
+
+    /**
+     * Publishes the thresholds of the triggering policy, after it has been initialized, evaluated or a rollover
+     * occurred.
+     */
+    private void updateTriggerThresholds() {
+        final TriggeringPolicy policy = triggeringPolicy;
+        if (policy instanceof ThresholdTriggeringPolicy) {
+            final ThresholdTriggeringPolicy thresholdPolicy = (ThresholdTriggeringPolicy) policy;
+            triggerThresholds =
+                    new TriggerThresholds(thresholdPolicy.getNextTriggerMillis(), thresholdPolicy.getNextTriggerSize());
+        } else {
+            triggerThresholds = null;
+        }
     }
 
     @Override
@@ -518,6 +558,7 @@ public class RollingFileManager extends FileManager {
                 Thread.currentThread().interrupt();
             }
         }
+        updateTriggerThresholds();
         if (rolloverListeners.size() > 0) {
             for (RolloverListener listener : rolloverListeners) {
                 try {
@@ -555,6 +596,7 @@ public class RollingFileManager extends FileManager {
         } while (!(policyUpdated = triggeringPolicyUpdater.compareAndSet(this, this.triggeringPolicy, triggeringPolicy))
                 && count < MAX_TRIES);
         if (policyUpdated) {
+            updateTriggerThresholds();
             if (triggeringPolicy instanceof LifeCycle) {
                 ((LifeCycle) triggeringPolicy).start();
             }
@@ -594,6 +636,16 @@ public class RollingFileManager extends FileManager {
         return semaphore;
     }
 
+    /**
+     * Returns the index of the archived files, used by the indexed {@code Delete} actions of the rollover strategy.
+     *
+     * @return The archive index.
+     * @since 2.25.0
+     */
+    public ArchiveIndex getArchiveIndex() {
+        return archiveIndex;
+    }
+
     /**
      * Returns the rollover strategy.
      * @return The RolloverStrategy
@@ -616,9 +668,25 @@ public class RollingFileManager extends FileManager {
         boolean asyncActionStarted = true;
 
         try {
+            final String previousFileName = fileName;
             final RolloverDescription descriptor = strategy.rollover(this);
             if (descriptor != null) {
+                if (previousFileName != null) {
+                    archiveIndex.touch(Paths.get(previousFileName));
+                }
+                archiveIndex.prepare(descriptor.getSynchronous());
+                archiveIndex.prepare(descriptor.getAsynchronous());
                 writeFooter();
+                if (isNonBlockingRollover(strategy)) {
+                    // Only the next file is opened under the lock, by the caller
+                    final Closeable previousStream = detachOutputStream();
+                    final Action action = new DeferredRolloverAction(
+                            previousStream, descriptor.getSynchronous(), descriptor.getAsynchronous());
+                    LOGGER.debug("RollingFileManager executing async {}", action);
+                    asyncExecutor.execute(new AsyncAction(action, this));
+                    asyncActionStarted = false;
+                    return true;
+                }
                 closeOutputStream();
                 outputStreamClosed = true;
                 boolean syncActionSuccess = true;
@@ -646,6 +714,95 @@ public class RollingFileManager extends FileManager {
         }
     }
 
+    private boolean isNonBlockingRollover(final RolloverStrategy strategy) {
+        return directWrite
+                && strategy instanceof DirectWriteRolloverStrategy
+                && ((DirectWriteRolloverStrategy) strategy).isNonBlocking();
+    }
+
+    /**
+     * Flushes the buffered bytes and detaches the current output stream, which the caller is responsible for closing.
+     * The next write or rollover creates a new output stream.
+     *
+     * @return The detached stream or {@code null} if there was none.
+     * @since 2.25.0
+     */
+    protected synchronized Closeable detachOutputStream() {
+        flush();
+        syncFileChannel();
+        if (!hasOutputStream()) {
+            return null;
+        }
+        try {
+            return getOutputStream();
+        } catch (final IOException e) {
+            // Not reached: the stream exists
+            return null;
+        } finally {
+            setOutputStream(null);
+        }
+    }
+
+    /**
+     * Closes the stream of the previous file, then performs the actions of a rollover that did not wait for it.
+     */
+    private static class DeferredRolloverAction extends AbstractAction {
+
+        private final Closeable previousStream;
+        private final Action synchronousAction;
+        private final Action asynchronousAction;
+
+        DeferredRolloverAction(
+                final Closeable previousStream, final Action synchronousAction, final Action asynchronousAction) {
+            this.previousStream = previousStream;
+            this.synchronousAction = synchronousAction;
+            this.asynchronousAction = asynchronousAction;
+        }
+
+        @Override
+        public boolean execute() throws IOException {
+            if (previousStream != null) {
+                try {
+                    previousStream.close();
+                    LOGGER.debug("OutputStream closed");
+                } catch (final IOException ex) {
+                    LOGGER.error("Unable to close stream", ex);
+                }
+            }
+            if (synchronousAction != null) {
+                try {
+                    if (!synchronousAction.execute()) {
+                        return false;
+                    }
+                } catch (final Exception ex) {
+                    LOGGER.error("Caught error in synchronous task", ex);
+                    return false;
+                }
+            }
+            return asynchronousAction == null || asynchronousAction.execute();
+        }
+
+        @Override
+        public String toString() {
+            return "DeferredRolloverAction[previousStream=" + previousStream + ", synchronousAction="
+                    + synchronousAction + ", asynchronousAction=" + asynchronousAction + "]";
+        }
+    }
+
+    /**
+     * Thresholds of a {@link ThresholdTriggeringPolicy}, published together.
+     */
+    private static final class TriggerThresholds {
+
+        private final long millis;
+        private final long size;
+
+        TriggerThresholds(final long millis, final long size) {
+            this.millis = millis;
+            this.size = size;
+        }
+    }
+
     /**
      * Performs actions asynchronously.
      */
@@ -17,17 +17,20 @@
 package org.apache.logging.log4j.core.appender.rolling;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.io.Serializable;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
 import org.apache.logging.log4j.core.Layout;
 import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.appender.AppenderLoggingException;
 import org.apache.logging.log4j.core.appender.ConfigurationFactoryData;
+import org.apache.logging.log4j.core.appender.FilePreallocator;
 import org.apache.logging.log4j.core.appender.ManagerFactory;
 import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.util.FileUtils;
@@ -45,7 +48,9 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
 
     private static final RollingRandomAccessFileManagerFactory FACTORY = new RollingRandomAccessFileManagerFactory();
 
-    private RandomAccessFile randomAccessFile;
+    private volatile RandomAccessFile randomAccessFile;
+
+    private FilePreallocator preallocator;
 
     @Deprecated
     public RollingRandomAccessFileManager(
@@ -221,7 +226,11 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
             if (randomAccessFile == null) {
                 createFileAfterRollover();
             }
-            randomAccessFile.write(bytes, offset, length);
+            if (preallocator != null) {
+                preallocator.write(bytes, offset, length);
+            } else {
+                randomAccessFile.write(bytes, offset, length);
+            }
             size += length;
         } catch (final IOException ex) {
             final String msg = "Error writing to RandomAccessFile " + getName();
@@ -252,6 +261,9 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
             randomAccessFile.seek(randomAccessFile.length());
         }
         writeHeader();
+        if (preallocator != null) {
+            preallocator.open(randomAccessFile, Paths.get(fileName));
+        }
     }
 
     @Override
@@ -262,6 +274,8 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
     @Override
     public synchronized boolean closeOutputStream() {
         flush();
+        closePreallocator();
+        syncFileChannel();
         if (randomAccessFile != null) {
             try {
                 randomAccessFile.close();
@@ -274,6 +288,78 @@ public class RollingRandomAccessFileManager extends RollingFileManager {
         return true;
     }
 
+    @Override
+    protected synchronized Closeable detachOutputStream() {
+        flush();
+        closePreallocator();
+        syncFileChannel();
+        final RandomAccessFile previousFile = randomAccessFile;
+        randomAccessFile = null;
+        return previousFile;
+    }
+
+    /**
+     * Enables or disables the preallocation of file space.
+     * <p>
+     * When enabled, each file is extended ahead of the write position in chunks of the given size and truncated to
+     * the bytes actually written on rollover or when it is closed.
+     * </p>
+     *
+     * @param preallocationSize the size of the chunks, or {@code 0} to disable preallocation.
+     * @see org.apache.logging.log4j.core.appender.RandomAccessFileManager#setPreallocationSize(long)
+     * @since 2.25.0
+     */
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The name of the accessed files is based on a configuration value.")
+    public synchronized void setPreallocationSize(final long preallocationSize) {
+        if (preallocator != null && preallocator.getChunkSize() == preallocationSize) {
+            return;
+        }
+        flush();
+        closePreallocator();
+        preallocator = null;
+        if (preallocationSize > 0) {
+            final FilePreallocator newPreallocator = new FilePreallocator(preallocationSize);
+            try {
+                if (randomAccessFile != null) {
+                    newPreallocator.open(randomAccessFile, Paths.get(getFileName()));
+                    // Preallocated space left by a previous run is not part of the file
+                    size = Math.min(size, newPreallocator.getPosition());
+                }
+                preallocator = newPreallocator;
+            } catch (final IOException ex) {
+                logError("Unable to preallocate RandomAccessFile", ex);
+            }
+        }
+    }
+
+    /**
+     * Returns the size of the chunks each file is extended by.
+     *
+     * @return the preallocation size, or {@code 0} if preallocation is disabled.
+     * @since 2.25.0
+     */
+    public synchronized long getPreallocationSize() {
+        return preallocator != null ? preallocator.getChunkSize() : 0;
+    }
+
+    private void closePreallocator() {
+        if (preallocator != null) {
+            try {
+                preallocator.close();
+            } catch (final IOException ex) {
+                logError("Unable to truncate RandomAccessFile", ex);
+            }
+        }
+    }
+
+    @Override
+    protected FileChannel getFileChannel() {
+        final RandomAccessFile file = randomAccessFile;
+        return file != null ? file.getChannel() : null;
+    }
+
     /**
      * Returns the buffer capacity.
      *
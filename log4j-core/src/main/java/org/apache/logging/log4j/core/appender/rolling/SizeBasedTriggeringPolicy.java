@@ -26,7 +26,7 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
  *
  */
 @Plugin(name = "SizeBasedTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
-public class SizeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
+public class SizeBasedTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     /**
      * Rollover threshold size in bytes.
@@ -80,6 +80,17 @@ public class SizeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
         return triggered;
     }
 
+    @Override
+    public long getNextTriggerMillis() {
+        // Subclasses may trigger on other conditions
+        return getClass() == SizeBasedTriggeringPolicy.class ? NEVER : Long.MIN_VALUE;
+    }
+
+    @Override
+    public long getNextTriggerSize() {
+        return getClass() == SizeBasedTriggeringPolicy.class ? maxFileSize : -1;
+    }
+
     @Override
     public String toString() {
         return "SizeBasedTriggeringPolicy(size=" + maxFileSize + ')';
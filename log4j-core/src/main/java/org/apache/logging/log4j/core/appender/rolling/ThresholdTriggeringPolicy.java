@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling;
+
+/**
+ * A {@link TriggeringPolicy} that can tell in advance the earliest event time and the smallest file size that may
+ * trigger a rollover.
+ * <p>
+ * {@link RollingFileManager} only evaluates {@link #isTriggeringEvent(org.apache.logging.log4j.core.LogEvent)}, under
+ * its lock, for events that reach one of these thresholds. The thresholds are read again after each evaluation and
+ * each rollover.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public interface ThresholdTriggeringPolicy extends TriggeringPolicy {
+
+    /**
+     * Value of a threshold that is never reached.
+     */
+    long NEVER = Long.MAX_VALUE;
+
+    /**
+     * Returns the time from which an event may trigger a rollover.
+     *
+     * @return the time in milliseconds since the epoch, {@link #NEVER} if the time of the event never triggers a
+     *         rollover or {@link Long#MIN_VALUE} if all events must be evaluated
+     */
+    long getNextTriggerMillis();
+
+    /**
+     * Returns the file size above which an event may trigger a rollover.
+     *
+     * @return the size in bytes, {@link #NEVER} if the size of the file never triggers a rollover or {@code -1} if all
+     *         events must be evaluated
+     */
+    long getNextTriggerSize();
+}
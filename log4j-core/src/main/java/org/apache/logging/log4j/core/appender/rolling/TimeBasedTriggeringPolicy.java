@@ -31,7 +31,7 @@ import org.apache.logging.log4j.core.util.Integers;
  * Rolls a file over based on time.
  */
 @Plugin(name = "TimeBasedTriggeringPolicy", category = Core.CATEGORY_NAME, printObject = true)
-public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
+public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy implements ThresholdTriggeringPolicy {
 
     public static class Builder implements org.apache.logging.log4j.core.util.Builder<TimeBasedTriggeringPolicy> {
 
@@ -138,6 +138,16 @@ public final class TimeBasedTriggeringPolicy extends AbstractTriggeringPolicy {
         return false;
     }
 
+    @Override
+    public long getNextTriggerMillis() {
+        return nextRolloverMillis;
+    }
+
+    @Override
+    public long getNextTriggerSize() {
+        return NEVER;
+    }
+
     /**
      * Creates a TimeBasedTriggeringPolicy.
      * @param interval The interval between rollovers.
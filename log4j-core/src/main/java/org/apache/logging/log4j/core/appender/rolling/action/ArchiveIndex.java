@@ -0,0 +1,279 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.rolling.action;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * In-memory index of the files a rolling file manager archives, used by {@link DeleteAction}s configured with
+ * {@code indexed="true"} instead of walking their base path on every rollover.
+ * <p>
+ * Each base path is scanned once, the first time a {@link DeleteAction} asks for it. Afterwards the manager and its
+ * rollover strategy only report the files touched by a rollover: the archives deleted or renamed while purging, and the
+ * sources and destinations of its rename and compress actions. Only those files are examined again before the next
+ * listing.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+public final class ArchiveIndex {
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final LinkOption[] NO_LINK_OPTIONS = {};
+
+    private static final LinkOption[] NOFOLLOW_LINKS = {LinkOption.NOFOLLOW_LINKS};
+
+    private final ConcurrentMap<RootKey, Root> roots = new ConcurrentHashMap<>();
+
+    /**
+     * Reports a file that may have been created, modified or deleted since the last listing.
+     *
+     * @param file a file, can be {@code null}
+     */
+    public void touch(final Path file) {
+        if (file != null) {
+            final Path absoluteFile = file.toAbsolutePath().normalize();
+            for (final Root root : roots.values()) {
+                root.touch(absoluteFile);
+            }
+        }
+    }
+
+    /**
+     * Prepares the actions of a rollover.
+     * <p>
+     * Reports the files the rename and compress actions will touch and binds the indexed {@link DeleteAction}s to
+     * this index.
+     * </p>
+     *
+     * @param action an action, can be {@code null}
+     */
+    public void prepare(final Action action) {
+        if (action instanceof CompositeAction) {
+            for (final Action nested : ((CompositeAction) action).getActions()) {
+                prepare(nested);
+            }
+        } else if (action instanceof FileRenameAction) {
+            final FileRenameAction renameAction = (FileRenameAction) action;
+            touch(renameAction.getSource(), renameAction.getDestination());
+        } else if (action instanceof GzCompressAction) {
+            final GzCompressAction compressAction = (GzCompressAction) action;
+            touch(compressAction.getSource(), compressAction.getDestination());
+        } else if (action instanceof ZipCompressAction) {
+            final ZipCompressAction compressAction = (ZipCompressAction) action;
+            touch(compressAction.getSource(), compressAction.getDestination());
+        } else if (action instanceof CommonsCompressAction) {
+            final CommonsCompressAction compressAction = (CommonsCompressAction) action;
+            touch(compressAction.getSource(), compressAction.getDestination());
+        } else if (action instanceof DeleteAction) {
+            final DeleteAction deleteAction = (DeleteAction) action;
+            if (deleteAction.isIndexed()) {
+                deleteAction.setArchiveIndex(this);
+            }
+        }
+    }
+
+    private void touch(final File source, final File destination) {
+        if (source != null) {
+            touch(source.toPath());
+        }
+        if (destination != null) {
+            touch(destination.toPath());
+        }
+    }
+
+    /**
+     * Returns the files under a base path, as {@link Files#walkFileTree(Path, Set, int, java.nio.file.FileVisitor)}
+     * would visit them.
+     *
+     * @param basePath the base path
+     * @param maxDepth the maximum number of directory levels to visit
+     * @param options the options of the walk
+     * @return a new modifiable list of files
+     * @throws IOException if the base path could not be scanned
+     */
+    public List<PathWithAttributes> list(final Path basePath, final int maxDepth, final Set<FileVisitOption> options)
+            throws IOException {
+        final RootKey key = new RootKey(basePath.toAbsolutePath().normalize(), maxDepth, options);
+        Root root = roots.get(key);
+        if (root == null) {
+            final Root newRoot = new Root(basePath, key);
+            root = roots.putIfAbsent(key, newRoot);
+            if (root == null) {
+                root = newRoot;
+            }
+        }
+        return root.list();
+    }
+
+    /**
+     * Removes a deleted file from the index.
+     *
+     * @param file the file
+     */
+    public void remove(final Path file) {
+        final Path absoluteFile = file.toAbsolutePath().normalize();
+        for (final Root root : roots.values()) {
+            root.files.remove(absoluteFile);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ArchiveIndex[roots=" + roots.keySet() + "]";
+    }
+
+    private static final class RootKey {
+
+        private final Path absolutePath;
+        private final int maxDepth;
+        private final Set<FileVisitOption> options;
+
+        RootKey(final Path absolutePath, final int maxDepth, final Set<FileVisitOption> options) {
+            this.absolutePath = absolutePath;
+            this.maxDepth = maxDepth;
+            this.options = options;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof RootKey)) {
+                return false;
+            }
+            final RootKey other = (RootKey) obj;
+            return maxDepth == other.maxDepth
+                    && absolutePath.equals(other.absolutePath)
+                    && options.equals(other.options);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(absolutePath, maxDepth, options);
+        }
+
+        @Override
+        public String toString() {
+            return absolutePath + " (maxDepth=" + maxDepth + ", options=" + options + ")";
+        }
+    }
+
+    private static final class Root {
+
+        /** The base path as configured, used to build the paths handed to the conditions. */
+        private final Path basePath;
+
+        private final RootKey key;
+
+        private final LinkOption[] linkOptions;
+
+        private final ConcurrentMap<Path, PathWithAttributes> files = new ConcurrentHashMap<>();
+
+        private final Set<Path> touched = ConcurrentHashMap.newKeySet();
+
+        private volatile boolean scanned;
+
+        Root(final Path basePath, final RootKey key) {
+            this.basePath = basePath;
+            this.key = key;
+            this.linkOptions = key.options.contains(FileVisitOption.FOLLOW_LINKS) ? NO_LINK_OPTIONS : NOFOLLOW_LINKS;
+        }
+
+        void touch(final Path absoluteFile) {
+            if (absoluteFile.startsWith(key.absolutePath)) {
+                final int depth = absoluteFile.getNameCount() - key.absolutePath.getNameCount();
+                if (depth > 0 && depth <= key.maxDepth) {
+                    touched.add(absoluteFile);
+                }
+            }
+        }
+
+        synchronized List<PathWithAttributes> list() throws IOException {
+            if (!scanned) {
+                scan();
+                scanned = true;
+            } else {
+                refresh();
+            }
+            return new ArrayList<>(files.values());
+        }
+
+        private void scan() throws IOException {
+            final long start = System.nanoTime();
+            // Files touched before the scan are seen by the scan itself
+            touched.clear();
+            Files.walkFileTree(basePath, key.options, key.maxDepth, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult visitFile(final Path file, final BasicFileAttributes attrs) {
+                    files.put(file.toAbsolutePath().normalize(), new PathWithAttributes(file, attrs));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFileFailed(final Path file, final IOException ioException)
+                        throws IOException {
+                    if (ioException instanceof NoSuchFileException) {
+                        return FileVisitResult.CONTINUE;
+                    }
+                    return super.visitFileFailed(file, ioException);
+                }
+            });
+            LOGGER.debug(
+                    "ArchiveIndex scanned {} files in {} in {} ms",
+                    files.size(),
+                    key,
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+
+        private void refresh() {
+            for (final Path absoluteFile : touched) {
+                touched.remove(absoluteFile);
+                try {
+                    final BasicFileAttributes attrs =
+                            Files.readAttributes(absoluteFile, BasicFileAttributes.class, linkOptions);
+                    final Path file = basePath.resolve(key.absolutePath.relativize(absoluteFile));
+                    files.put(absoluteFile, new PathWithAttributes(file, attrs));
+                } catch (final NoSuchFileException e) {
+                    files.remove(absoluteFile);
+                } catch (final IOException e) {
+                    LOGGER.warn("ArchiveIndex could not read the attributes of {}", absoluteFile, e);
+                    files.remove(absoluteFile);
+                }
+            }
+        }
+    }
+}
@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.nio.file.FileVisitor;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import org.apache.logging.log4j.core.Core;
@@ -40,6 +41,8 @@ public class DeleteAction extends AbstractPathAction {
     private final PathSorter pathSorter;
     private final boolean testMode;
     private final ScriptCondition scriptCondition;
+    private final boolean indexed;
+    private volatile ArchiveIndex archiveIndex;
 
     /**
      * Creates a new DeleteAction that starts scanning for files to delete from the specified base path.
@@ -66,8 +69,22 @@ public class DeleteAction extends AbstractPathAction {
             final PathCondition[] pathConditions,
             final ScriptCondition scriptCondition,
             final StrSubstitutor subst) {
+        this(basePath, followSymbolicLinks, maxDepth, testMode, false, sorter, pathConditions, scriptCondition, subst);
+    }
+
+    DeleteAction(
+            final String basePath,
+            final boolean followSymbolicLinks,
+            final int maxDepth,
+            final boolean testMode,
+            final boolean indexed,
+            final PathSorter sorter,
+            final PathCondition[] pathConditions,
+            final ScriptCondition scriptCondition,
+            final StrSubstitutor subst) {
         super(basePath, followSymbolicLinks, maxDepth, pathConditions, subst);
         this.testMode = testMode;
+        this.indexed = indexed;
         this.pathSorter = Objects.requireNonNull(sorter, "sorter");
         this.scriptCondition = scriptCondition;
         if (scriptCondition == null && (pathConditions == null || pathConditions.length == 0)) {
@@ -124,6 +141,14 @@ public class DeleteAction extends AbstractPathAction {
     protected void delete(final Path path) throws IOException {
         LOGGER.trace("Deleting {}", path);
         Files.deleteIfExists(path);
+        removeFromIndex(path);
+    }
+
+    private void removeFromIndex(final Path path) {
+        final ArchiveIndex index = archiveIndex;
+        if (index != null && path != null) {
+            index.remove(path);
+        }
     }
 
     /*
@@ -162,6 +187,12 @@ public class DeleteAction extends AbstractPathAction {
      * @throws IOException
      */
     List<PathWithAttributes> getSortedPaths() throws IOException {
+        final ArchiveIndex index = archiveIndex;
+        if (index != null) {
+            final List<PathWithAttributes> paths = index.list(getBasePath(), getMaxDepth(), getOptions());
+            Collections.sort(paths, pathSorter);
+            return paths;
+        }
         final SortingVisitor sort = new SortingVisitor(pathSorter);
         super.execute(sort);
         final List<PathWithAttributes> sortedPaths = sort.getSortedPaths();
@@ -177,9 +208,80 @@ public class DeleteAction extends AbstractPathAction {
         return testMode;
     }
 
+    /**
+     * Returns {@code true} if the files to delete are looked up in the {@link ArchiveIndex} of the rolling file
+     * manager, instead of walking the base path on each execution.
+     *
+     * @return {@code true} if the files to delete are looked up in the archive index
+     * @since 2.25.0
+     */
+    public boolean isIndexed() {
+        return indexed;
+    }
+
+    /**
+     * Sets the index used to list the files under the base path.
+     *
+     * @param archiveIndex the archive index of the rolling file manager
+     */
+    void setArchiveIndex(final ArchiveIndex archiveIndex) {
+        this.archiveIndex = archiveIndex;
+    }
+
     @Override
     protected FileVisitor<Path> createFileVisitor(final Path visitorBaseDir, final List<PathCondition> conditions) {
-        return new DeletingVisitor(visitorBaseDir, conditions, testMode);
+        if (archiveIndex == null) {
+            return new DeletingVisitor(visitorBaseDir, conditions, testMode);
+        }
+        return new DeletingVisitor(visitorBaseDir, conditions, testMode) {
+            @Override
+            protected void delete(final Path file) throws IOException {
+                super.delete(file);
+                removeFromIndex(file);
+            }
+        };
+    }
+
+    /**
+     * Create a DeleteAction.
+     *
+     * @param basePath base path from where to start scanning for files to delete.
+     * @param followLinks whether to follow symbolic links. Default is false.
+     * @param maxDepth The maxDepth parameter is the maximum number of levels of directories to visit. A value of 0
+     *            means that only the starting file is visited, unless denied by the security manager. A value of
+     *            MAX_VALUE may be used to indicate that all levels should be visited.
+     * @param testMode if true, files are not deleted but instead a message is printed to the
+     *                 <a href="https://logging.apache.org/log4j/2.x/manual/status-logger.html">status logger</a>
+     *                 at INFO level. Users can use this to do a dry run to test if their configuration works as expected.
+     *                 Default is false.
+     * @param sorterParameter a plugin implementing the {@link PathSorter} interface
+     * @param pathConditions an array of path conditions (if more than one, they all need to accept a path before it is
+     *            deleted).
+     * @param config The Configuration.
+     * @return A DeleteAction.
+     * @deprecated since 2.25.0, use {@link #createDeleteAction(String, boolean, int, boolean, boolean, PathSorter,
+     *             PathCondition[], ScriptCondition, Configuration)} instead.
+     */
+    @Deprecated
+    public static DeleteAction createDeleteAction(
+            final String basePath,
+            final boolean followLinks,
+            final int maxDepth,
+            final boolean testMode,
+            final PathSorter sorterParameter,
+            final PathCondition[] pathConditions,
+            final ScriptCondition scriptCondition,
+            final Configuration config) {
+        return createDeleteAction(
+                basePath,
+                followLinks,
+                maxDepth,
+                testMode,
+                false,
+                sorterParameter,
+                pathConditions,
+                scriptCondition,
+                config);
     }
 
     /**
@@ -194,11 +296,14 @@ public class DeleteAction extends AbstractPathAction {
      *                 <a href="https://logging.apache.org/log4j/2.x/manual/status-logger.html">status logger</a>
      *                 at INFO level. Users can use this to do a dry run to test if their configuration works as expected.
      *                 Default is false.
+     * @param indexed if true and the action runs after a rollover, the base path is scanned only once and later
+     *                executions use the {@link ArchiveIndex} of the rolling file manager. Default is false.
      * @param sorterParameter a plugin implementing the {@link PathSorter} interface
      * @param pathConditions an array of path conditions (if more than one, they all need to accept a path before it is
      *            deleted).
      * @param config The Configuration.
      * @return A DeleteAction.
+     * @since 2.25.0
      */
     @PluginFactory
     public static DeleteAction createDeleteAction(
@@ -207,6 +312,7 @@ public class DeleteAction extends AbstractPathAction {
             @PluginAttribute(value = "followLinks") final boolean followLinks,
             @PluginAttribute(value = "maxDepth", defaultInt = 1) final int maxDepth,
             @PluginAttribute(value = "testMode") final boolean testMode,
+            @PluginAttribute(value = "indexed") final boolean indexed,
             @PluginElement("PathSorter") final PathSorter sorterParameter,
             @PluginElement("PathConditions") final PathCondition[] pathConditions,
             @PluginElement("ScriptCondition") final ScriptCondition scriptCondition,
@@ -218,6 +324,7 @@ public class DeleteAction extends AbstractPathAction {
                 followLinks,
                 maxDepth,
                 testMode,
+                indexed,
                 sorter,
                 pathConditions,
                 scriptCondition,
@@ -19,7 +19,9 @@ package org.apache.logging.log4j.core.appender.routing;
 import static org.apache.logging.log4j.util.Strings.toRootUpperCase;
 
 import java.util.Map.Entry;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
@@ -36,14 +38,25 @@ import org.apache.logging.log4j.core.config.plugins.PluginFactory;
 
 /**
  * Policy is purging appenders that were not in use specified time in minutes
+ * <p>
+ * Expirations are tracked with a hashed timer wheel: a key is placed in the slot of its expiration time when it is
+ * first used, and each tick only examines the keys of the slot that became due. Keys used again in the meantime are
+ * moved to the slot of their new expiration time, so routing an event only records its usage time.
+ * </p>
  */
 @Plugin(name = "IdlePurgePolicy", category = Core.CATEGORY_NAME, printObject = true)
 @Scheduled
 public class IdlePurgePolicy extends AbstractLifeCycle implements PurgePolicy, Runnable {
 
+    private static final int WHEEL_SIZE = 32;
+
     private final long timeToLive;
     private final long checkInterval;
-    private final ConcurrentMap<String, Long> appendersUsage = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Usage> appendersUsage = new ConcurrentHashMap<>();
+    private final long tickMillis;
+    private final Queue<Usage>[] wheel;
+    // Last tick whose slot was processed; only written by the scheduler thread.
+    private volatile long processedTick;
     private RoutingAppender routingAppender;
     private final ConfigurationScheduler scheduler;
     private volatile ScheduledFuture<?> future;
@@ -52,6 +65,15 @@ public class IdlePurgePolicy extends AbstractLifeCycle implements PurgePolicy, R
         this.timeToLive = timeToLive;
         this.checkInterval = checkInterval;
         this.scheduler = scheduler;
+        // The wheel spans more than timeToLive, so an expiration never wraps around.
+        this.tickMillis = Math.max(1, (timeToLive + WHEEL_SIZE - 2) / (WHEEL_SIZE - 1));
+        @SuppressWarnings("unchecked")
+        final Queue<Usage>[] slots = new Queue[WHEEL_SIZE];
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.wheel = slots;
+        this.processedTick = System.currentTimeMillis() / tickMillis;
     }
 
     @Override
@@ -73,10 +95,10 @@ public class IdlePurgePolicy extends AbstractLifeCycle implements PurgePolicy, R
     @Override
     public void purge() {
         final long createTime = System.currentTimeMillis() - timeToLive;
-        for (final Entry<String, Long> entry : appendersUsage.entrySet()) {
-            final long entryValue = entry.getValue();
-            if (entryValue < createTime) {
-                if (appendersUsage.remove(entry.getKey(), entryValue)) {
+        for (final Entry<String, Usage> entry : appendersUsage.entrySet()) {
+            final Usage usage = entry.getValue();
+            if (usage.lastUsed < createTime) {
+                if (appendersUsage.remove(entry.getKey(), usage)) {
                     LOGGER.debug("Removing appender {}", entry.getKey());
                     routingAppender.deleteAppender(entry.getKey());
                 }
@@ -87,7 +109,18 @@ public class IdlePurgePolicy extends AbstractLifeCycle implements PurgePolicy, R
     @Override
     public void update(final String key, final LogEvent event) {
         final long now = System.currentTimeMillis();
-        appendersUsage.put(key, now);
+        final Usage usage = appendersUsage.get(key);
+        if (usage != null) {
+            usage.lastUsed = now;
+        } else {
+            final Usage newUsage = new Usage(key, now);
+            final Usage previous = appendersUsage.putIfAbsent(key, newUsage);
+            if (previous == null) {
+                schedule(newUsage, now + timeToLive);
+            } else {
+                previous.lastUsed = now;
+            }
+        }
         if (future == null) {
             synchronized (this) {
                 if (future == null) {
@@ -99,21 +132,57 @@ public class IdlePurgePolicy extends AbstractLifeCycle implements PurgePolicy, R
 
     @Override
     public void run() {
-        purge();
+        advance(System.currentTimeMillis());
         scheduleNext();
     }
 
-    private void scheduleNext() {
-        long updateTime = Long.MAX_VALUE;
-        for (final Entry<String, Long> entry : appendersUsage.entrySet()) {
-            if (entry.getValue() < updateTime) {
-                updateTime = entry.getValue();
+    /**
+     * Places a key in the wheel slot of its expiration time.
+     */
+    private void schedule(final Usage usage, final long expirationMillis) {
+        // A slot that was already processed would only be examined again after a full turn of the wheel.
+        final long tick = Math.max(expirationMillis / tickMillis, processedTick + 1);
+        wheel[(int) (tick % WHEEL_SIZE)].add(usage);
+    }
+
+    /**
+     * Processes the slots that became due since the last tick.
+     */
+    private void advance(final long now) {
+        final long currentTick = now / tickMillis;
+        final long firstTick = Math.max(processedTick + 1, currentTick - WHEEL_SIZE + 1);
+        for (long tick = firstTick; tick <= currentTick; tick++) {
+            // Keys rescheduled while this slot is drained go to later slots.
+            processedTick = tick;
+            final Queue<Usage> slot = wheel[(int) (tick % WHEEL_SIZE)];
+            for (int i = slot.size(); i > 0; i--) {
+                final Usage usage = slot.poll();
+                if (usage == null) {
+                    break;
+                }
+                expire(usage, now);
             }
         }
+    }
 
-        if (updateTime < Long.MAX_VALUE) {
-            final long interval = timeToLive - (System.currentTimeMillis() - updateTime);
-            future = scheduler.schedule(this, interval, TimeUnit.MILLISECONDS);
+    private void expire(final Usage usage, final long now) {
+        if (appendersUsage.get(usage.key) != usage) {
+            // Already purged
+            return;
+        }
+        final long expiration = usage.lastUsed + timeToLive;
+        if (expiration > now) {
+            schedule(usage, expiration);
+        } else if (appendersUsage.remove(usage.key, usage)) {
+            LOGGER.debug("Removing appender {}", usage.key);
+            routingAppender.deleteAppender(usage.key);
+        }
+    }
+
+    private void scheduleNext() {
+        if (!appendersUsage.isEmpty()) {
+            final long interval = (processedTick + 1) * tickMillis - System.currentTimeMillis();
+            future = scheduler.schedule(this, Math.max(0, interval), TimeUnit.MILLISECONDS);
         } else {
             // reset to initial state - in case of all appenders already purged
             future = scheduler.schedule(this, checkInterval, TimeUnit.MILLISECONDS);
@@ -175,4 +244,19 @@ public class IdlePurgePolicy extends AbstractLifeCycle implements PurgePolicy, R
     public String toString() {
         return "timeToLive=" + timeToLive;
     }
+
+    /**
+     * Last usage time of a route, updated in place so that routing an event does not modify the map.
+     */
+    private static final class Usage {
+
+        private final String key;
+
+        private volatile long lastUsed;
+
+        Usage(final String key, final long lastUsed) {
+            this.key = key;
+            this.lastUsed = lastUsed;
+        }
+    }
 }
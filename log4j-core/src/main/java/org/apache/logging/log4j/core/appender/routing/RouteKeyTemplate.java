@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.appender.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.lookup.ConfigurationStrSubstitutor;
+import org.apache.logging.log4j.core.lookup.LookupResult;
+import org.apache.logging.log4j.core.lookup.RuntimeStrSubstitutor;
+import org.apache.logging.log4j.core.lookup.StrLookup;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * A {@link Routes} pattern split once into literal text and variable references, so that resolving the route key
+ * of an event does not parse the pattern again.
+ * <p>
+ * Only patterns made of plain {@code ${name}} and {@code ${name:-default}} references are compiled. Anything
+ * {@link StrSubstitutor} handles specially (escaped or nested references, escaped delimiters, custom matchers or
+ * values that must be interpolated again) is delegated to {@link StrSubstitutor#replace(LogEvent, String)}, which
+ * gives the same result.
+ * </p>
+ */
+final class RouteKeyTemplate {
+
+    private static final String PREFIX = "${";
+
+    private static final String SUFFIX = "}";
+
+    /** Marker returned by a lookup whose value must be interpolated again. */
+    private static final String RESOLVE_WITH_SUBSTITUTOR = new String("${}");
+
+    private final StrSubstitutor substitutor;
+
+    private final String pattern;
+
+    /** Literal texts, one more than the variables: {@code literal[0] var[0] literal[1] ... literal[n]}. */
+    private final String[] literals;
+
+    private final String[] variableNames;
+
+    private final String[] defaultValues;
+
+    private RouteKeyTemplate(
+            final StrSubstitutor substitutor,
+            final String pattern,
+            final String[] literals,
+            final String[] variableNames,
+            final String[] defaultValues) {
+        this.substitutor = substitutor;
+        this.pattern = pattern;
+        this.literals = literals;
+        this.variableNames = variableNames;
+        this.defaultValues = defaultValues;
+    }
+
+    /**
+     * Compiles the given pattern.
+     *
+     * @param substitutor the substitutor of the configuration
+     * @param pattern the route pattern
+     * @return a compiled template or {@code null} if the pattern must be resolved by the substitutor
+     */
+    static RouteKeyTemplate compile(final StrSubstitutor substitutor, final String pattern) {
+        if (substitutor == null || pattern == null || !hasDefaultSyntax(substitutor)) {
+            return null;
+        }
+        final List<String> literals = new ArrayList<>();
+        final List<String> names = new ArrayList<>();
+        final List<String> defaults = new ArrayList<>();
+        int pos = 0;
+        int start;
+        while ((start = pattern.indexOf(PREFIX, pos)) >= 0) {
+            if (start > 0 && pattern.charAt(start - 1) == StrSubstitutor.DEFAULT_ESCAPE) {
+                return null;
+            }
+            final int end = pattern.indexOf(SUFFIX, start + PREFIX.length());
+            if (end < 0) {
+                break;
+            }
+            final String expression = pattern.substring(start + PREFIX.length(), end);
+            if (expression.contains(PREFIX) || expression.contains(StrSubstitutor.ESCAPE_DELIMITER_STRING)) {
+                return null;
+            }
+            final int delimiter = expression.indexOf(StrSubstitutor.DEFAULT_VALUE_DELIMITER_STRING);
+            literals.add(pattern.substring(pos, start));
+            if (delimiter >= 0) {
+                names.add(expression.substring(0, delimiter));
+                defaults.add(expression.substring(delimiter + StrSubstitutor.DEFAULT_VALUE_DELIMITER_STRING.length()));
+            } else {
+                names.add(expression);
+                defaults.add(null);
+            }
+            pos = end + SUFFIX.length();
+        }
+        if (pattern.indexOf(StrSubstitutor.DEFAULT_ESCAPE + PREFIX, pos) >= 0) {
+            return null;
+        }
+        literals.add(pattern.substring(pos));
+        return new RouteKeyTemplate(
+                substitutor,
+                pattern,
+                literals.toArray(new String[0]),
+                names.toArray(new String[0]),
+                defaults.toArray(new String[0]));
+    }
+
+    private static boolean hasDefaultSyntax(final StrSubstitutor substitutor) {
+        final Class<?> type = substitutor.getClass();
+        return (type == StrSubstitutor.class
+                        || type == RuntimeStrSubstitutor.class
+                        || type == ConfigurationStrSubstitutor.class)
+                && substitutor.getVariablePrefixMatcher() == StrSubstitutor.DEFAULT_PREFIX
+                && substitutor.getVariableSuffixMatcher() == StrSubstitutor.DEFAULT_SUFFIX
+                && substitutor.getValueDelimiterMatcher() == StrSubstitutor.DEFAULT_VALUE_DELIMITER
+                && substitutor.getEscapeChar() == StrSubstitutor.DEFAULT_ESCAPE;
+    }
+
+    /**
+     * Resolves the route key of an event.
+     *
+     * @param event the event being routed
+     * @return the route key
+     */
+    String resolve(final LogEvent event) {
+        final int count = variableNames.length;
+        if (count == 0) {
+            return pattern;
+        }
+        final StrLookup resolver = substitutor.getVariableResolver();
+        if (count == 1 && literals[0].isEmpty() && literals[1].isEmpty()) {
+            final String value = lookup(resolver, event, 0);
+            if (value == RESOLVE_WITH_SUBSTITUTOR) {
+                return substitutor.replace(event, pattern);
+            }
+            return value != null ? value : pattern;
+        }
+        final StringBuilder sb = new StringBuilder(pattern.length() + 16 * count);
+        for (int i = 0; i < count; i++) {
+            sb.append(literals[i]);
+            final String value = lookup(resolver, event, i);
+            if (value == RESOLVE_WITH_SUBSTITUTOR) {
+                return substitutor.replace(event, pattern);
+            }
+            if (value != null) {
+                sb.append(value);
+            } else {
+                // Unresolved references are kept verbatim, as StrSubstitutor does
+                sb.append(PREFIX).append(variableNames[i]);
+                if (defaultValues[i] != null) {
+                    sb.append(StrSubstitutor.DEFAULT_VALUE_DELIMITER_STRING).append(defaultValues[i]);
+                }
+                sb.append(SUFFIX);
+            }
+        }
+        return sb.append(literals[count]).toString();
+    }
+
+    private String lookup(final StrLookup resolver, final LogEvent event, final int index) {
+        final String name = variableNames[index];
+        LookupResult result = null;
+        if (resolver != null) {
+            try {
+                result = resolver.evaluate(event, name);
+            } catch (final Throwable t) {
+                StatusLogger.getLogger().error("Resolver failed to lookup {}", name, t);
+            }
+        }
+        final String value = result != null ? result.value() : null;
+        if (value == null) {
+            return defaultValues[index];
+        }
+        if (result.isLookupEvaluationAllowedInValue() && value.contains(PREFIX)) {
+            return RESOLVE_WITH_SUBSTITUTOR;
+        }
+        return value;
+    }
+}
@@ -149,6 +149,11 @@ public final class RoutingAppender extends AbstractAppender {
 
     private static final String DEFAULT_KEY = "ROUTING_APPENDER_DEFAULT";
 
+    /**
+     * The number of locks guarding the creation of route appenders, a power of two.
+     */
+    private static final int CREATION_LOCK_COUNT = 64;
+
     private final Routes routes;
     private Route defaultRoute;
     private final Configuration configuration;
@@ -156,10 +161,18 @@ public final class RoutingAppender extends AbstractAppender {
     private final Map<String, AppenderControl> createdAppendersUnmodifiableView =
             Collections.unmodifiableMap((Map<String, AppenderControl>) (Map<String, ?>) createdAppenders);
     private final ConcurrentMap<String, RouteAppenderControl> referencedAppenders = new ConcurrentHashMap<>();
+    /**
+     * Locks guarding the creation of route appenders, by hash of the route key.
+     * <p>
+     * The lock of a key is never replaced, so two threads cannot create an appender for the same route.
+     * </p>
+     */
+    private final Object[] creationLocks = createCreationLocks();
     private final RewritePolicy rewritePolicy;
     private final PurgePolicy purgePolicy;
     private final AbstractScript defaultRouteScript;
     private final ConcurrentMap<Object, Object> scriptStaticVariables = new ConcurrentHashMap<>();
+    private RouteKeyTemplate keyTemplate;
 
     private RoutingAppender(
             final String name,
@@ -209,6 +222,10 @@ public final class RoutingAppender extends AbstractAppender {
                 }
             }
         }
+        if (routes.getPatternScript() == null && configuration != null) {
+            keyTemplate = RouteKeyTemplate.compile(
+                    configuration.getStrSubstitutor(), routes.getPattern(null, scriptStaticVariables));
+        }
         // Register all the static routes.
         for (final Route route : routes.getRoutes()) {
             if (route.getAppenderRef() != null) {
@@ -246,10 +263,7 @@ public final class RoutingAppender extends AbstractAppender {
         if (rewritePolicy != null) {
             event = rewritePolicy.rewrite(event);
         }
-        final String pattern = routes.getPattern(event, scriptStaticVariables);
-        final String key = pattern != null
-                ? configuration.getStrSubstitutor().replace(event, pattern)
-                : defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+        final String key = resolveKey(event);
         final RouteAppenderControl control = getControl(key, event);
         if (control != null) {
             try {
@@ -270,12 +284,54 @@ public final class RoutingAppender extends AbstractAppender {
         }
     }
 
-    private synchronized RouteAppenderControl getControl(final String key, final LogEvent event) {
+    private String resolveKey(final LogEvent event) {
+        final RouteKeyTemplate template = keyTemplate;
+        if (template != null) {
+            return template.resolve(event);
+        }
+        final String pattern = routes.getPattern(event, scriptStaticVariables);
+        return pattern != null
+                ? configuration.getStrSubstitutor().replace(event, pattern)
+                : defaultRoute.getKey() != null ? defaultRoute.getKey() : DEFAULT_KEY;
+    }
+
+    private RouteAppenderControl getControl(final String key, final LogEvent event) {
+        // Fast path: the route already exists, no lock is taken.
         RouteAppenderControl control = getAppender(key);
-        if (control != null) {
-            control.checkout();
-            return control;
+        while (control != null) {
+            if (control.checkout()) {
+                return control;
+            }
+            // The appender was deleted and stopped concurrently, a new one must be created.
+            createdAppenders.remove(key, control);
+            control = getAppender(key);
+        }
+        // Slow path: create the appender of this route once, most other routes are not blocked.
+        synchronized (getCreationLock(key)) {
+            control = getAppender(key);
+            if (control != null && control.checkout()) {
+                return control;
+            }
+            return createControl(key, event);
+        }
+    }
+
+    private static Object[] createCreationLocks() {
+        final Object[] locks = new Object[CREATION_LOCK_COUNT];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
         }
+        return locks;
+    }
+
+    private Object getCreationLock(final String key) {
+        final int hash = key.hashCode();
+        // Spread the high bits, as `HashMap` does
+        return creationLocks[(hash ^ (hash >>> 16)) & (CREATION_LOCK_COUNT - 1)];
+    }
+
+    private RouteAppenderControl createControl(final String key, final LogEvent event) {
+        RouteAppenderControl control = null;
         Route route = null;
         for (final Route r : routes.getRoutes()) {
             if (r.getAppenderRef() == null && key.equals(r.getKey())) {
@@ -286,8 +342,7 @@ public final class RoutingAppender extends AbstractAppender {
         if (route == null) {
             route = defaultRoute;
             control = getAppender(DEFAULT_KEY);
-            if (control != null) {
-                control.checkout();
+            if (control != null && control.checkout()) {
                 return control;
             }
         }
@@ -297,14 +352,11 @@ public final class RoutingAppender extends AbstractAppender {
                 return null;
             }
             final CreatedRouteAppenderControl created = new CreatedRouteAppenderControl(app);
-            control = created;
+            created.checkout();
             createdAppenders.put(key, created);
+            return created;
         }
-
-        if (control != null) {
-            control.checkout();
-        }
-        return control;
+        return null;
     }
 
     private RouteAppenderControl getAppender(final String key) {
@@ -353,11 +405,9 @@ public final class RoutingAppender extends AbstractAppender {
         final CreatedRouteAppenderControl control = createdAppenders.remove(key);
         if (null != control) {
             LOGGER.debug("Stopping route with {} key", key);
-            // Synchronize with getControl to avoid triggering stopAppender before RouteAppenderControl.checkout
-            // can be invoked.
-            synchronized (this) {
-                control.pendingDeletion = true;
-            }
+            // A concurrent getControl either checks the appender out before it is stopped, or fails to check it
+            // out and creates a new one.
+            control.pendingDeletion = true;
             // Don't attempt to stop the appender in a synchronized block, since it may block flushing events
             // to disk.
             control.tryStopAppender();
@@ -453,7 +503,12 @@ public final class RoutingAppender extends AbstractAppender {
             super(appender, null, null);
         }
 
-        abstract void checkout();
+        /**
+         * Marks the appender as in use.
+         *
+         * @return {@code false} if the appender was already stopped and must not be used
+         */
+        abstract boolean checkout();
 
         abstract void release();
     }
@@ -468,12 +523,16 @@ public final class RoutingAppender extends AbstractAppender {
         }
 
         @Override
-        void checkout() {
-            if (pendingDeletion) {
-                LOGGER.warn("CreatedRouteAppenderControl.checkout invoked on a "
-                        + "RouteAppenderControl that is pending deletion");
-            }
-            depth.incrementAndGet();
+        boolean checkout() {
+            int current;
+            do {
+                current = depth.get();
+                if (current < 0) {
+                    // Already stopped by tryStopAppender
+                    return false;
+                }
+            } while (!depth.compareAndSet(current, current + 1));
+            return true;
         }
 
         @Override
@@ -502,8 +561,8 @@ public final class RoutingAppender extends AbstractAppender {
         }
 
         @Override
-        void checkout() {
-            // nop
+        boolean checkout() {
+            return true;
         }
 
         @Override
@@ -26,7 +26,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -45,6 +48,9 @@ import org.apache.logging.log4j.core.LoggerContext;
 import org.apache.logging.log4j.core.Version;
 import org.apache.logging.log4j.core.appender.AsyncAppender;
 import org.apache.logging.log4j.core.appender.ConsoleAppender;
+import org.apache.logging.log4j.core.appender.FailoverAppender;
+import org.apache.logging.log4j.core.appender.rewrite.RewriteAppender;
+import org.apache.logging.log4j.core.appender.routing.RoutingAppender;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfig;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfigDelegate;
 import org.apache.logging.log4j.core.async.AsyncLoggerConfigDisruptor;
@@ -69,7 +75,6 @@ import org.apache.logging.log4j.core.script.ScriptRef;
 import org.apache.logging.log4j.core.util.Constants;
 import org.apache.logging.log4j.core.util.DummyNanoClock;
 import org.apache.logging.log4j.core.util.Loader;
-import org.apache.logging.log4j.core.util.NameUtil;
 import org.apache.logging.log4j.core.util.NanoClock;
 import org.apache.logging.log4j.core.util.Source;
 import org.apache.logging.log4j.core.util.WatchManager;
@@ -86,6 +91,12 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
 
     private static final int BUF_SIZE = 16384;
 
+    /**
+     * The attribute of the root element, which enables carrying over the unchanged appenders of the replaced
+     * configuration.
+     */
+    private static final String CARRY_OVER_APPENDERS_ATTRIBUTE = "carryOverAppenders";
+
     /**
      * The root node of the configuration.
      */
@@ -131,6 +142,29 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     private String name;
     private ConcurrentMap<String, Appender> appenders = new ConcurrentHashMap<>();
     private ConcurrentMap<String, LoggerConfig> loggerConfigs = new ConcurrentHashMap<>();
+    /**
+     * Index of {@link #loggerConfigs}, lazily built and discarded on every change.
+     */
+    private volatile LoggerConfigIndex loggerConfigIndex;
+
+    private final Object loggerConfigIndexLock = new Object();
+    /**
+     * Signatures of the appender nodes, indexed by appender name, to find the appenders a reconfiguration can carry
+     * over.
+     */
+    private final Map<String, NodeSignature> appenderSignatures = new HashMap<>();
+    /**
+     * The configuration replaced by this one, until this one is started.
+     */
+    private AbstractConfiguration replacedConfiguration;
+    /**
+     * Appenders carried over from the replaced configuration, which are already started.
+     */
+    private final Set<Appender> carriedOverAppenders = Collections.newSetFromMap(new IdentityHashMap<>());
+    /**
+     * Appenders carried over by the configuration which replaced this one, which must not be stopped.
+     */
+    private final Set<Appender> handedOverAppenders = Collections.newSetFromMap(new ConcurrentHashMap<>());
     private List<CustomLevelConfig> customLevels = Collections.emptyList();
     private final ConcurrentMap<String, String> propertyMap = new ConcurrentHashMap<>();
     private final Interpolator tempLookup = new Interpolator(propertyMap);
@@ -166,6 +200,33 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         return configurationSource;
     }
 
+    /**
+     * Sets the configuration that this configuration is about to replace.
+     * <p>
+     *   If the root element of this configuration has a {@code carryOverAppenders="true"} attribute, while this
+     *   configuration is initialized, the appenders of the replaced configuration, whose configuration elements are
+     *   unchanged, are carried over instead of being created again, with their layouts, filters and managers.
+     *   Once this configuration is started, the replaced configuration no longer stops them.
+     * </p>
+     * <p>
+     *   Appenders that hold a reference to their configuration, like {@link AsyncAppender}, {@link FailoverAppender},
+     *   {@link RoutingAppender}, {@link RewriteAppender} and {@link LazyAppender}, are always created again.
+     * </p>
+     * <p>
+     *   Has no effect if this configuration has already been initialized.
+     * </p>
+     *
+     * @param replacedConfiguration the configuration replaced by this one
+     * @since 2.25.0
+     */
+    public void setReplacedConfiguration(final Configuration replacedConfiguration) {
+        if (getState() == State.INITIALIZING && replacedConfiguration != this) {
+            this.replacedConfiguration = replacedConfiguration instanceof AbstractConfiguration
+                    ? (AbstractConfiguration) replacedConfiguration
+                    : null;
+        }
+    }
+
     @Override
     public List<String> getPluginPackages() {
         return pluginPackages;
@@ -338,11 +399,18 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             alreadyStarted.add(logger);
         }
         for (final Appender appender : appenders.values()) {
-            appender.start();
+            if (!carriedOverAppenders.contains(appender)) {
+                appender.start();
+            }
         }
         if (!alreadyStarted.contains(root)) { // LOG4J2-392
             root.start(); // LOG4J2-336
         }
+        if (replacedConfiguration != null) {
+            replacedConfiguration.handedOverAppenders.addAll(carriedOverAppenders);
+            replacedConfiguration = null;
+        }
+        carriedOverAppenders.clear();
         super.start();
         LOGGER.info("Configuration {} started.", this);
     }
@@ -413,7 +481,10 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         root.getReliabilityStrategy().beforeStopAppenders();
 
         // Stop the appenders in reverse order in case they still have activity.
-        final Appender[] array = appenders.values().toArray(Appender.EMPTY_ARRAY);
+        // Appenders carried over by the next configuration are still in use
+        final Appender[] array = appenders.values().stream()
+                .filter(appender -> !handedOverAppenders.contains(appender))
+                .toArray(Appender[]::new);
         final List<Appender> async = getAsyncAppenders(array);
         if (!async.isEmpty()) {
             // LOG4J2-511, LOG4J2-392 stop AsyncAppenders first
@@ -694,7 +765,11 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
                 // We already used this node
                 continue;
             }
-            createConfiguration(child, null);
+            if ("Appenders".equalsIgnoreCase(child.getName())) {
+                createAppenders(child);
+            } else {
+                createConfiguration(child, null);
+            }
             if (child.getObject() == null) {
                 continue;
             }
@@ -715,6 +790,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             } else if (child.isInstanceOf(Loggers.class)) {
                 final Loggers l = child.getObject();
                 loggerConfigs = l.getMap();
+                invalidateLoggerConfigIndex();
                 setLoggers = true;
                 if (l.getRoot() != null) {
                     root = l.getRoot();
@@ -767,6 +843,153 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
         setParents();
     }
 
+    /**
+     * Creates the appenders of the {@code Appenders} node.
+     * <p>
+     *   If enabled, appenders of the {@linkplain #setReplacedConfiguration replaced configuration}, whose
+     *   configuration element did not change, are carried over instead.
+     * </p>
+     * <p>
+     *   If the node has a {@code lazy="true"} attribute, each other appender is replaced by a {@link LazyAppender},
+     *   which creates the appender on its first event.
+     *   {@link AsyncAppender}s are always created eagerly, since they must be stopped before the other appenders.
+     * </p>
+     */
+    private void createAppenders(final Node appendersNode) {
+        final String lazyAttribute = removeAttribute(appendersNode, "lazy");
+        if (appendersNode.getType() == null) {
+            createConfiguration(appendersNode, null);
+            return;
+        }
+        final boolean lazy =
+                lazyAttribute != null && Boolean.parseBoolean(configurationStrSubstitutor.replace(lazyAttribute));
+        final Map<Node, Appender> carriedOverAppenders = carryOverAppenders(appendersNode);
+        for (final Node child : appendersNode.getChildren()) {
+            final Appender carriedOverAppender = carriedOverAppenders.get(child);
+            if (carriedOverAppender != null) {
+                child.setObject(carriedOverAppender);
+                continue;
+            }
+            final PluginType<?> type = child.getType();
+            final LazyAppender lazyAppender = lazy
+                            && type != null
+                            && Appender.class.isAssignableFrom(type.getPluginClass())
+                            && !AsyncAppender.class.isAssignableFrom(type.getPluginClass())
+                    ? LazyAppender.of(this, child)
+                    : null;
+            if (lazyAppender != null) {
+                child.setObject(lazyAppender);
+            } else {
+                createConfiguration(child, null);
+            }
+        }
+        appendersNode.setObject(createPluginObject(appendersNode.getType(), appendersNode, null));
+    }
+
+    /**
+     * Records the signatures of the appender nodes and finds the appenders of the replaced configuration that can be
+     * carried over.
+     *
+     * @return the carried over appenders indexed by the node they replace
+     */
+    private Map<Node, Appender> carryOverAppenders(final Node appendersNode) {
+        final Map<String, Node> nodeByName = new HashMap<>();
+        for (final Node child : appendersNode.getChildren()) {
+            final PluginType<?> type = child.getType();
+            if (type != null && Appender.class.isAssignableFrom(type.getPluginClass())) {
+                final String appenderName = getAttribute(child, "name");
+                if (appenderName != null) {
+                    nodeByName.put(appenderName, child);
+                    appenderSignatures.put(appenderName, NodeSignature.of(child, configurationStrSubstitutor));
+                }
+            }
+        }
+        final AbstractConfiguration replaced = replacedConfiguration;
+        if (replaced == null
+                || !replaced.isStarted()
+                || !Boolean.parseBoolean(getAttribute(rootNode, CARRY_OVER_APPENDERS_ATTRIBUTE))) {
+            return Collections.emptyMap();
+        }
+        final Map<String, Appender> candidates = new HashMap<>();
+        for (final Map.Entry<String, NodeSignature> entry : appenderSignatures.entrySet()) {
+            final String appenderName = entry.getKey();
+            final Appender appender = replaced.getAppenders().get(appenderName);
+            if (appender != null
+                    && appender.isStarted()
+                    && !holdsConfiguration(appender)
+                    && entry.getValue().equals(replaced.appenderSignatures.get(appenderName))) {
+                candidates.put(appenderName, appender);
+            }
+        }
+        // Appenders reference other appenders by name: carry over an appender only if all the appenders it may
+        // reference are carried over too
+        final Set<String> rebuiltAppenderNames = new HashSet<>();
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            rebuiltAppenderNames.clear();
+            rebuiltAppenderNames.addAll(appenderSignatures.keySet());
+            rebuiltAppenderNames.addAll(replaced.getAppenders().keySet());
+            rebuiltAppenderNames.removeAll(candidates.keySet());
+            final Iterator<String> iterator = candidates.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (appenderSignatures.get(iterator.next()).containsAnyOf(rebuiltAppenderNames)) {
+                    iterator.remove();
+                    changed = true;
+                }
+            }
+        }
+        final Map<Node, Appender> carriedOverAppenders = new HashMap<>();
+        for (final Map.Entry<String, Appender> entry : candidates.entrySet()) {
+            final Appender appender = entry.getValue();
+            carriedOverAppenders.put(nodeByName.get(entry.getKey()), appender);
+            this.carriedOverAppenders.add(appender);
+            LOGGER.debug("Carrying over unchanged appender {} from configuration {}", entry.getKey(), replaced);
+        }
+        return carriedOverAppenders;
+    }
+
+    /**
+     * Checks if an appender keeps a reference to the configuration that created it, to create other appenders or to
+     * look them up, and therefore can not be carried over to another configuration.
+     */
+    private static boolean holdsConfiguration(final Appender appender) {
+        return appender instanceof AsyncAppender
+                || appender instanceof FailoverAppender
+                || appender instanceof RoutingAppender
+                || appender instanceof RewriteAppender
+                || appender instanceof LazyAppender;
+    }
+
+    /**
+     * Returns the value of an attribute of a node, resolved by the configuration substitutor.
+     *
+     * @param node a configuration node
+     * @param attributeName the case-insensitive name of the attribute
+     * @return the resolved value or {@code null} if the node has no such attribute
+     */
+    String getAttribute(final Node node, final String attributeName) {
+        for (final Map.Entry<String, String> entry : node.getAttributes().entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(attributeName)) {
+                return configurationStrSubstitutor.replace(entry.getValue());
+            }
+        }
+        return null;
+    }
+
+    private static String removeAttribute(final Node node, final String attributeName) {
+        final Iterator<Map.Entry<String, String>> iterator =
+                node.getAttributes().entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, String> entry = iterator.next();
+            if (entry.getKey().equalsIgnoreCase(attributeName)) {
+                iterator.remove();
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
     public static Level getDefaultLevel() {
         final String levelName = PropertiesUtil.getProperties()
                 .getStringProperty(DefaultConfiguration.DEFAULT_LEVEL, Level.ERROR.name());
@@ -914,8 +1137,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             nlc.addAppender(appender, null, null);
             nlc.setParent(lc);
             loggerConfigs.putIfAbsent(loggerName, nlc);
+            invalidateLoggerConfigIndex();
             setParents();
-            logger.getContext().updateLoggers();
+            logger.getContext().updateLoggers(loggerName);
         }
     }
 
@@ -939,8 +1163,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             nlc.addFilter(filter);
             nlc.setParent(lc);
             loggerConfigs.putIfAbsent(loggerName, nlc);
+            invalidateLoggerConfigIndex();
             setParents();
-            logger.getContext().updateLoggers();
+            logger.getContext().updateLoggers(loggerName);
         }
     }
 
@@ -964,8 +1189,9 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
             final LoggerConfig nlc = new LoggerConfig(loggerName, lc.getLevel(), additive);
             nlc.setParent(lc);
             loggerConfigs.putIfAbsent(loggerName, nlc);
+            invalidateLoggerConfigIndex();
             setParents();
-            logger.getContext().updateLoggers();
+            logger.getContext().updateLoggers(loggerName);
         }
     }
 
@@ -1006,18 +1232,35 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
      */
     @Override
     public LoggerConfig getLoggerConfig(final String loggerName) {
-        LoggerConfig loggerConfig = loggerConfigs.get(loggerName);
-        if (loggerConfig != null) {
-            return loggerConfig;
-        }
-        String substr = loggerName;
-        while ((substr = NameUtil.getSubName(substr)) != null) {
-            loggerConfig = loggerConfigs.get(substr);
-            if (loggerConfig != null) {
-                return loggerConfig;
+        final LoggerConfig loggerConfig = getLoggerConfigIndex().find(loggerName);
+        return loggerConfig != null ? loggerConfig : root;
+    }
+
+    private LoggerConfigIndex getLoggerConfigIndex() {
+        LoggerConfigIndex index = loggerConfigIndex;
+        if (index == null) {
+            synchronized (loggerConfigIndexLock) {
+                index = loggerConfigIndex;
+                if (index == null) {
+                    index = new LoggerConfigIndex(loggerConfigs);
+                    loggerConfigIndex = index;
+                }
             }
         }
-        return root;
+        return index;
+    }
+
+    /**
+     * Discards the index of {@link #loggerConfigs}, which must be called after each change of the latter.
+     * <p>
+     *   Taking the same lock as the index construction guarantees that an index built concurrently with a change
+     *   is discarded too.
+     * </p>
+     */
+    private void invalidateLoggerConfigIndex() {
+        synchronized (loggerConfigIndexLock) {
+            loggerConfigIndex = null;
+        }
     }
 
     @Override
@@ -1065,6 +1308,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     @Override
     public synchronized void addLogger(final String loggerName, final LoggerConfig loggerConfig) {
         loggerConfigs.putIfAbsent(loggerName, loggerConfig);
+        invalidateLoggerConfigIndex();
         setParents();
     }
 
@@ -1076,6 +1320,7 @@ public abstract class AbstractConfiguration extends AbstractFilterable implement
     @Override
     public synchronized void removeLogger(final String loggerName) {
         loggerConfigs.remove(loggerName);
+        invalidateLoggerConfigIndex();
         setParents();
     }
 
@@ -376,7 +376,7 @@ public final class Configurator {
         if (Strings.isEmpty(loggerName)) {
             setRootLevel(level, loggerContext);
         } else if (setLevel(loggerName, level, loggerContext.getConfiguration())) {
-            loggerContext.updateLoggers();
+            loggerContext.updateLoggers(loggerName);
         }
     }
 
@@ -391,14 +391,12 @@ public final class Configurator {
         final LoggerContext loggerContext =
                 LoggerContext.getContext(StackLocatorUtil.getCallerClassLoader(2), false, null);
         final Configuration config = loggerContext.getConfiguration();
-        boolean set = false;
         for (final Map.Entry<String, Level> entry : levelMap.entrySet()) {
             final String loggerName = entry.getKey();
             final Level level = entry.getValue();
-            set |= setLevel(loggerName, level, config);
-        }
-        if (set) {
-            loggerContext.updateLoggers();
+            if (setLevel(loggerName, level, config)) {
+                loggerContext.updateLoggers(loggerName);
+            }
         }
     }
 
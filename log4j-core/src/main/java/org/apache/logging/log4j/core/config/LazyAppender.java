@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.AbstractLifeCycle;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.ErrorHandler;
+import org.apache.logging.log4j.core.Layout;
+import org.apache.logging.log4j.core.LifeCycle2;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AppenderLoggingException;
+import org.apache.logging.log4j.core.appender.DefaultErrorHandler;
+import org.apache.logging.log4j.core.filter.Filterable;
+import org.apache.logging.log4j.core.impl.LocationAware;
+
+/**
+ * Placeholder of an {@link Appender}, which creates and starts the actual appender on the first event it receives.
+ * <p>
+ *   Used by the {@code Appenders} element with {@code lazy="true"}, so that files, sockets and other resources of the
+ *   appenders are only acquired, if the appenders are ever used.
+ * </p>
+ * <p>
+ *   If the appender cannot be created, the error is reported once to the status logger, and the appender drops all
+ *   events, or fails them if it does not {@linkplain #ignoreExceptions() ignore exceptions}.
+ *   The creation is not retried.
+ * </p>
+ */
+final class LazyAppender extends AbstractLifeCycle implements Appender, LocationAware {
+
+    private final String name;
+
+    private final boolean ignoreExceptions;
+
+    private final AbstractConfiguration configuration;
+
+    private final ErrorHandler defaultHandler = new DefaultErrorHandler(this);
+
+    // Guarded by `this`, cleared once the creation of the appender has been attempted
+    private Node node;
+
+    private volatile Appender appender;
+
+    private volatile ErrorHandler handler = defaultHandler;
+
+    private LazyAppender(
+            final String name,
+            final boolean ignoreExceptions,
+            final AbstractConfiguration configuration,
+            final Node node) {
+        this.name = name;
+        this.ignoreExceptions = ignoreExceptions;
+        this.configuration = configuration;
+        this.node = node;
+    }
+
+    /**
+     * Creates a placeholder for the appender of a configuration node.
+     *
+     * @param configuration the configuration of the appender
+     * @param node the configuration node of the appender
+     * @return a placeholder or {@code null}, if the node does not have a name
+     */
+    static LazyAppender of(final AbstractConfiguration configuration, final Node node) {
+        final String name = configuration.getAttribute(node, "name");
+        if (name == null) {
+            return null;
+        }
+        final String ignoreExceptions = configuration.getAttribute(node, "ignoreExceptions");
+        return new LazyAppender(
+                name, ignoreExceptions == null || Boolean.parseBoolean(ignoreExceptions), configuration, node);
+    }
+
+    /**
+     * Returns the actual appender, if it has been created.
+     *
+     * @return the actual appender or {@code null}
+     */
+    Appender getAppender() {
+        return appender;
+    }
+
+    private Appender getOrCreateAppender() {
+        final Appender current = appender;
+        return current != null ? current : createAppender();
+    }
+
+    private synchronized Appender createAppender() {
+        if (appender != null || node == null || !isStarted()) {
+            return appender;
+        }
+        final Node appenderNode = node;
+        node = null;
+        try {
+            configuration.createConfiguration(appenderNode, null);
+            final Object object = appenderNode.getObject();
+            if (!(object instanceof Appender)) {
+                LOGGER.error("Unable to create appender `{}` on its first event", name);
+                return null;
+            }
+            final Appender created = (Appender) object;
+            if (handler != defaultHandler) {
+                created.setHandler(handler);
+            }
+            created.start();
+            LOGGER.debug("Created appender `{}` on its first event", name);
+            appender = created;
+            if (!(created instanceof LocationAware && ((LocationAware) created).requiresLocation())) {
+                updateLoggers();
+            }
+            return created;
+        } catch (final RuntimeException e) {
+            LOGGER.error("Unable to create appender `{}` on its first event", name, e);
+            return null;
+        }
+    }
+
+    /**
+     * Updates the loggers of the context, which cache whether their appenders {@linkplain #requiresLocation() require
+     * the location}, if the configuration is still the active one.
+     */
+    private void updateLoggers() {
+        final LoggerContext context = configuration.getLoggerContext();
+        if (context != null && context.getConfiguration() == configuration) {
+            context.updateLoggers();
+        }
+    }
+
+    @Override
+    public void append(final LogEvent event) {
+        final Appender current = getOrCreateAppender();
+        if (current == null) {
+            if (!ignoreExceptions) {
+                throw new AppenderLoggingException("Appender `" + name + "` could not be created");
+            }
+            return;
+        }
+        // `AppenderControl` only applies the filter of the appender it is aware of
+        if (current instanceof Filterable && ((Filterable) current).isFiltered(event)) {
+            return;
+        }
+        current.append(event);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the layout of the appender, creating the appender if needed.
+     */
+    @Override
+    public Layout<? extends Serializable> getLayout() {
+        final Appender current = getOrCreateAppender();
+        return current != null ? current.getLayout() : null;
+    }
+
+    @Override
+    public boolean ignoreExceptions() {
+        return ignoreExceptions;
+    }
+
+    @Override
+    public ErrorHandler getHandler() {
+        final Appender current = appender;
+        return current != null ? current.getHandler() : handler;
+    }
+
+    @Override
+    public void setHandler(final ErrorHandler handler) {
+        if (handler == null) {
+            LOGGER.error("The handler cannot be set to null");
+            return;
+        }
+        this.handler = handler;
+        final Appender current = appender;
+        if (current != null) {
+            current.setHandler(handler);
+        }
+    }
+
+    /**
+     * Requires the location, as long as the actual appender has not been created.
+     * <p>
+     *   Once an appender that does not require the location has been created, the loggers are updated, so that they
+     *   stop computing it.
+     * </p>
+     */
+    @Override
+    public boolean requiresLocation() {
+        final Appender current = appender;
+        return current == null
+                || (current instanceof LocationAware && ((LocationAware) current).requiresLocation());
+    }
+
+    @Override
+    public boolean stop(final long timeout, final TimeUnit timeUnit) {
+        setStopping();
+        final Appender current;
+        synchronized (this) {
+            current = appender;
+            node = null;
+        }
+        boolean stopped = true;
+        if (current != null) {
+            if (current instanceof LifeCycle2) {
+                stopped = ((LifeCycle2) current).stop(timeout, timeUnit);
+            } else {
+                current.stop();
+            }
+        }
+        setStopped();
+        return stopped;
+    }
+
+    @Override
+    public String toString() {
+        final Appender current = appender;
+        return current != null ? current.toString() : name + " (not created)";
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.Map;
+
+/**
+ * Immutable trie of {@link LoggerConfig}s indexed by the dot-separated segments of their names.
+ * <p>
+ *   Resolves the {@link LoggerConfig} of the nearest ancestor of a logger name with a single walk over the name,
+ *   without allocating substrings.
+ *   Ancestors are the same as the ones visited by {@link org.apache.logging.log4j.core.util.NameUtil#getSubName}.
+ * </p>
+ */
+final class LoggerConfigIndex {
+
+    private final Node root = new Node();
+
+    LoggerConfigIndex(final Map<String, LoggerConfig> loggerConfigs) {
+        for (final Map.Entry<String, LoggerConfig> entry : loggerConfigs.entrySet()) {
+            add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void add(final String name, final LoggerConfig loggerConfig) {
+        Node node = root;
+        if (!name.isEmpty()) {
+            int start = 0;
+            int end;
+            do {
+                end = segmentEnd(name, start);
+                node = node.getOrCreateChild(name.substring(start, end));
+                start = end + 1;
+            } while (end < name.length());
+        }
+        node.loggerConfig = loggerConfig;
+    }
+
+    /**
+     * Returns the {@link LoggerConfig} of the given logger name or of its nearest ancestor.
+     *
+     * @param loggerName a logger name
+     * @return the matching {@link LoggerConfig} or {@code null} if neither the name nor any of its ancestors match
+     */
+    LoggerConfig find(final String loggerName) {
+        Node node = root;
+        LoggerConfig match = node.loggerConfig;
+        if (loggerName.isEmpty()) {
+            return match;
+        }
+        int start = 0;
+        int end;
+        do {
+            end = segmentEnd(loggerName, start);
+            node = node.getChild(loggerName, start, end);
+            if (node == null) {
+                break;
+            }
+            if (node.loggerConfig != null) {
+                match = node.loggerConfig;
+            }
+            start = end + 1;
+        } while (end < loggerName.length());
+        return match;
+    }
+
+    private static int segmentEnd(final String name, final int start) {
+        final int end = name.indexOf('.', start);
+        return end < 0 ? name.length() : end;
+    }
+
+    private static int hash(final String name, final int start, final int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + name.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * A trie node, whose children are stored in an open addressing hash table with linear probing, so that they can
+     * be looked up by a region of a logger name.
+     */
+    private static final class Node {
+
+        private static final String[] NO_SEGMENTS = new String[0];
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private LoggerConfig loggerConfig;
+
+        private String[] segments = NO_SEGMENTS;
+
+        private Node[] children = NO_CHILDREN;
+
+        private int childCount;
+
+        private Node getChild(final String name, final int start, final int end) {
+            if (childCount == 0) {
+                return null;
+            }
+            final int length = end - start;
+            final int mask = segments.length - 1;
+            for (int i = hash(name, start, end) & mask; ; i = (i + 1) & mask) {
+                final String segment = segments[i];
+                if (segment == null) {
+                    return null;
+                }
+                if (segment.length() == length && name.regionMatches(start, segment, 0, length)) {
+                    return children[i];
+                }
+            }
+        }
+
+        private Node getOrCreateChild(final String segment) {
+            final Node existing = getChild(segment, 0, segment.length());
+            if (existing != null) {
+                return existing;
+            }
+            // Keep the load factor at or below 1/2
+            if (2 * (childCount + 1) > segments.length) {
+                resize(Math.max(4, 2 * segments.length));
+            }
+            final Node child = new Node();
+            insert(segment, child);
+            childCount++;
+            return child;
+        }
+
+        private void resize(final int capacity) {
+            final String[] oldSegments = segments;
+            final Node[] oldChildren = children;
+            segments = new String[capacity];
+            children = new Node[capacity];
+            for (int i = 0; i < oldSegments.length; i++) {
+                if (oldSegments[i] != null) {
+                    insert(oldSegments[i], oldChildren[i]);
+                }
+            }
+        }
+
+        private void insert(final String segment, final Node child) {
+            final int mask = segments.length - 1;
+            int i = hash(segment, 0, segment.length()) & mask;
+            while (segments[i] != null) {
+                i = (i + 1) & mask;
+            }
+            segments[i] = segment;
+            children[i] = child;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.logging.log4j.core.config.plugins.util.PluginType;
+import org.apache.logging.log4j.core.lookup.StrSubstitutor;
+
+/**
+ * Immutable copy of a configuration {@link Node} tree, with its attributes and values resolved.
+ * <p>
+ *   Two equal signatures create equal components, which allows a reconfiguration to carry over the components of
+ *   the replaced configuration, whose configuration elements did not change.
+ *   The signature must be taken before the node is used to create a component, which consumes its attributes and
+ *   children.
+ * </p>
+ */
+final class NodeSignature {
+
+    private final String name;
+
+    private final Class<?> pluginClass;
+
+    private final Map<String, String> attributes;
+
+    private final String value;
+
+    private final List<NodeSignature> children;
+
+    private final int hashCode;
+
+    private NodeSignature(
+            final String name,
+            final Class<?> pluginClass,
+            final Map<String, String> attributes,
+            final String value,
+            final List<NodeSignature> children) {
+        this.name = name;
+        this.pluginClass = pluginClass;
+        this.attributes = attributes;
+        this.value = value;
+        this.children = children;
+        this.hashCode = Objects.hash(name, pluginClass, attributes, value, children);
+    }
+
+    /**
+     * Takes the signature of a node and of its descendants.
+     *
+     * @param node a configuration node
+     * @param substitutor the substitutor used to resolve attributes and values
+     * @return the signature of the node
+     */
+    static NodeSignature of(final Node node, final StrSubstitutor substitutor) {
+        final PluginType<?> type = node.getType();
+        final Map<String, String> attributes = new HashMap<>(node.getAttributes().size());
+        for (final Map.Entry<String, String> entry : node.getAttributes().entrySet()) {
+            attributes.put(entry.getKey(), substitutor.replace(entry.getValue()));
+        }
+        final List<NodeSignature> children = new ArrayList<>(node.getChildren().size());
+        for (final Node child : node.getChildren()) {
+            children.add(of(child, substitutor));
+        }
+        return new NodeSignature(
+                node.getName(),
+                type != null ? type.getPluginClass() : null,
+                Collections.unmodifiableMap(attributes),
+                node.getValue() != null ? substitutor.replace(node.getValue()) : null,
+                Collections.unmodifiableList(children));
+    }
+
+    /**
+     * Checks if an attribute or value of the node or of its descendants is equal to one of the given strings.
+     * <p>
+     *   Components reference each other by name, so this tells whether a component may reference one of the given
+     *   components.
+     * </p>
+     *
+     * @param strings the strings to look for
+     * @return {@code true} if one of the strings is found
+     */
+    boolean containsAnyOf(final Collection<String> strings) {
+        if (strings.isEmpty()) {
+            return false;
+        }
+        if (value != null && strings.contains(value)) {
+            return true;
+        }
+        for (final String attribute : attributes.values()) {
+            if (strings.contains(attribute)) {
+                return true;
+            }
+        }
+        for (final NodeSignature child : children) {
+            if (child.containsAnyOf(strings)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof NodeSignature)) {
+            return false;
+        }
+        final NodeSignature other = (NodeSignature) obj;
+        return hashCode == other.hashCode
+                && Objects.equals(name, other.name)
+                && Objects.equals(pluginClass, other.pluginClass)
+                && attributes.equals(other.attributes)
+                && Objects.equals(value, other.value)
+                && children.equals(other.children);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return name + attributes;
+    }
+}
@@ -23,6 +23,7 @@ import java.io.InputStream;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import javax.xml.XMLConstants;
@@ -46,12 +47,7 @@ import org.apache.logging.log4j.core.util.Integers;
 import org.apache.logging.log4j.core.util.Loader;
 import org.apache.logging.log4j.core.util.Patterns;
 import org.apache.logging.log4j.core.util.Throwables;
-import org.w3c.dom.Attr;
 import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.NodeList;
-import org.w3c.dom.Text;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
 
@@ -64,7 +60,7 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
     private static final String XINCLUDE_FIXUP_BASE_URIS = "http://apache.org/xml/features/xinclude/fixup-base-uris";
 
     private final List<Status> status = new ArrayList<>();
-    private Element rootElement;
+    private XmlElement rootElement;
     private boolean strict;
     private String schemaResource;
 
@@ -82,27 +78,14 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
             } finally {
                 Closer.closeSilently(configStream);
             }
-            final InputSource source = new InputSource(new ByteArrayInputStream(buffer));
-            source.setSystemId(configSource.getLocation());
-            final DocumentBuilder documentBuilder = newDocumentBuilder(true);
-            Document document;
-            try {
-                document = documentBuilder.parse(source);
-            } catch (final Exception e) {
-                // LOG4J2-1127
-                final Throwable throwable = Throwables.getRootCause(e);
-                if (throwable instanceof UnsupportedOperationException) {
-                    LOGGER.warn(
-                            "The DocumentBuilder {} does not support an operation: {}."
-                                    + "Trying again without XInclude...",
-                            documentBuilder,
-                            e);
-                    document = newDocumentBuilder(false).parse(source);
-                } else {
-                    throw e;
+            final XmlConfigurationSnapshot snapshot = XmlConfigurationSnapshot.of(configSource, buffer);
+            rootElement = snapshot != null ? snapshot.read() : null;
+            if (rootElement == null) {
+                rootElement = parse(configSource, buffer);
+                if (snapshot != null) {
+                    snapshot.write(rootElement);
                 }
             }
-            rootElement = document.getDocumentElement();
             final Map<String, String> attrs = processAttributes(rootNode, rootElement);
             final StatusConfiguration statusConfig = new StatusConfiguration().withStatus(getDefaultStatus());
             int monitorIntervalSeconds = 0;
@@ -169,6 +152,31 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
         }
     }
 
+    private static XmlElement parse(final ConfigurationSource configSource, final byte[] buffer)
+            throws SAXException, IOException, ParserConfigurationException {
+        final InputSource source = new InputSource(new ByteArrayInputStream(buffer));
+        source.setSystemId(configSource.getLocation());
+        final DocumentBuilder documentBuilder = newDocumentBuilder(true);
+        Document document;
+        try {
+            document = documentBuilder.parse(source);
+        } catch (final Exception e) {
+            // LOG4J2-1127
+            final Throwable throwable = Throwables.getRootCause(e);
+            if (throwable instanceof UnsupportedOperationException) {
+                LOGGER.warn(
+                        "The DocumentBuilder {} does not support an operation: {}."
+                                + "Trying again without XInclude...",
+                        documentBuilder,
+                        e);
+                document = newDocumentBuilder(false).parse(source);
+            } else {
+                throw e;
+            }
+        }
+        return XmlElement.of(document.getDocumentElement());
+    }
+
     /**
      * Creates a new DocumentBuilder suitable for parsing a configuration file.
      *
@@ -266,71 +274,52 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
         return null;
     }
 
-    private void constructHierarchy(final Node node, final Element element) {
+    private void constructHierarchy(final Node node, final XmlElement element) {
         processAttributes(node, element);
-        final StringBuilder buffer = new StringBuilder();
-        final NodeList list = element.getChildNodes();
         final List<Node> children = node.getChildren();
-        for (int i = 0; i < list.getLength(); i++) {
-            final org.w3c.dom.Node w3cNode = list.item(i);
-            if (w3cNode instanceof Element) {
-                final Element child = (Element) w3cNode;
-                final String name = getType(child);
-                final PluginType<?> type = pluginManager.getPluginType(name);
-                final Node childNode = new Node(node, name, type);
-                constructHierarchy(childNode, child);
-                if (type == null) {
-                    final String value = childNode.getValue();
-                    if (!childNode.hasChildren() && value != null) {
-                        node.getAttributes().put(name, value);
-                    } else {
-                        status.add(new Status(name, element, ErrorType.CLASS_NOT_FOUND));
-                    }
+        for (final XmlElement child : element.getChildren()) {
+            final String name = getType(child);
+            final PluginType<?> type = pluginManager.getPluginType(name);
+            final Node childNode = new Node(node, name, type);
+            constructHierarchy(childNode, child);
+            if (type == null) {
+                final String value = childNode.getValue();
+                if (!childNode.hasChildren() && value != null) {
+                    node.getAttributes().put(name, value);
                 } else {
-                    children.add(childNode);
+                    status.add(new Status(name, element, ErrorType.CLASS_NOT_FOUND));
                 }
-            } else if (w3cNode instanceof Text) {
-                final Text data = (Text) w3cNode;
-                buffer.append(data.getData());
+            } else {
+                children.add(childNode);
             }
         }
 
-        final String text = buffer.toString().trim();
+        final String text = element.getText().trim();
         if (!text.isEmpty() || (!node.hasChildren() && !node.isRoot())) {
             node.setValue(text);
         }
     }
 
-    private String getType(final Element element) {
+    private String getType(final XmlElement element) {
         if (strict) {
-            final NamedNodeMap attrs = element.getAttributes();
-            for (int i = 0; i < attrs.getLength(); ++i) {
-                final org.w3c.dom.Node w3cNode = attrs.item(i);
-                if (w3cNode instanceof Attr) {
-                    final Attr attr = (Attr) w3cNode;
-                    if (attr.getName().equalsIgnoreCase("type")) {
-                        final String type = attr.getValue();
-                        attrs.removeNamedItem(attr.getName());
-                        return type;
-                    }
+            final Iterator<Map.Entry<String, String>> attributes =
+                    element.getAttributes().entrySet().iterator();
+            while (attributes.hasNext()) {
+                final Map.Entry<String, String> attribute = attributes.next();
+                if (attribute.getKey().equalsIgnoreCase("type")) {
+                    attributes.remove();
+                    return attribute.getValue();
                 }
             }
         }
-        return element.getTagName();
+        return element.getName();
     }
 
-    private Map<String, String> processAttributes(final Node node, final Element element) {
-        final NamedNodeMap attrs = element.getAttributes();
+    private Map<String, String> processAttributes(final Node node, final XmlElement element) {
         final Map<String, String> attributes = node.getAttributes();
-
-        for (int i = 0; i < attrs.getLength(); ++i) {
-            final org.w3c.dom.Node w3cNode = attrs.item(i);
-            if (w3cNode instanceof Attr) {
-                final Attr attr = (Attr) w3cNode;
-                if (attr.getName().equals("xml:base")) {
-                    continue;
-                }
-                attributes.put(attr.getName(), attr.getValue());
+        for (final Map.Entry<String, String> attribute : element.getAttributes().entrySet()) {
+            if (!attribute.getKey().equals("xml:base")) {
+                attributes.put(attribute.getKey(), attribute.getValue());
             }
         }
         return attributes;
@@ -353,11 +342,11 @@ public class XmlConfiguration extends AbstractConfiguration implements Reconfigu
      * Status for recording errors.
      */
     private static class Status {
-        private final Element element;
+        private final XmlElement element;
         private final String name;
         private final ErrorType errorType;
 
-        public Status(final String name, final Element element, final ErrorType errorType) {
+        public Status(final String name, final XmlElement element, final ErrorType errorType) {
             this.name = name;
             this.element = element;
             this.errorType = errorType;
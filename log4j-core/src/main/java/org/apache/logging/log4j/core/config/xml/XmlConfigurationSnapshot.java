@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.xml;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+import org.apache.logging.log4j.util.Strings;
+
+/**
+ * A binary snapshot of the parsed elements of an XML configuration file.
+ * <p>
+ *   If the {@value #SNAPSHOT_DIRECTORY_PROPERTY} property is set, {@link XmlConfiguration} stores the elements of each
+ *   configuration file it parses in that directory, together with a checksum of the file.
+ *   On the next start, the elements are read from the snapshot, instead of being parsed again, as long as the checksum
+ *   matches.
+ * </p>
+ * <p>
+ *   The snapshot holds the raw attribute values and text, so that lookups are still resolved while the configuration
+ *   is built.
+ *   Configuration files that use XInclude are not stored, since the included files are not covered by the checksum.
+ * </p>
+ */
+final class XmlConfigurationSnapshot {
+
+    static final String SNAPSHOT_DIRECTORY_PROPERTY = "log4j2.configurationSnapshotDirectory";
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final int MAGIC = 0x4c344a58;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private static final String SNAPSHOT_FILE_EXTENSION = ".snapshot";
+
+    /**
+     * The smallest number of bytes of an element: the lengths of its name and text and its attribute and child counts.
+     */
+    private static final int MIN_ELEMENT_SIZE = 4 * Integer.BYTES;
+
+    /**
+     * The smallest number of bytes of an attribute: the lengths of its name and value.
+     */
+    private static final int MIN_ATTRIBUTE_SIZE = 2 * Integer.BYTES;
+
+    /**
+     * The maximum nesting depth of the elements, which no configuration comes close to.
+     */
+    private static final int MAX_DEPTH = 256;
+
+    /**
+     * The attribute added to the elements of included files by XInclude.
+     */
+    private static final String XML_BASE_ATTRIBUTE = "xml:base";
+
+    private final Path file;
+
+    private final byte[] checksum;
+
+    XmlConfigurationSnapshot(final Path file, final byte[] content) {
+        this.file = file;
+        this.checksum = sha256(content);
+    }
+
+    /**
+     * Returns the snapshot of a configuration file, if snapshots are enabled.
+     *
+     * @param source the source of the configuration
+     * @param content the current content of the configuration file
+     * @return the snapshot of the configuration, or {@code null} if snapshots are disabled or the source has no location
+     */
+    @SuppressFBWarnings(
+            value = "PATH_TRAVERSAL_IN",
+            justification = "The snapshot directory is provided by the user through a configuration property.")
+    static XmlConfigurationSnapshot of(final ConfigurationSource source, final byte[] content) {
+        final String directory =
+                PropertiesUtil.getProperties().getStringProperty(SNAPSHOT_DIRECTORY_PROPERTY);
+        final String location = source.getLocation();
+        if (Strings.isBlank(directory) || location == null) {
+            return null;
+        }
+        try {
+            final String fileName = toHexString(sha256(location.getBytes(StandardCharsets.UTF_8)));
+            return new XmlConfigurationSnapshot(Paths.get(directory, fileName + SNAPSHOT_FILE_EXTENSION), content);
+        } catch (final InvalidPathException e) {
+            LOGGER.warn("Invalid configuration snapshot directory `{}`: {}", directory, e.getMessage());
+            return null;
+        }
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    /**
+     * Reads the root element of the configuration from the snapshot.
+     *
+     * @return the root element or {@code null} if there is no up-to-date snapshot
+     */
+    XmlElement read() {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        // The whole snapshot is read first, so that the lengths it contains can be checked against its size
+        try (final DataInputStream input = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            if (input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                LOGGER.debug("Ignoring configuration snapshot `{}` of an unsupported format", file);
+                return null;
+            }
+            final byte[] storedChecksum = new byte[checksum.length];
+            input.readFully(storedChecksum);
+            if (!Arrays.equals(checksum, storedChecksum)) {
+                LOGGER.debug("Ignoring outdated configuration snapshot `{}`", file);
+                return null;
+            }
+            final XmlElement root = readElement(input, 0);
+            LOGGER.debug("Read configuration from snapshot `{}`", file);
+            return root;
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Unable to read configuration snapshot `{}`", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the root element of the configuration to the snapshot, replacing the previous snapshot atomically.
+     *
+     * @param root the root element
+     */
+    void write(final XmlElement root) {
+        if (containsAttribute(root, XML_BASE_ATTRIBUTE)) {
+            LOGGER.debug("Not writing configuration snapshot `{}`, since the configuration includes other files", file);
+            return;
+        }
+        Path tempFile = null;
+        try {
+            final Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (final OutputStream outputStream = Files.newOutputStream(tempFile);
+                    final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.write(checksum);
+                writeElement(output, root);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            tempFile = null;
+            LOGGER.debug("Wrote configuration snapshot `{}`", file);
+        } catch (final IOException | RuntimeException e) {
+            LOGGER.warn("Unable to write configuration snapshot `{}`", file, e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (final IOException e) {
+                    LOGGER.debug("Unable to delete temporary file `{}`", tempFile, e);
+                }
+            }
+        }
+    }
+
+    private static boolean containsAttribute(final XmlElement element, final String attributeName) {
+        if (element.getAttributes().containsKey(attributeName)) {
+            return true;
+        }
+        for (final XmlElement child : element.getChildren()) {
+            if (containsAttribute(child, attributeName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void writeElement(final DataOutputStream output, final XmlElement element) throws IOException {
+        writeString(output, element.getName());
+        final Map<String, String> attributes = element.getAttributes();
+        output.writeInt(attributes.size());
+        for (final Map.Entry<String, String> entry : attributes.entrySet()) {
+            writeString(output, entry.getKey());
+            writeString(output, entry.getValue());
+        }
+        writeString(output, element.getText());
+        final List<XmlElement> children = element.getChildren();
+        output.writeInt(children.size());
+        for (final XmlElement child : children) {
+            writeElement(output, child);
+        }
+    }
+
+    // The input must be backed by an array, so that `available()` returns the number of remaining bytes
+    private static XmlElement readElement(final DataInputStream input, final int depth) throws IOException {
+        if (depth >= MAX_DEPTH) {
+            throw new IOException("Elements nested deeper than " + MAX_DEPTH + " levels");
+        }
+        final String name = readString(input);
+        final int attributeCount = readCount(input, MIN_ATTRIBUTE_SIZE);
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < attributeCount; i++) {
+            attributes.put(readString(input), readString(input));
+        }
+        final String text = readString(input);
+        final int childCount = readCount(input, MIN_ELEMENT_SIZE);
+        final List<XmlElement> children = new ArrayList<>(childCount);
+        for (int i = 0; i < childCount; i++) {
+            children.add(readElement(input, depth + 1));
+        }
+        return new XmlElement(name, attributes, text, children);
+    }
+
+    /**
+     * Reads a number of items, checking that the rest of the snapshot can hold them.
+     */
+    private static int readCount(final DataInputStream input, final int minItemSize) throws IOException {
+        final int count = input.readInt();
+        if (count < 0 || count > input.available() / minItemSize) {
+            throw new IOException("Invalid item count " + count + " with " + input.available() + " bytes remaining");
+        }
+        return count;
+    }
+
+    // `DataOutputStream.writeUTF()` is limited to 64 KiB, which the text of a script element might exceed
+    private static void writeString(final DataOutputStream output, final String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static String readString(final DataInputStream input) throws IOException {
+        final int length = input.readInt();
+        if (length < 0 || length > input.available()) {
+            throw new IOException(
+                    "Invalid string length " + length + " with " + input.available() + " bytes remaining");
+        }
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] sha256(final byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        }
+        // Every implementation of the Java platform is required to support SHA-256.
+        catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHexString(final byte[] bytes) {
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (final byte b : bytes) {
+            hex.append(Character.forDigit((0xFF & b) >> 4, 16));
+            hex.append(Character.forDigit(0x0F & b, 16));
+        }
+        return hex.toString();
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.config.xml;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.w3c.dom.Attr;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+import org.w3c.dom.Text;
+
+/**
+ * An element of an XML configuration file, detached from the DOM.
+ * <p>
+ *   Holds what {@link XmlConfiguration} needs to build its {@link org.apache.logging.log4j.core.config.Node} tree, so
+ *   that it can be stored in a {@link XmlConfigurationSnapshot} and restored without parsing the file again.
+ * </p>
+ */
+final class XmlElement {
+
+    private final String name;
+
+    private final Map<String, String> attributes;
+
+    private final String text;
+
+    private final List<XmlElement> children;
+
+    XmlElement(
+            final String name,
+            final Map<String, String> attributes,
+            final String text,
+            final List<XmlElement> children) {
+        this.name = name;
+        this.attributes = attributes;
+        this.text = text;
+        this.children = children;
+    }
+
+    /**
+     * Copies a DOM element and its descendants.
+     *
+     * @param element a DOM element
+     * @return the copy of the element
+     */
+    static XmlElement of(final Element element) {
+        final NamedNodeMap attrs = element.getAttributes();
+        final Map<String, String> attributes = new LinkedHashMap<>();
+        for (int i = 0; i < attrs.getLength(); ++i) {
+            final Node w3cNode = attrs.item(i);
+            if (w3cNode instanceof Attr) {
+                final Attr attr = (Attr) w3cNode;
+                attributes.put(attr.getName(), attr.getValue());
+            }
+        }
+        final StringBuilder text = new StringBuilder();
+        final List<XmlElement> children = new ArrayList<>();
+        final NodeList list = element.getChildNodes();
+        for (int i = 0; i < list.getLength(); i++) {
+            final Node w3cNode = list.item(i);
+            if (w3cNode instanceof Element) {
+                children.add(of((Element) w3cNode));
+            } else if (w3cNode instanceof Text) {
+                text.append(((Text) w3cNode).getData());
+            }
+        }
+        return new XmlElement(element.getTagName(), attributes, text.toString(), children);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    /**
+     * @return the mutable attributes of the element, in document order
+     */
+    Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return the concatenated text content of the element, excluding the one of its children
+     */
+    String getText() {
+        return text;
+    }
+
+    List<XmlElement> getChildren() {
+        return children;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + name + "]";
+    }
+}
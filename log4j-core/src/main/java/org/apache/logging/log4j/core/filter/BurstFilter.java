@@ -16,13 +16,11 @@
  */
 package org.apache.logging.log4j.core.filter;
 
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.Delayed;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongArray;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.ContextDataInjector;
 import org.apache.logging.log4j.core.Filter;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.Logger;
@@ -30,7 +28,12 @@ import org.apache.logging.log4j.core.config.Node;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
 import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
+import org.apache.logging.log4j.core.util.Integers;
+import org.apache.logging.log4j.core.util.NanoClock;
+import org.apache.logging.log4j.core.util.SystemNanoClock;
 import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.PerformanceSensitive;
 
 /**
  * The <code>BurstFilter</code> is a logging filter that regulates logging traffic.
@@ -49,8 +52,19 @@ import org.apache.logging.log4j.message.Message;
  * &nbsp;&lt;/Filters&gt;<br>
  * &lt;/Console&gt;<br>
  * </code><br>
+ * <p>
+ * The filter is a token bucket holding up to <code>maxBurst</code> tokens and refilled with <code>rate</code> tokens
+ * per second. Each bucket is a single atomic long, the nano time at which it will be full again, so that filtering
+ * neither locks nor allocates.
+ * </p>
+ * <p>
+ * If <code>perLogger</code> is set or a <code>contextKey</code> is given, events are spread over
+ * <code>stripes</code> buckets by the hash of their logger name and of the value of the context data key, so that a
+ * noisy logger or key value does not use up the tokens of the others.
+ * </p>
  */
 @Plugin(name = "BurstFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+@PerformanceSensitive("allocation")
 public final class BurstFilter extends AbstractFilter {
 
     private static final long NANOS_IN_SECONDS = 1000000000;
@@ -59,7 +73,14 @@ public final class BurstFilter extends AbstractFilter {
 
     private static final int DEFAULT_RATE_MULTIPLE = 100;
 
-    private static final int HASH_SHIFT = 32;
+    private static final int DEFAULT_STRIPES = 64;
+
+    private static final int MAX_STRIPES = 1 << 16;
+
+    /**
+     * Distance between two buckets in the array, so that they lie on different cache lines.
+     */
+    private static final int STRIPE_STRIDE = 8;
 
     /**
      * Level of messages to be filtered. Anything at or below this level will be
@@ -69,53 +90,96 @@ public final class BurstFilter extends AbstractFilter {
      */
     private final Level level;
 
+    private final long maxBurst;
+
+    /**
+     * The time it takes to refill a single token.
+     */
+    private final long tokenInterval;
+
+    /**
+     * The time it takes to refill an empty bucket.
+     */
     private final long burstInterval;
 
-    private final DelayQueue<LogDelay> history = new DelayQueue<>();
+    private final boolean perLogger;
 
-    private final Queue<LogDelay> available = new ConcurrentLinkedQueue<>();
+    private final String contextKey;
 
-    static LogDelay createLogDelay(final long expireTime) {
-        return new LogDelay(expireTime);
-    }
+    private final int stripeMask;
+
+    private final NanoClock nanoClock;
+
+    private final ContextDataInjector injector = ContextDataInjectorFactory.createInjector();
+
+    /**
+     * The nano time at which each bucket will be full again.
+     * A bucket is full if its time is in the past.
+     */
+    private final AtomicLongArray fullTimes;
 
     private BurstFilter(
-            final Level level, final float rate, final long maxBurst, final Result onMatch, final Result onMismatch) {
+            final Level level,
+            final float rate,
+            final long maxBurst,
+            final boolean perLogger,
+            final String contextKey,
+            final int stripes,
+            final NanoClock nanoClock,
+            final Result onMatch,
+            final Result onMismatch) {
         super(onMatch, onMismatch);
         this.level = level;
-        this.burstInterval = (long) (NANOS_IN_SECONDS * (maxBurst / rate));
-        for (int i = 0; i < maxBurst; ++i) {
-            available.add(createLogDelay(0));
-        }
+        this.tokenInterval = Math.max(1, (long) (NANOS_IN_SECONDS / (double) rate));
+        // Keeps the differences between nano times computed by the filter from overflowing
+        this.maxBurst = Math.min(maxBurst, Long.MAX_VALUE / 4 / tokenInterval);
+        this.burstInterval = this.maxBurst * tokenInterval;
+        this.perLogger = perLogger;
+        this.contextKey = contextKey;
+        this.stripeMask = perLogger || contextKey != null ? stripes - 1 : 0;
+        this.nanoClock = nanoClock;
+        this.fullTimes = new AtomicLongArray(stripeMask * STRIPE_STRIDE + 1);
+        clear();
     }
 
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Message msg, final Throwable t) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
     public Result filter(final LogEvent event) {
-        return filter(event.getLevel());
+        final Level level = event.getLevel();
+        if (this.level.isMoreSpecificThan(level)) {
+            int hash = 0;
+            if (perLogger) {
+                hash = Objects.hashCode(event.getLoggerName());
+            }
+            if (contextKey != null) {
+                hash = 31 * hash + Objects.hashCode(event.getContextData().getValue(contextKey));
+            }
+            return tryAcquire(hash) ? onMatch : onMismatch;
+        }
+        return onMatch;
     }
 
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -126,7 +190,7 @@ public final class BurstFilter extends AbstractFilter {
             final String msg,
             final Object p0,
             final Object p1) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -138,7 +202,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p0,
             final Object p1,
             final Object p2) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -151,7 +215,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p1,
             final Object p2,
             final Object p3) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -165,7 +229,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p2,
             final Object p3,
             final Object p4) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -180,7 +244,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p3,
             final Object p4,
             final Object p5) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -196,7 +260,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p4,
             final Object p5,
             final Object p6) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -213,7 +277,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p5,
             final Object p6,
             final Object p7) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -231,7 +295,7 @@ public final class BurstFilter extends AbstractFilter {
             final Object p6,
             final Object p7,
             final Object p8) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     @Override
@@ -250,107 +314,80 @@ public final class BurstFilter extends AbstractFilter {
             final Object p7,
             final Object p8,
             final Object p9) {
-        return filter(level);
+        return filter(logger, level);
     }
 
     /**
      * Decide if we're going to log <code>event</code> based on whether the
      * maximum burst of log statements has been exceeded.
      *
+     * @param logger The logger.
      * @param level The log level.
      * @return The onMatch value if the filter passes, onMismatch otherwise.
      */
-    private Result filter(final Level level) {
+    private Result filter(final Logger logger, final Level level) {
         if (this.level.isMoreSpecificThan(level)) {
-            LogDelay delay = history.poll();
-            while (delay != null) {
-                available.add(delay);
-                delay = history.poll();
+            int hash = 0;
+            if (perLogger) {
+                hash = Objects.hashCode(logger.getName());
             }
-            delay = available.poll();
-            if (delay != null) {
-                delay.setDelay(burstInterval);
-                history.add(delay);
-                return onMatch;
+            if (contextKey != null) {
+                hash = 31 * hash + Objects.hashCode(injector.rawContextData().getValue(contextKey));
             }
-            return onMismatch;
+            return tryAcquire(hash) ? onMatch : onMismatch;
         }
         return onMatch;
     }
 
+    private int getBucketIndex(final int hash) {
+        return ((hash ^ (hash >>> 16)) & stripeMask) * STRIPE_STRIDE;
+    }
+
+    /**
+     * Takes a token from the bucket of the given hash.
+     *
+     * @param hash The hash of the bucket key.
+     * @return {@code true} if the bucket had a token, {@code false} otherwise.
+     */
+    private boolean tryAcquire(final int hash) {
+        final int index = getBucketIndex(hash);
+        final long now = nanoClock.nanoTime();
+        long fullTime;
+        long nextFullTime;
+        do {
+            fullTime = fullTimes.get(index);
+            // Nano times must be compared by their difference, since they can overflow
+            nextFullTime = (fullTime - now > 0 ? fullTime : now) + tokenInterval;
+            if (nextFullTime - now > burstInterval) {
+                return false;
+            }
+        } while (!fullTimes.compareAndSet(index, fullTime, nextFullTime));
+        return true;
+    }
+
     /**
-     * Returns the number of available slots. Used for unit testing.
+     * Returns the number of available slots in the first bucket. Used for unit testing.
      * @return The number of available slots.
      */
     public int getAvailable() {
-        return available.size();
+        final long missingTime = Math.max(0, fullTimes.get(0) - nanoClock.nanoTime());
+        return (int) ((burstInterval - missingTime) / tokenInterval);
     }
 
     /**
      * Clear the history. Used for unit testing.
      */
     public void clear() {
-        for (final LogDelay delay : history) {
-            history.remove(delay);
-            available.add(delay);
+        final long now = nanoClock.nanoTime();
+        for (int i = 0; i < fullTimes.length(); i += STRIPE_STRIDE) {
+            fullTimes.set(i, now);
         }
     }
 
     @Override
     public String toString() {
-        return "level=" + level.toString() + ", interval=" + burstInterval + ", max=" + history.size();
-    }
-
-    /**
-     * Delay object to represent each log event that has occurred within the timespan.
-     *
-     * Consider this class private, package visibility for testing.
-     */
-    private static class LogDelay implements Delayed {
-
-        LogDelay(final long expireTime) {
-            this.expireTime = expireTime;
-        }
-
-        private long expireTime;
-
-        public void setDelay(final long delay) {
-            this.expireTime = delay + System.nanoTime();
-        }
-
-        @Override
-        public long getDelay(final TimeUnit timeUnit) {
-            return timeUnit.convert(expireTime - System.nanoTime(), TimeUnit.NANOSECONDS);
-        }
-
-        @Override
-        public int compareTo(final Delayed delayed) {
-            final long diff = this.expireTime - ((LogDelay) delayed).expireTime;
-            return Long.signum(diff);
-        }
-
-        @Override
-        public boolean equals(final Object o) {
-            if (this == o) {
-                return true;
-            }
-            if (o == null || getClass() != o.getClass()) {
-                return false;
-            }
-
-            final LogDelay logDelay = (LogDelay) o;
-
-            if (expireTime != logDelay.expireTime) {
-                return false;
-            }
-
-            return true;
-        }
-
-        @Override
-        public int hashCode() {
-            return (int) (expireTime ^ (expireTime >>> HASH_SHIFT));
-        }
+        return "level=" + level.toString() + ", interval=" + burstInterval + ", max=" + maxBurst + ", stripes="
+                + (stripeMask + 1);
     }
 
     @PluginBuilderFactory
@@ -370,6 +407,17 @@ public final class BurstFilter extends AbstractFilter {
         @PluginBuilderAttribute
         private long maxBurst;
 
+        @PluginBuilderAttribute
+        private boolean perLogger;
+
+        @PluginBuilderAttribute
+        private String contextKey;
+
+        @PluginBuilderAttribute
+        private int stripes = DEFAULT_STRIPES;
+
+        private NanoClock nanoClock = new SystemNanoClock();
+
         /**
          * Sets the logging level to use.
          * @param level the logging level to use.
@@ -401,6 +449,49 @@ public final class BurstFilter extends AbstractFilter {
             return this;
         }
 
+        /**
+         * Sets whether each logger has its own rate limit.
+         * @param perLogger if {@code true}, events are rate limited separately by logger name.
+         * @return this
+         * @since 2.25.0
+         */
+        public Builder setPerLogger(final boolean perLogger) {
+            this.perLogger = perLogger;
+            return this;
+        }
+
+        /**
+         * Sets the context data key whose values have their own rate limit.
+         * @param contextKey a context data key, events are rate limited separately by the value of this key.
+         * @return this
+         * @since 2.25.0
+         */
+        public Builder setContextKey(final String contextKey) {
+            this.contextKey = contextKey;
+            return this;
+        }
+
+        /**
+         * Sets the number of buckets events are spread over, if they are rate limited by logger or context data.
+         * @param stripes the number of buckets, rounded up to a power of two. The default is 64.
+         * @return this
+         * @since 2.25.0
+         */
+        public Builder setStripes(final int stripes) {
+            this.stripes = stripes;
+            return this;
+        }
+
+        /**
+         * Sets the clock used to refill the buckets. Used for unit testing.
+         * @param nanoClock a nano clock.
+         * @return this
+         */
+        Builder setNanoClock(final NanoClock nanoClock) {
+            this.nanoClock = nanoClock;
+            return this;
+        }
+
         @Override
         public BurstFilter build() {
             if (this.rate <= 0) {
@@ -409,7 +500,19 @@ public final class BurstFilter extends AbstractFilter {
             if (this.maxBurst <= 0) {
                 this.maxBurst = (long) (this.rate * DEFAULT_RATE_MULTIPLE);
             }
-            return new BurstFilter(this.level, this.rate, this.maxBurst, this.getOnMatch(), this.getOnMismatch());
+            if (this.stripes <= 0) {
+                this.stripes = DEFAULT_STRIPES;
+            }
+            return new BurstFilter(
+                    this.level,
+                    this.rate,
+                    this.maxBurst,
+                    this.perLogger,
+                    this.contextKey,
+                    Integers.ceilingNextPowerOfTwo(Math.min(this.stripes, MAX_STRIPES)),
+                    this.nanoClock,
+                    this.getOnMatch(),
+                    this.getOnMismatch());
         }
     }
 }
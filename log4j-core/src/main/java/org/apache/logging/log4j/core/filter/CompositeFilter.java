@@ -38,15 +38,47 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
 
 /**
  * Composes and invokes one or more filters.
+ * <p>
+ *   The filters are invoked in order, until one of them returns {@code ACCEPT} or {@code DENY}.
+ *   For each standard level, the composite precomputes the filters that can change its result: the filters that are
+ *   {@linkplain PredictableFilter predictably} {@code NEUTRAL} for the level are skipped, the filters following a
+ *   predictably {@code ACCEPT} or {@code DENY} one are never reached, and consecutive {@link MarkerFilter}s with the
+ *   same results are looked up in a single set of marker names.
+ * </p>
  */
 @Plugin(name = "Filters", category = Node.CATEGORY, printObject = true)
 @PerformanceSensitive("allocation")
-public final class CompositeFilter extends AbstractLifeCycle implements Iterable<Filter>, Filter {
+public final class CompositeFilter extends AbstractLifeCycle implements Iterable<Filter>, Filter, PredictableFilter {
+
+    // The standard levels whose `intLevel` is a multiple of 100, indexed by `intLevel / 100`
+    private static final Level[] PLANNED_LEVELS = {
+        Level.OFF, Level.FATAL, Level.ERROR, Level.WARN, Level.INFO, Level.DEBUG, Level.TRACE
+    };
 
     private final Filter[] filters;
 
+    // The plans of the standard levels, indexed by `intLevel / 100`
+    private final Plan[] plansByLevel;
+
+    // The plan of the other levels
+    private final Plan defaultPlan;
+
     private CompositeFilter(final Filter[] filters) {
         this.filters = filters == null ? Filter.EMPTY_ARRAY : filters;
+        this.plansByLevel = new Plan[PLANNED_LEVELS.length];
+        for (int i = 0; i < plansByLevel.length; i++) {
+            plansByLevel[i] = Plan.of(this.filters, PLANNED_LEVELS[i]);
+        }
+        this.defaultPlan = Plan.of(this.filters, null);
+    }
+
+    private Plan getPlan(final Level level) {
+        if (level == null) {
+            return defaultPlan;
+        }
+        final int index = level.intLevel() / 100;
+        // Custom levels use the default plan, even if they have the same `intLevel` as a standard one
+        return index < plansByLevel.length && PLANNED_LEVELS[index] == level ? plansByLevel[index] : defaultPlan;
     }
 
     public CompositeFilter addFilter(final Filter filter) {
@@ -178,14 +210,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, params);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, params);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -205,14 +238,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -238,14 +272,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final String msg,
             final Object p0,
             final Object p1) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -273,14 +308,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p0,
             final Object p1,
             final Object p2) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1, p2);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -310,14 +346,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p1,
             final Object p2,
             final Object p3) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1, p2, p3);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -349,14 +386,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p2,
             final Object p3,
             final Object p4) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -390,14 +428,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p3,
             final Object p4,
             final Object p5) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -433,14 +472,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p4,
             final Object p5,
             final Object p6) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -478,14 +518,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p5,
             final Object p6,
             final Object p7) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -525,14 +566,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p6,
             final Object p7,
             final Object p8) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -574,14 +616,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
             final Object p7,
             final Object p8,
             final Object p9) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, p0, p1, p2, p3, p4, p5, p6, p7, p8, p9);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -602,14 +645,15 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, t);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, t);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
     }
 
     /**
@@ -630,14 +674,37 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
     @Override
     public Result filter(
             final Logger logger, final Level level, final Marker marker, final Message msg, final Throwable t) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(logger, level, marker, msg, t);
+        final Plan plan = getPlan(level);
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(logger, level, marker, msg, t);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
+    }
+
+    /**
+     * Predicts the result of the filters for a level.
+     *
+     * @param level
+     *            The logging Level.
+     * @return the Result, or {@code null} if a filter before the first {@code ACCEPT} or {@code DENY} result is not
+     *         predictable.
+     */
+    @Override
+    public Result predict(final Level level) {
+        for (int i = 0; i < filters.length; i++) {
+            if (!(filters[i] instanceof PredictableFilter)) {
+                return null;
+            }
+            final Result result = ((PredictableFilter) filters[i]).predict(level);
+            if (result != Result.NEUTRAL) {
+                return result;
+            }
+        }
+        return Result.NEUTRAL;
     }
 
     /**
@@ -649,14 +716,48 @@ public final class CompositeFilter extends AbstractLifeCycle implements Iterable
      */
     @Override
     public Result filter(final LogEvent event) {
-        Result result = Result.NEUTRAL;
-        for (int i = 0; i < filters.length; i++) {
-            result = filters[i].filter(event);
+        final Plan plan = getPlan(event.getLevel());
+        final Filter[] chain = plan.filters;
+        for (int i = 0; i < chain.length; i++) {
+            final Result result = chain[i].filter(event);
             if (result == Result.ACCEPT || result == Result.DENY) {
                 return result;
             }
         }
-        return result;
+        return plan.result;
+    }
+
+    /**
+     * The filters to invoke for a level and the result if none of them returns {@code ACCEPT} or {@code DENY}.
+     */
+    private static final class Plan {
+
+        private final Filter[] filters;
+
+        private final Result result;
+
+        private Plan(final Filter[] filters, final Result result) {
+            this.filters = filters;
+            this.result = result;
+        }
+
+        /**
+         * @param level a standard level or {@code null} to plan for any level
+         */
+        private static Plan of(final Filter[] filters, final Level level) {
+            final List<Filter> planned = new ArrayList<>(filters.length);
+            for (final Filter filter : filters) {
+                final Result predicted = level != null && filter instanceof PredictableFilter
+                        ? ((PredictableFilter) filter).predict(level)
+                        : null;
+                if (predicted == null) {
+                    planned.add(filter);
+                } else if (predicted != Result.NEUTRAL) {
+                    return new Plan(MarkerGroupFilter.group(planned), predicted);
+                }
+            }
+            return new Plan(MarkerGroupFilter.group(planned), Result.NEUTRAL);
+        }
     }
 
     @Override
@@ -32,7 +32,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
  */
 @Plugin(name = "DenyAllFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
 @PerformanceSensitive("allocation")
-public final class DenyAllFilter extends AbstractFilter {
+public final class DenyAllFilter extends AbstractFilter implements PredictableFilter {
 
     private DenyAllFilter(final Result onMatch, final Result onMismatch) {
         super(onMatch, onMismatch);
@@ -56,6 +56,11 @@ public final class DenyAllFilter extends AbstractFilter {
         return Result.DENY;
     }
 
+    @Override
+    public Result predict(final Level level) {
+        return Result.DENY;
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return Result.DENY;
@@ -49,7 +49,7 @@ import org.apache.logging.log4j.util.StringMap;
         elementType = Filter.ELEMENT_TYPE,
         printObject = true)
 @PerformanceSensitive("allocation")
-public final class DynamicThresholdFilter extends AbstractFilter {
+public final class DynamicThresholdFilter extends AbstractFilter implements PredictableFilter {
 
     /**
      * Creates a DynamicThresholdFilter.
@@ -130,11 +130,34 @@ public final class DynamicThresholdFilter extends AbstractFilter {
             if (ctxLevel == null) {
                 ctxLevel = defaultThreshold;
             }
-            return level.isMoreSpecificThan(ctxLevel) ? onMatch : onMismatch;
+            return filterByThreshold(level, ctxLevel);
         }
         return Result.NEUTRAL;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     *   The result is predictable if it is {@code NEUTRAL} both without a context value and for all the thresholds.
+     * </p>
+     */
+    @Override
+    public Result predict(final Level level) {
+        if (filterByThreshold(level, defaultThreshold) != Result.NEUTRAL) {
+            return null;
+        }
+        for (final Level threshold : levelMap.values()) {
+            if (filterByThreshold(level, threshold) != Result.NEUTRAL) {
+                return null;
+            }
+        }
+        return Result.NEUTRAL;
+    }
+
+    private Result filterByThreshold(final Level level, final Level threshold) {
+        return level.isMoreSpecificThan(threshold) ? onMatch : onMismatch;
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getLevel(), event.getContextData().getValue(key));
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.AbstractLogEvent;
+import org.apache.logging.log4j.core.ContextDataInjector;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.validation.constraints.Required;
+import org.apache.logging.log4j.core.impl.ContextDataInjectorFactory;
+import org.apache.logging.log4j.core.util.internal.EventExpression;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.ReadOnlyStringMap;
+
+/**
+ * Returns the onMatch result if the event matches an expression and the onMismatch result otherwise.
+ * <p>
+ *   The expression is compiled once, when the filter is created, and evaluated without a script engine.
+ *   See {@link EventExpression} for its syntax.
+ * </p>
+ * @since 2.25.0
+ */
+@Plugin(name = "ExpressionFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
+public final class ExpressionFilter extends AbstractFilter {
+
+    private final EventExpression expression;
+
+    private final ContextDataInjector injector = ContextDataInjectorFactory.createInjector();
+
+    private ExpressionFilter(final EventExpression expression, final Result onMatch, final Result onMismatch) {
+        super(onMatch, onMismatch);
+        this.expression = expression;
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
+        return filter(new FilterArguments(logger, level, marker, null, msg, params, null));
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
+        return filter(new FilterArguments(logger, level, marker, null, msg, null, t));
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final Message msg, final Throwable t) {
+        return filter(new FilterArguments(logger, level, marker, msg, null, null, t));
+    }
+
+    @Override
+    public Result filter(final LogEvent event) {
+        return expression.test(event) ? onMatch : onMismatch;
+    }
+
+    @Override
+    public String toString() {
+        return expression.toString();
+    }
+
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public static class Builder extends AbstractFilterBuilder<Builder>
+            implements org.apache.logging.log4j.core.util.Builder<ExpressionFilter> {
+
+        @PluginBuilderAttribute
+        @Required(message = "No expression provided for ExpressionFilter")
+        private String expression;
+
+        /**
+         * Sets the expression the events must match.
+         *
+         * @param expression an expression
+         * @return this instance.
+         */
+        public Builder setExpression(final String expression) {
+            this.expression = expression;
+            return this;
+        }
+
+        @Override
+        public ExpressionFilter build() {
+            if (!isValid()) {
+                return null;
+            }
+            final EventExpression compiled;
+            try {
+                compiled = EventExpression.compile(expression);
+            } catch (final IllegalArgumentException e) {
+                LOGGER.error(e.getMessage());
+                return null;
+            }
+            return new ExpressionFilter(compiled, getOnMatch(), getOnMismatch());
+        }
+    }
+
+    /**
+     * The arguments of the filter methods called before an event is created, seen as an event.
+     * <p>
+     *   The message is only created if the expression needs it.
+     * </p>
+     */
+    private final class FilterArguments extends AbstractLogEvent {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Logger logger;
+
+        private final Level level;
+
+        private final transient Marker marker;
+
+        private transient Message message;
+
+        private final transient Object msg;
+
+        private final transient Object[] params;
+
+        private final transient Throwable thrown;
+
+        private FilterArguments(
+                final Logger logger,
+                final Level level,
+                final Marker marker,
+                final Message message,
+                final Object msg,
+                final Object[] params,
+                final Throwable thrown) {
+            this.logger = logger;
+            this.level = level;
+            this.marker = marker;
+            this.message = message;
+            this.msg = msg;
+            this.params = params;
+            this.thrown = thrown;
+        }
+
+        @Override
+        public Level getLevel() {
+            return level;
+        }
+
+        @Override
+        public String getLoggerName() {
+            return logger.getName();
+        }
+
+        @Override
+        public Marker getMarker() {
+            return marker;
+        }
+
+        @Override
+        public Message getMessage() {
+            if (message == null) {
+                message = params != null
+                        ? logger.getMessageFactory().newMessage((String) msg, params)
+                        : logger.getMessageFactory().newMessage(msg);
+            }
+            return message;
+        }
+
+        @Override
+        public Throwable getThrown() {
+            return thrown;
+        }
+
+        @Override
+        public ReadOnlyStringMap getContextData() {
+            return injector.rawContextData();
+        }
+
+        @Override
+        public String getThreadName() {
+            return Thread.currentThread().getName();
+        }
+    }
+}
@@ -34,7 +34,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
  */
 @Plugin(name = "LevelMatchFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
 @PerformanceSensitive("allocation")
-public final class LevelMatchFilter extends AbstractFilter {
+public final class LevelMatchFilter extends AbstractFilter implements PredictableFilter {
 
     public static final String ATTR_MATCH = "match";
     private final Level level;
@@ -62,6 +62,11 @@ public final class LevelMatchFilter extends AbstractFilter {
         return filter(level);
     }
 
+    @Override
+    public Result predict(final Level level) {
+        return filter(level);
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getLevel());
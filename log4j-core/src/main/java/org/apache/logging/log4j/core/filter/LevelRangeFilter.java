@@ -39,7 +39,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
  */
 @Plugin(name = "LevelRangeFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
 @PerformanceSensitive("allocation")
-public final class LevelRangeFilter extends AbstractFilter {
+public final class LevelRangeFilter extends AbstractFilter implements PredictableFilter {
 
     /**
      * The default minimum level threshold.
@@ -100,6 +100,11 @@ public final class LevelRangeFilter extends AbstractFilter {
         return level.isInRange(minLevel, maxLevel) ? onMatch : onMismatch;
     }
 
+    @Override
+    public Result predict(final Level level) {
+        return filter(level);
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getLevel());
@@ -212,6 +212,13 @@ public final class MarkerFilter extends AbstractFilter {
         return filter(marker);
     }
 
+    /**
+     * @return the name of the marker to match
+     */
+    String getMarkerName() {
+        return name;
+    }
+
     @Override
     public String toString() {
         return name;
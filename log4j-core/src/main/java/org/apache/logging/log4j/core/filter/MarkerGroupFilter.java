@@ -0,0 +1,271 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.filter;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.PerformanceSensitive;
+
+/**
+ * Consecutive {@link MarkerFilter}s of a {@link CompositeFilter}, which return the same result on a match and
+ * {@code NEUTRAL} otherwise.
+ * <p>
+ *   Since only the first match matters, the filters are evaluated together: the name of a marker without parents is
+ *   looked up in a set, instead of being compared with the name of each filter.
+ * </p>
+ */
+@PerformanceSensitive("allocation")
+final class MarkerGroupFilter extends AbstractFilter {
+
+    private final Set<String> names;
+
+    private final String[] nameArray;
+
+    private MarkerGroupFilter(final List<Filter> filters, final Result onMatch) {
+        super(onMatch, Result.NEUTRAL);
+        this.nameArray = new String[filters.size()];
+        for (int i = 0; i < nameArray.length; i++) {
+            nameArray[i] = ((MarkerFilter) filters.get(i)).getMarkerName();
+        }
+        this.names = new HashSet<>(filters.size() * 2);
+        for (final String name : nameArray) {
+            names.add(name);
+        }
+    }
+
+    /**
+     * Replaces the runs of groupable {@link MarkerFilter}s with a single filter.
+     *
+     * @param filters a list of filters
+     * @return the filters with the groups
+     */
+    static Filter[] group(final List<Filter> filters) {
+        final List<Filter> grouped = new ArrayList<>(filters.size());
+        int start = 0;
+        while (start < filters.size()) {
+            final Filter first = filters.get(start);
+            int end = start + 1;
+            if (isGroupable(first)) {
+                while (end < filters.size()
+                        && isGroupable(filters.get(end))
+                        && filters.get(end).getOnMatch() == first.getOnMatch()) {
+                    end++;
+                }
+            }
+            grouped.add(
+                    end - start > 1 ? new MarkerGroupFilter(filters.subList(start, end), first.getOnMatch()) : first);
+            start = end;
+        }
+        return grouped.toArray(Filter.EMPTY_ARRAY);
+    }
+
+    private static boolean isGroupable(final Filter filter) {
+        return filter instanceof MarkerFilter && filter.getOnMismatch() == Result.NEUTRAL;
+    }
+
+    private Result filter(final Marker marker) {
+        if (marker == null) {
+            return onMismatch;
+        }
+        if (!marker.hasParents()) {
+            return names.contains(marker.getName()) ? onMatch : onMismatch;
+        }
+        for (final String name : nameArray) {
+            if (marker.isInstanceOf(name)) {
+                return onMatch;
+            }
+        }
+        return onMismatch;
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final String msg, final Object... params) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final Object msg, final Throwable t) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final Message msg, final Throwable t) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(final LogEvent event) {
+        return filter(event.getMarker());
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger, final Level level, final Marker marker, final String msg, final Object p0) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5,
+            final Object p6) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5,
+            final Object p6,
+            final Object p7) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5,
+            final Object p6,
+            final Object p7,
+            final Object p8) {
+        return filter(marker);
+    }
+
+    @Override
+    public Result filter(
+            final Logger logger,
+            final Level level,
+            final Marker marker,
+            final String msg,
+            final Object p0,
+            final Object p1,
+            final Object p2,
+            final Object p3,
+            final Object p4,
+            final Object p5,
+            final Object p6,
+            final Object p7,
+            final Object p8,
+            final Object p9) {
+        return filter(marker);
+    }
+
+    @Override
+    public String toString() {
+        return String.join(", ", nameArray);
+    }
+}
@@ -16,29 +16,25 @@
  */
 package org.apache.logging.log4j.core.filter;
 
-import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.greaterThan;
-import static org.hamcrest.Matchers.is;
-
-import java.util.concurrent.Delayed;
-import java.util.concurrent.TimeUnit;
-import org.junit.jupiter.api.Test;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter.Result;
 
 /**
- * Unit test for <code>BurstFilter</code>.
+ * A filter whose result, for some levels, does not depend on anything else than the level.
+ * <p>
+ *   Loggers use it to skip the evaluation of the context-wide filter in {@code isEnabled} checks, whose result is
+ *   known in advance.
+ *   The predicted results must not change during the lifetime of the filter.
+ * </p>
+ * @since 2.25.0
  */
-class BurstFilterLogDelayTest {
-
-    @Test
-    void testCompareToOverflow() {
-        // no overflow, but close
-        final Delayed d1 =
-                BurstFilter.createLogDelay(Long.MAX_VALUE - TimeUnit.SECONDS.toNanos(10) - System.nanoTime());
-
-        // Overflow
-        final Delayed d2 =
-                BurstFilter.createLogDelay(Long.MAX_VALUE + TimeUnit.SECONDS.toNanos(10) - System.nanoTime());
+public interface PredictableFilter {
 
-        assertThat(d2, is(greaterThan(d1)));
-    }
+    /**
+     * Returns the result of the filter for all the calls with the given level.
+     *
+     * @param level a level
+     * @return the result of the filter for the level, or {@code null} if it depends on other arguments
+     */
+    Result predict(Level level);
 }
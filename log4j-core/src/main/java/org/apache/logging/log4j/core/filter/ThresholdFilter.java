@@ -41,7 +41,7 @@ import org.apache.logging.log4j.util.PerformanceSensitive;
  */
 @Plugin(name = "ThresholdFilter", category = Node.CATEGORY, elementType = Filter.ELEMENT_TYPE, printObject = true)
 @PerformanceSensitive("allocation")
-public final class ThresholdFilter extends AbstractFilter {
+public final class ThresholdFilter extends AbstractFilter implements PredictableFilter {
 
     private final Level level;
 
@@ -68,6 +68,11 @@ public final class ThresholdFilter extends AbstractFilter {
         return filter(testLevel);
     }
 
+    @Override
+    public Result predict(final Level level) {
+        return filter(level);
+    }
+
     @Override
     public Result filter(final LogEvent event) {
         return filter(event.getLevel());
@@ -24,6 +24,8 @@ import org.apache.logging.log4j.core.pattern.PlainTextRenderer;
 import org.apache.logging.log4j.core.pattern.TextRenderer;
 import org.apache.logging.log4j.core.util.Integers;
 import org.apache.logging.log4j.core.util.Patterns;
+import org.apache.logging.log4j.core.util.internal.StackTraceDeduplicator;
+import org.apache.logging.log4j.status.StatusLogger;
 import org.apache.logging.log4j.util.Strings;
 
 /**
@@ -53,6 +55,11 @@ public final class ThrowableFormatOptions {
      */
     private static final String SHORT = "short";
 
+    /**
+     * Render repeated stack traces as a reference to the first one.
+     */
+    private static final String DEDUP = "dedup";
+
     /**
      * ANSI renderer
      */
@@ -70,6 +77,11 @@ public final class ThrowableFormatOptions {
 
     private final String suffix;
 
+    /**
+     * The stack trace deduplication window in milliseconds, zero if disabled.
+     */
+    private final long dedupWindowMillis;
+
     /**
      * The list of packages to filter.
      */
@@ -101,11 +113,38 @@ public final class ThrowableFormatOptions {
             final List<String> ignorePackages,
             final TextRenderer textRenderer,
             final String suffix) {
+        this(lines, separator, ignorePackages, textRenderer, suffix, 0);
+    }
+
+    /**
+     * Constructs the options for printing stack trace.
+     *
+     * @param lines
+     *            the number of lines
+     * @param separator
+     *            the stack trace separator
+     * @param ignorePackages
+     *            the packages to filter
+     * @param textRenderer
+     *            the ANSI renderer
+     * @param suffix Append this to the end of each stack frame.
+     * @param dedupWindowMillis
+     *            the stack trace deduplication window in milliseconds, zero to disable deduplication
+     * @since 2.25.0
+     */
+    protected ThrowableFormatOptions(
+            final int lines,
+            final String separator,
+            final List<String> ignorePackages,
+            final TextRenderer textRenderer,
+            final String suffix,
+            final long dedupWindowMillis) {
         this.lines = lines;
         this.separator = separator == null ? Strings.LINE_SEPARATOR : separator;
         this.ignorePackages = ignorePackages;
         this.textRenderer = textRenderer == null ? PlainTextRenderer.getInstance() : textRenderer;
         this.suffix = suffix;
+        this.dedupWindowMillis = dedupWindowMillis;
     }
 
     /**
@@ -217,6 +256,9 @@ public final class ThrowableFormatOptions {
             s.deleteCharAt(s.length() - 1);
             s.append(")}");
         }
+        if (this.dedupWindowMillis > 0) {
+            s.append("{dedup(").append(this.dedupWindowMillis).append(")}");
+        }
         return s.toString();
     }
 
@@ -256,6 +298,7 @@ public final class ThrowableFormatOptions {
         List<String> packages = DEFAULT.ignorePackages;
         TextRenderer ansiRenderer = DEFAULT.textRenderer;
         String suffix = DEFAULT.getSuffix();
+        long dedupWindowMillis = DEFAULT.dedupWindowMillis;
         for (final String rawOption : options) {
             if (rawOption != null) {
                 final String option = rawOption.trim();
@@ -297,15 +340,50 @@ public final class ThrowableFormatOptions {
                     suffix = option.substring("S(".length(), option.length() - 1);
                 } else if (option.startsWith("suffix(") && option.endsWith(")")) {
                     suffix = option.substring("suffix(".length(), option.length() - 1);
+                } else if (option.equalsIgnoreCase(DEDUP)) {
+                    dedupWindowMillis = StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS;
+                } else if (option.startsWith("dedup(") && option.endsWith(")")) {
+                    dedupWindowMillis =
+                            parseDedupWindow(option.substring("dedup(".length(), option.length() - 1));
                 } else if (!option.equalsIgnoreCase(FULL)) {
                     lines = Integers.parseInt(option);
                 }
             }
         }
-        return new ThrowableFormatOptions(lines, separator, packages, ansiRenderer, suffix);
+        return new ThrowableFormatOptions(lines, separator, packages, ansiRenderer, suffix, dedupWindowMillis);
+    }
+
+    /**
+     * Parses the deduplication window in milliseconds, using the default window if it is not valid.
+     */
+    private static long parseDedupWindow(final String value) {
+        try {
+            final long windowMillis = Long.parseLong(value.trim());
+            if (windowMillis >= 0) {
+                return windowMillis;
+            }
+        } catch (final NumberFormatException ignored) {
+            // Reported below
+        }
+        StatusLogger.getLogger()
+                .error(
+                        "Invalid stack trace deduplication window `{}`, using {} milliseconds instead.",
+                        value,
+                        StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS);
+        return StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS;
     }
 
     public String getSuffix() {
         return suffix;
     }
+
+    /**
+     * Returns the stack trace deduplication window.
+     *
+     * @return the deduplication window in milliseconds, zero if stack traces are not deduplicated.
+     * @since 2.25.0
+     */
+    public long getDedupWindowMillis() {
+        return dedupWindowMillis;
+    }
 }
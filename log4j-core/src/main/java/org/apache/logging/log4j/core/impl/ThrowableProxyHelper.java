@@ -16,17 +16,15 @@
  */
 package org.apache.logging.log4j.core.impl;
 
-import java.net.URL;
-import java.security.CodeSource;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import org.apache.logging.log4j.core.util.Loader;
+import org.apache.logging.log4j.core.util.internal.ClassResourceCache;
+import org.apache.logging.log4j.core.util.internal.ClassResourceCache.ClassResource;
 import org.apache.logging.log4j.status.StatusLogger;
-import org.apache.logging.log4j.util.LoaderUtil;
 
 /**
  * {@link ThrowableProxyHelper} provides utilities required to initialize a new {@link ThrowableProxy}
@@ -35,6 +33,8 @@ import org.apache.logging.log4j.util.LoaderUtil;
 @Deprecated
 final class ThrowableProxyHelper {
 
+    private static final ClassResourceCache CACHE = ClassResourceCache.getInstance();
+
     private ThrowableProxyHelper() {
         // Utility Class
     }
@@ -96,7 +96,7 @@ final class ThrowableProxyHelper {
             // present as those methods have returned.
             ExtendedClassInfo extClassInfo;
             if (clazz != null && className.equals(clazz.getName())) {
-                final CacheEntry entry = toCacheEntry(clazz, true);
+                final CacheEntry entry = toCacheEntry(CACHE.get(clazz), true);
                 extClassInfo = entry.element;
                 lastLoader = entry.loader;
                 stack.pollLast();
@@ -110,7 +110,7 @@ final class ThrowableProxyHelper {
                         lastLoader = entry.loader;
                     }
                 } else {
-                    final CacheEntry entry = toCacheEntry(ThrowableProxyHelper.loadClass(lastLoader, className), false);
+                    final CacheEntry entry = toCacheEntry(CACHE.resolve(lastLoader, className), false);
                     extClassInfo = entry.element;
                     map.put(className, entry);
                     if (entry.loader != null) {
@@ -149,82 +149,12 @@ final class ThrowableProxyHelper {
     /**
      * Construct the CacheEntry from the Class's information.
      *
-     * @param callerClass       The Class.
+     * @param resource          The cached resource information of the Class.
      * @param exact             True if the class was obtained via Reflection.getCallerClass.
      * @return The CacheEntry.
      */
-    private static CacheEntry toCacheEntry(final Class<?> callerClass, final boolean exact) {
-        String location = "?";
-        String version = "?";
-        ClassLoader lastLoader = null;
-        if (callerClass != null) {
-            try {
-                final CodeSource source = callerClass.getProtectionDomain().getCodeSource();
-                if (source != null) {
-                    final URL locationURL = source.getLocation();
-                    if (locationURL != null) {
-                        final String str = locationURL.toString().replace('\\', '/');
-                        int index = str.lastIndexOf("/");
-                        if (index >= 0 && index == str.length() - 1) {
-                            index = str.lastIndexOf("/", index - 1);
-                        }
-                        location = str.substring(index + 1);
-                    }
-                }
-            } catch (final Exception ex) {
-                // Ignore the exception.
-            }
-            final Package pkg = callerClass.getPackage();
-            if (pkg != null) {
-                final String ver = pkg.getImplementationVersion();
-                if (ver != null) {
-                    version = ver;
-                }
-            }
-            try {
-                lastLoader = callerClass.getClassLoader();
-            } catch (final SecurityException e) {
-                lastLoader = null;
-            }
-        }
-        return new CacheEntry(new ExtendedClassInfo(exact, location, version), lastLoader);
-    }
-
-    /**
-     * Loads classes not located via Reflection.getCallerClass.
-     *
-     * @param lastLoader The ClassLoader that loaded the Class that called this Class.
-     * @param className  The name of the Class.
-     * @return The Class object for the Class or null if it could not be located.
-     */
-    private static Class<?> loadClass(final ClassLoader lastLoader, final String className) {
-        // XXX: this is overly complicated
-        Class<?> clazz;
-        if (lastLoader != null) {
-            try {
-                clazz = lastLoader.loadClass(className);
-                if (clazz != null) {
-                    return clazz;
-                }
-            } catch (final Throwable ignore) {
-                // Ignore exception.
-            }
-        }
-        try {
-            clazz = LoaderUtil.loadClass(className);
-        } catch (final ClassNotFoundException | NoClassDefFoundError e) {
-            return loadClass(className);
-        } catch (final SecurityException e) {
-            return null;
-        }
-        return clazz;
-    }
-
-    private static Class<?> loadClass(final String className) {
-        try {
-            return Loader.loadClass(className, ThrowableProxyHelper.class.getClassLoader());
-        } catch (final ClassNotFoundException | NoClassDefFoundError | SecurityException e) {
-            return null;
-        }
+    private static CacheEntry toCacheEntry(final ClassResource resource, final boolean exact) {
+        return new CacheEntry(
+                new ExtendedClassInfo(exact, resource.getLocation(), resource.getVersion()), resource.getClassLoader());
     }
 }
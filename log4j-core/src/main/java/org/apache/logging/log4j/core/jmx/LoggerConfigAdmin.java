@@ -77,7 +77,7 @@ public class LoggerConfigAdmin implements LoggerConfigAdminMBean {
     @Override
     public void setLevel(final String level) {
         loggerConfig.setLevel(Level.getLevel(level));
-        loggerContext.updateLoggers();
+        loggerContext.updateLoggers(loggerConfig.getName());
     }
 
     @Override
@@ -88,7 +88,7 @@ public class LoggerConfigAdmin implements LoggerConfigAdminMBean {
     @Override
     public void setAdditive(final boolean additive) {
         loggerConfig.setAdditive(additive);
-        loggerContext.updateLoggers();
+        loggerContext.updateLoggers(loggerConfig.getName());
     }
 
     @Override
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.layout;
+
+import java.util.List;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.Node;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderAttribute;
+import org.apache.logging.log4j.core.config.plugins.PluginBuilderFactory;
+import org.apache.logging.log4j.core.config.plugins.PluginConfiguration;
+import org.apache.logging.log4j.core.config.plugins.PluginElement;
+import org.apache.logging.log4j.core.impl.LocationAware;
+import org.apache.logging.log4j.core.pattern.PatternFormatter;
+import org.apache.logging.log4j.core.pattern.PatternParser;
+import org.apache.logging.log4j.core.util.internal.EventExpression;
+import org.apache.logging.log4j.status.StatusLogger;
+
+/**
+ * Selects the pattern of the first {@link PatternMatch} whose key is an expression matching the LogEvent.
+ * <p>
+ *   The expressions are compiled once, when the selector is created, and evaluated without a script engine.
+ *   See {@link EventExpression} for their syntax.
+ * </p>
+ * @since 2.25.0
+ */
+@Plugin(
+        name = "ExpressionPatternSelector",
+        category = Node.CATEGORY,
+        elementType = PatternSelector.ELEMENT_TYPE,
+        printObject = true)
+public class ExpressionPatternSelector implements PatternSelector, LocationAware {
+
+    /**
+     * Custom ExpressionPatternSelector builder. Use the {@link ExpressionPatternSelector#newBuilder() builder factory method} to create this.
+     */
+    public static class Builder implements org.apache.logging.log4j.core.util.Builder<ExpressionPatternSelector> {
+
+        @PluginElement("PatternMatch")
+        private PatternMatch[] properties;
+
+        @PluginBuilderAttribute("defaultPattern")
+        private String defaultPattern;
+
+        @PluginBuilderAttribute(value = "alwaysWriteExceptions")
+        private boolean alwaysWriteExceptions = true;
+
+        @PluginBuilderAttribute(value = "disableAnsi")
+        private boolean disableAnsi;
+
+        @PluginBuilderAttribute(value = "noConsoleNoAnsi")
+        private boolean noConsoleNoAnsi;
+
+        @PluginConfiguration
+        private Configuration configuration;
+
+        @Override
+        public ExpressionPatternSelector build() {
+            if (defaultPattern == null) {
+                defaultPattern = PatternLayout.DEFAULT_CONVERSION_PATTERN;
+            }
+            if (properties == null || properties.length == 0) {
+                LOGGER.warn("No expression patterns were provided with PatternMatch");
+                return null;
+            }
+            final EventExpression[] expressions = new EventExpression[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                try {
+                    expressions[i] = EventExpression.compile(properties[i].getKey());
+                } catch (final IllegalArgumentException e) {
+                    LOGGER.error(e.getMessage());
+                    return null;
+                }
+            }
+            return new ExpressionPatternSelector(
+                    properties,
+                    expressions,
+                    defaultPattern,
+                    alwaysWriteExceptions,
+                    disableAnsi,
+                    noConsoleNoAnsi,
+                    configuration);
+        }
+
+        public Builder setProperties(final PatternMatch[] properties) {
+            this.properties = properties;
+            return this;
+        }
+
+        public Builder setDefaultPattern(final String defaultPattern) {
+            this.defaultPattern = defaultPattern;
+            return this;
+        }
+
+        public Builder setAlwaysWriteExceptions(final boolean alwaysWriteExceptions) {
+            this.alwaysWriteExceptions = alwaysWriteExceptions;
+            return this;
+        }
+
+        public Builder setDisableAnsi(final boolean disableAnsi) {
+            this.disableAnsi = disableAnsi;
+            return this;
+        }
+
+        public Builder setNoConsoleNoAnsi(final boolean noConsoleNoAnsi) {
+            this.noConsoleNoAnsi = noConsoleNoAnsi;
+            return this;
+        }
+
+        public Builder setConfiguration(final Configuration configuration) {
+            this.configuration = configuration;
+            return this;
+        }
+    }
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private final PatternMatch[] properties;
+
+    private final EventExpression[] expressions;
+
+    // The formatters of each expression, in the same order
+    private final PatternFormatter[][] formatters;
+
+    private final PatternFormatter[] defaultFormatters;
+
+    private final String defaultPattern;
+
+    private final boolean requiresLocation;
+
+    private ExpressionPatternSelector(
+            final PatternMatch[] properties,
+            final EventExpression[] expressions,
+            final String defaultPattern,
+            final boolean alwaysWriteExceptions,
+            final boolean disableAnsi,
+            final boolean noConsoleNoAnsi,
+            final Configuration config) {
+        boolean needsLocation = false;
+        final PatternParser parser = PatternLayout.createPatternParser(config);
+        formatters = new PatternFormatter[properties.length][];
+        for (int i = 0; i < properties.length; i++) {
+            final PatternMatch property = properties[i];
+            try {
+                final List<PatternFormatter> list =
+                        parser.parse(property.getPattern(), alwaysWriteExceptions, disableAnsi, noConsoleNoAnsi);
+                formatters[i] = list.toArray(PatternFormatter.EMPTY_ARRAY);
+                for (int j = 0; !needsLocation && j < formatters[i].length; ++j) {
+                    needsLocation = formatters[i][j].requiresLocation();
+                }
+            } catch (final RuntimeException ex) {
+                throw new IllegalArgumentException("Cannot parse pattern '" + property.getPattern() + "'", ex);
+            }
+        }
+        try {
+            final List<PatternFormatter> list =
+                    parser.parse(defaultPattern, alwaysWriteExceptions, disableAnsi, noConsoleNoAnsi);
+            defaultFormatters = list.toArray(PatternFormatter.EMPTY_ARRAY);
+            for (int i = 0; !needsLocation && i < defaultFormatters.length; ++i) {
+                needsLocation = defaultFormatters[i].requiresLocation();
+            }
+        } catch (final RuntimeException ex) {
+            throw new IllegalArgumentException("Cannot parse pattern '" + defaultPattern + "'", ex);
+        }
+        this.properties = properties;
+        this.expressions = expressions;
+        this.defaultPattern = defaultPattern;
+        this.requiresLocation = needsLocation;
+    }
+
+    @Override
+    public boolean requiresLocation() {
+        return requiresLocation;
+    }
+
+    @Override
+    public PatternFormatter[] getFormatters(final LogEvent event) {
+        for (int i = 0; i < expressions.length; i++) {
+            if (expressions[i].test(event)) {
+                return formatters[i];
+            }
+        }
+        return defaultFormatters;
+    }
+
+    /**
+     * Creates a builder for a custom ExpressionPatternSelector.
+     *
+     * @return a ExpressionPatternSelector builder.
+     */
+    @PluginBuilderFactory
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        for (final PatternMatch property : properties) {
+            sb.append("key=\"")
+                    .append(property.getKey())
+                    .append("\", pattern=\"")
+                    .append(property.getPattern())
+                    .append("\", ");
+        }
+        sb.append("default=\"").append(defaultPattern).append("\"");
+        return sb.toString();
+    }
+}
@@ -16,9 +16,8 @@
  */
 package org.apache.logging.log4j.core.pattern;
 
-import java.net.URL;
-import java.security.CodeSource;
 import java.util.function.Consumer;
+import org.apache.logging.log4j.core.util.internal.ClassResourceCache.ClassResource;
 
 /**
  * Resource information (i.e., the enclosing JAR file and its version) of a class.
@@ -29,24 +28,24 @@ final class ClassResourceInfo {
 
     private final Consumer<StringBuilder> renderer;
 
-    final Class<?> clazz;
+    final ClassResource resource;
 
     /**
      * Constructs an instance modelling an unknown class resource.
      */
     private ClassResourceInfo() {
         this.renderer = (buffer) -> buffer.append("~[?:?]");
-        clazz = null;
+        resource = ClassResource.UNKNOWN;
     }
 
     /**
-     * @param clazz the class
+     * @param resource the cached resource information of the class
      * @param exact {@code true}, if the class was obtained via reflection; {@code false}, otherwise
      */
-    ClassResourceInfo(final Class<?> clazz, final boolean exact) {
+    ClassResourceInfo(final ClassResource resource, final boolean exact) {
         final String exactnessPrefix = exact ? "" : "~";
-        final String location = getLocation(clazz);
-        final String version = getVersion(clazz);
+        final String location = resource.getLocation();
+        final String version = resource.getVersion();
         this.renderer = (buffer) -> {
             buffer.append(exactnessPrefix);
             buffer.append("[");
@@ -55,38 +54,7 @@ final class ClassResourceInfo {
             buffer.append(version);
             buffer.append("]");
         };
-        this.clazz = clazz;
-    }
-
-    private static String getLocation(final Class<?> clazz) {
-        try {
-            final CodeSource source = clazz.getProtectionDomain().getCodeSource();
-            if (source != null) {
-                final URL locationUrl = source.getLocation();
-                if (locationUrl != null) {
-                    final String normalizedLocationUrl = locationUrl.toString().replace('\\', '/');
-                    int separatorIndex = normalizedLocationUrl.lastIndexOf("/");
-                    if (separatorIndex >= 0 && separatorIndex == normalizedLocationUrl.length() - 1) {
-                        separatorIndex = normalizedLocationUrl.lastIndexOf("/", separatorIndex - 1);
-                    }
-                    return normalizedLocationUrl.substring(separatorIndex + 1);
-                }
-            }
-        } catch (final Exception ignored) {
-            // Do nothing
-        }
-        return "?";
-    }
-
-    private static String getVersion(final Class<?> clazz) {
-        final Package classPackage = clazz.getPackage();
-        if (classPackage != null) {
-            final String version = classPackage.getImplementationVersion();
-            if (version != null) {
-                return version;
-            }
-        }
-        return "?";
+        this.resource = resource;
     }
 
     void render(final StringBuilder buffer) {
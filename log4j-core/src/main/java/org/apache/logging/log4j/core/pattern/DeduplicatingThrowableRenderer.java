@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.pattern;
+
+import static org.apache.logging.log4j.util.Strings.LINE_SEPARATOR;
+
+import org.apache.logging.log4j.core.util.internal.StackTraceDeduplicator;
+import org.jspecify.annotations.NullMarked;
+
+/**
+ * {@link ThrowableRenderer} decorator rendering a stack trace in full only on its first occurrence within a time window.
+ * <p>
+ * The first line of the full rendering is tagged with the {@linkplain StackTraceDeduplicator#fingerprint(Throwable) fingerprint}
+ * of the stack trace, e.g., {@code java.lang.IllegalStateException: foo [stack #5e4c3a2b1d0f9e8d]}.
+ * Later occurrences are rendered as the throwable message followed by a reference, e.g., {@code java.lang.IllegalStateException: bar [stack #5e4c3a2b1d0f9e8d seen 3 times]}.
+ * </p>
+ */
+@NullMarked
+final class DeduplicatingThrowableRenderer implements ThrowableRenderer {
+
+    private final ThrowableRenderer delegate;
+
+    private final StackTraceDeduplicator deduplicator;
+
+    DeduplicatingThrowableRenderer(final ThrowableRenderer delegate, final StackTraceDeduplicator deduplicator) {
+        this.delegate = delegate;
+        this.deduplicator = deduplicator;
+    }
+
+    @Override
+    public void renderThrowable(final StringBuilder buffer, final Throwable throwable, final String lineSeparator) {
+        final long fingerprint = StackTraceDeduplicator.fingerprint(throwable);
+        final int count = deduplicator.record(fingerprint);
+        if (count == 1) {
+            renderTagged(buffer, throwable, lineSeparator, fingerprint);
+        } else {
+            renderReference(buffer, throwable, lineSeparator, fingerprint, count);
+        }
+    }
+
+    private void renderTagged(
+            final StringBuilder buffer, final Throwable throwable, final String lineSeparator, final long fingerprint) {
+        final int startIndex = buffer.length();
+        final boolean newlineRequired = startIndex > 0 && buffer.charAt(startIndex - 1) != '\n';
+        delegate.renderThrowable(buffer, throwable, lineSeparator);
+        if (buffer.length() == startIndex) {
+            return;
+        }
+        // Skip the newline the delegate prepends to separate the stack trace from the preceding output
+        final int messageIndex = newlineRequired ? startIndex + LINE_SEPARATOR.length() : startIndex;
+        final int messageEndIndex = buffer.indexOf(lineSeparator, messageIndex);
+        final String tag = " [stack #" + StackTraceDeduplicator.formatFingerprint(fingerprint) + "]";
+        buffer.insert(messageEndIndex >= 0 ? messageEndIndex : buffer.length(), tag);
+    }
+
+    private static void renderReference(
+            final StringBuilder buffer,
+            final Throwable throwable,
+            final String lineSeparator,
+            final long fingerprint,
+            final int count) {
+        final int bufferLength = buffer.length();
+        if (bufferLength > 0 && buffer.charAt(bufferLength - 1) != '\n') {
+            buffer.append(LINE_SEPARATOR);
+        }
+        ThrowableStackTraceRenderer.renderThrowableMessage(buffer, throwable);
+        buffer.append(' ');
+        buffer.append(StackTraceDeduplicator.formatReference(fingerprint, count));
+        buffer.append(lineSeparator);
+    }
+}
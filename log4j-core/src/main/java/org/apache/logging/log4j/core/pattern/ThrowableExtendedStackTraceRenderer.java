@@ -25,7 +25,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
-import org.apache.logging.log4j.util.LoaderUtil;
+import org.apache.logging.log4j.core.util.internal.ClassResourceCache;
+import org.apache.logging.log4j.core.util.internal.ClassResourceCache.ClassResource;
 import org.apache.logging.log4j.util.StackLocatorUtil;
 
 /**
@@ -35,7 +36,8 @@ final class ThrowableExtendedStackTraceRenderer
         extends ThrowableStackTraceRenderer<ThrowableExtendedStackTraceRenderer.ExtendedContext> {
 
     ThrowableExtendedStackTraceRenderer(final List<String> ignoredPackageNames, final int maxLineCount) {
-        super(ignoredPackageNames, maxLineCount);
+        // Whether a class is resolved exactly depends on the stack of the caller, so renderings can not be reused
+        super(ignoredPackageNames, maxLineCount, false);
     }
 
     @Override
@@ -108,7 +110,8 @@ final class ThrowableExtendedStackTraceRenderer
 
             // Mapping a class name to a `ClassResourceInfo` is an expensive operation.
             // Next to `ClassResourceInfo` allocation, it requires extraction of the associated `Class`.
-            // We will use this lookup table to speed things up.
+            // The process-wide `ClassResourceCache` spares loading classes and inspecting their code source
+            // across exceptions, this lookup table spares cache lookups within the same exception.
             final Map<String, ClassResourceInfo> classResourceInfoByName = new HashMap<>();
 
             // Walk over the causal chain
@@ -145,62 +148,35 @@ final class ThrowableExtendedStackTraceRenderer
                     ClassResourceInfo classResourceInfo =
                             classResourceInfoByName.get(throwableStackTraceElementClassName);
                     if (classResourceInfo != null) {
-                        if (classResourceInfo.clazz != null) {
-                            lastLoader = classResourceInfo.clazz.getClassLoader();
+                        final ClassLoader loader = classResourceInfo.resource.getClassLoader();
+                        if (loader != null) {
+                            lastLoader = loader;
                         }
                     }
 
                     // See if we get a match from the execution stack trace
                     else if (executionStackTraceElementClass != null
                             && throwableStackTraceElementClassName.equals(executionStackTraceElementClass.getName())) {
-                        classResourceInfo = new ClassResourceInfo(executionStackTraceElementClass, true);
+                        classResourceInfo = new ClassResourceInfo(CACHE.get(executionStackTraceElementClass), true);
                         classResourceInfoByName.put(throwableStackTraceElementClassName, classResourceInfo);
-                        lastLoader = classResourceInfo.clazz.getClassLoader();
+                        lastLoader = classResourceInfo.resource.getClassLoader();
                         executionStackTrace.pollLast();
                         executionStackTraceElementClass = executionStackTrace.peekLast();
                     }
 
                     // We don't know this class name, try to load it using the last found loader
                     else {
-                        final Class<?> stackTraceElementClass =
-                                loadClass(lastLoader, throwableStackTraceElementClassName);
-                        classResourceInfo = stackTraceElementClass != null
-                                ? new ClassResourceInfo(stackTraceElementClass, false)
-                                : ClassResourceInfo.UNKNOWN;
+                        final ClassResource resource = CACHE.resolve(lastLoader, throwableStackTraceElementClassName);
+                        classResourceInfo = resource.isUnknown()
+                                ? ClassResourceInfo.UNKNOWN
+                                : new ClassResourceInfo(resource, false);
                         classResourceInfoByName.put(throwableStackTraceElementClassName, classResourceInfo);
                     }
                 }
             }
             return classResourceInfoByName;
         }
-
-        private static Class<?> loadClass(final ClassLoader loader, final String className) {
-            for (final ClassLoadingStrategy strategy : CLASS_LOADING_STRATEGIES) {
-                try {
-                    final Class<?> clazz = strategy.run(loader, className);
-                    if (clazz != null) {
-                        return clazz;
-                    }
-                } catch (final Exception ignored) {
-                    // Do nothing
-                }
-            }
-            return null;
-        }
     }
 
-    private static final ClassLoadingStrategy[] CLASS_LOADING_STRATEGIES = {
-        // 1. Try the passed class loader
-        (loader, className) -> loader != null ? loader.loadClass(className) : null,
-        // 2. Try the `LoaderUtil` magic
-        (loader, className) -> LoaderUtil.loadClass(className),
-        // 3. Try the current class loader
-        (loader, className) ->
-                ThrowableExtendedStackTraceRenderer.class.getClassLoader().loadClass(className)
-    };
-
-    private interface ClassLoadingStrategy {
-
-        Class<?> run(final ClassLoader loader, final String className) throws Exception;
-    }
+    private static final ClassResourceCache CACHE = ClassResourceCache.getInstance();
 }
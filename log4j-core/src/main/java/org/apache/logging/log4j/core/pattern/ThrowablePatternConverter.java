@@ -27,6 +27,7 @@ import org.apache.logging.log4j.core.config.Configuration;
 import org.apache.logging.log4j.core.config.plugins.Plugin;
 import org.apache.logging.log4j.core.impl.ThrowableFormatOptions;
 import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.core.util.internal.StackTraceDeduplicator;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -234,7 +235,14 @@ public class ThrowablePatternConverter extends LogEventPatternConverter {
         final ThrowableStackTraceRendererFactory effectiveStackTraceRendererFactory = stackTraceRendererFactory != null
                 ? stackTraceRendererFactory
                 : ThrowableStackTraceRendererFactory.INSTANCE;
-        return effectiveStackTraceRendererFactory.createStackTraceRenderer(options);
+        final ThrowableRenderer stackTraceRenderer =
+                effectiveStackTraceRendererFactory.createStackTraceRenderer(options);
+
+        // Deduplicate repeated stack traces, if requested
+        return options.getDedupWindowMillis() > 0 && options.anyLines()
+                ? new DeduplicatingThrowableRenderer(
+                        stackTraceRenderer, new StackTraceDeduplicator(options.getDedupWindowMillis()))
+                : stackTraceRenderer;
     }
 
     /**
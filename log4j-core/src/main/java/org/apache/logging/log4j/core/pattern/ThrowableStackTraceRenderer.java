@@ -23,6 +23,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import org.apache.logging.log4j.core.util.internal.RenderedThrowableCache;
 import org.jspecify.annotations.NullMarked;
 import org.jspecify.annotations.Nullable;
 
@@ -44,24 +45,51 @@ class ThrowableStackTraceRenderer<C extends ThrowableStackTraceRenderer.Context>
 
     final int maxLineCount;
 
+    /**
+     * Renderings of the last rendered throwables, keyed by line separator, since the rest of the options are fixed per renderer.
+     * <p>
+     * {@code null}, if the rendering also depends on the context of the caller.
+     * </p>
+     */
+    private final @Nullable RenderedThrowableCache renderingCache;
+
     ThrowableStackTraceRenderer(final List<String> ignoredPackageNames, final int maxLineCount) {
+        this(ignoredPackageNames, maxLineCount, true);
+    }
+
+    ThrowableStackTraceRenderer(
+            final List<String> ignoredPackageNames, final int maxLineCount, final boolean cacheRenderings) {
         this.ignoredPackageNames = ignoredPackageNames;
         this.maxLineCount = maxLineCount;
+        this.renderingCache = cacheRenderings ? new RenderedThrowableCache() : null;
     }
 
     @Override
     public final void renderThrowable(
             final StringBuilder buffer, final Throwable throwable, final String lineSeparator) {
         if (maxLineCount > 0) {
+            ensureNewlineSuffix(buffer);
+
+            // Short-circuit if the same instance was already rendered
+            final @Nullable String rendering =
+                    renderingCache != null ? renderingCache.get(throwable, lineSeparator) : null;
+            if (rendering != null) {
+                buffer.append(rendering);
+                return;
+            }
+
+            final int startIndex = buffer.length();
             try {
                 C context = createContext(throwable);
-                ensureNewlineSuffix(buffer);
                 renderThrowable(buffer, throwable, context, new HashSet<>(), lineSeparator);
             } catch (final Exception error) {
                 if (error != MAX_LINE_COUNT_EXCEEDED) {
                     throw error;
                 }
             }
+            if (renderingCache != null) {
+                renderingCache.put(throwable, lineSeparator, buffer.substring(startIndex));
+            }
         }
     }
 
@@ -16,6 +16,8 @@
  */
 package org.apache.logging.log4j.core.selector;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.net.URI;
 import java.util.ArrayList;
@@ -54,6 +56,23 @@ public class ClassLoaderContextSelector implements ContextSelector, LoggerContex
     protected static final ConcurrentMap<String, AtomicReference<WeakReference<LoggerContext>>> CONTEXT_MAP =
             new ConcurrentHashMap<>();
 
+    /**
+     * Contexts resolved for class loaders without an external entry or configuration location.
+     * <p>
+     *   This cache spares the computation of the {@link #CONTEXT_MAP} key and the lookup of the parent class loaders.
+     *   Both class loaders and contexts are weakly referenced, and the cache is cleared whenever a context is added or
+     *   removed.
+     * </p>
+     */
+    private final ConcurrentMap<LoaderKey, WeakReference<LoggerContext>> contextByLoader = new ConcurrentHashMap<>();
+
+    private final ReferenceQueue<ClassLoader> staleLoaderKeys = new ReferenceQueue<>();
+
+    /**
+     * Incremented on each clear of {@link #contextByLoader}, so that contexts resolved concurrently are not cached.
+     */
+    private volatile int contextByLoaderGeneration;
+
     private final Lazy<LoggerContext> defaultLoggerContext = Lazy.lazy(() -> createContext(defaultContextName(), null));
 
     @Override
@@ -155,6 +174,7 @@ public class ClassLoaderContextSelector implements ContextSelector, LoggerContex
 
     @Override
     public void removeContext(final LoggerContext context) {
+        clearContextCache();
         for (final Map.Entry<String, AtomicReference<WeakReference<LoggerContext>>> entry : CONTEXT_MAP.entrySet()) {
             final LoggerContext ctx = entry.getValue().get().get();
             if (ctx == context) {
@@ -186,6 +206,47 @@ public class ClassLoaderContextSelector implements ContextSelector, LoggerContex
             final ClassLoader loaderOrNull, final Map.Entry<String, Object> entry, final URI configLocation) {
         // LOG4J2-477: class loader may be null
         final ClassLoader loader = loaderOrNull != null ? loaderOrNull : ClassLoader.getSystemClassLoader();
+        if (entry == null && configLocation == null) {
+            final LoggerContext cachedCtx = getCachedContext(loader);
+            if (cachedCtx != null) {
+                return cachedCtx;
+            }
+            final int generation = contextByLoaderGeneration;
+            final LoggerContext ctx = locateContext0(loader, null, null);
+            cacheContext(loader, ctx, generation);
+            return ctx;
+        }
+        return locateContext0(loader, entry, configLocation);
+    }
+
+    private LoggerContext getCachedContext(final ClassLoader loader) {
+        final WeakReference<LoggerContext> ctxRef = contextByLoader.get(new LoaderKey(loader));
+        final LoggerContext ctx = ctxRef != null ? ctxRef.get() : null;
+        // Stopped contexts are about to be removed from the context map
+        return ctx != null && !ctx.isStopping() && !ctx.isStopped() ? ctx : null;
+    }
+
+    private void cacheContext(final ClassLoader loader, final LoggerContext ctx, final int generation) {
+        Reference<? extends ClassLoader> staleKey;
+        while ((staleKey = staleLoaderKeys.poll()) != null) {
+            contextByLoader.remove(staleKey);
+        }
+        final LoaderKey key = new LoaderKey(loader, staleLoaderKeys);
+        final WeakReference<LoggerContext> ctxRef = new WeakReference<>(ctx);
+        contextByLoader.put(key, ctxRef);
+        // Discard the entry if the cache was cleared while the context was being resolved
+        if (contextByLoaderGeneration != generation) {
+            contextByLoader.remove(key, ctxRef);
+        }
+    }
+
+    private void clearContextCache() {
+        contextByLoaderGeneration++;
+        contextByLoader.clear();
+    }
+
+    private LoggerContext locateContext0(
+            final ClassLoader loader, final Map.Entry<String, Object> entry, final URI configLocation) {
         final String name = toContextMapKey(loader);
         AtomicReference<WeakReference<LoggerContext>> ref = CONTEXT_MAP.get(name);
         if (ref == null) {
@@ -231,6 +292,8 @@ public class ClassLoaderContextSelector implements ContextSelector, LoggerContex
                     .get();
             if (newContext == ctx) {
                 ctx.addShutdownListener(this);
+                // The new context might supersede the one of a parent class loader
+                clearContextCache();
             }
             return newContext;
         }
@@ -276,4 +339,39 @@ public class ClassLoaderContextSelector implements ContextSelector, LoggerContex
     protected String defaultContextName() {
         return "Default";
     }
+
+    /**
+     * A weak reference to a class loader, compared by identity.
+     */
+    private static final class LoaderKey extends WeakReference<ClassLoader> {
+
+        private final int hashCode;
+
+        private LoaderKey(final ClassLoader loader) {
+            super(loader);
+            this.hashCode = System.identityHashCode(loader);
+        }
+
+        private LoaderKey(final ClassLoader loader, final ReferenceQueue<ClassLoader> queue) {
+            super(loader, queue);
+            this.hashCode = System.identityHashCode(loader);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof LoaderKey)) {
+                return false;
+            }
+            final ClassLoader loader = get();
+            return loader != null && loader == ((LoaderKey) object).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
 }
@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util;
+
+import aQute.bnd.annotation.Resolution;
+import aQute.bnd.annotation.spi.ServiceProvider;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.status.StatusLogger;
+import org.apache.logging.log4j.util.PropertiesUtil;
+
+/**
+ * Reports the modifications of local configuration files to their {@link WatchManager}, using the
+ * {@link WatchService} of the file system, instead of polling their last modification time.
+ * <p>
+ *   Only active if the {@value #ENABLED_PROPERTY} property is {@code true}.
+ *   Remote sources, like the ones of {@link org.apache.logging.log4j.core.config.HttpWatcher}, and files whose
+ *   directory cannot be watched are still polled.
+ * </p>
+ * <p>
+ *   Any event in the directory of a configuration file causes its last modification time to be checked, so that the
+ *   replacement of a symbolic link, as done by Kubernetes for mounted config maps, is detected too.
+ *   Note that the modifications made by other hosts to a file on a network file system might not be reported.
+ * </p>
+ *
+ * @since 2.25.0
+ */
+@ServiceProvider(value = WatchEventService.class, resolution = Resolution.OPTIONAL)
+public class FileSystemWatchEventService implements WatchEventService {
+
+    static final String ENABLED_PROPERTY = "log4j2.configurationWatchServiceEnabled";
+
+    private static final Logger LOGGER = StatusLogger.getLogger();
+
+    private static final Log4jThreadFactory THREAD_FACTORY =
+            Log4jThreadFactory.createDaemonThreadFactory("ConfigurationWatchService");
+
+    // `ServiceLoader` creates an instance per `WatchManager`, hence the shared state
+    private static final Object LOCK = new Object();
+
+    // Guarded by `LOCK`, closed as soon as no file is watched, so that the event thread terminates
+    private static WatchService watchService;
+
+    // Guarded by `LOCK`
+    private static final Map<Path, WatchKey> keyByDirectory = new HashMap<>();
+
+    // Guarded by `LOCK`
+    private static final Map<WatchKey, List<Subscription>> subscriptionsByKey = new HashMap<>();
+
+    private final boolean enabled;
+
+    public FileSystemWatchEventService() {
+        this(PropertiesUtil.getProperties().getBooleanProperty(ENABLED_PROPERTY, false));
+    }
+
+    FileSystemWatchEventService(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void subscribe(final WatchManager manager) {
+        if (!enabled) {
+            return;
+        }
+        for (final Source source : manager.getConfigurationWatchers().keySet()) {
+            final File file = source.getFile();
+            final Path directory = file != null ? file.toPath().toAbsolutePath().getParent() : null;
+            if (directory != null && subscribe(new Subscription(manager, source), directory)) {
+                manager.setPolled(source, false);
+                LOGGER.debug("Watching configuration `{}` for file system events", source);
+            }
+        }
+    }
+
+    private static boolean subscribe(final Subscription subscription, final Path directory) {
+        synchronized (LOCK) {
+            try {
+                WatchKey key = keyByDirectory.get(directory);
+                if (key == null) {
+                    if (watchService == null) {
+                        watchService = FileSystems.getDefault().newWatchService();
+                        final WatchService service = watchService;
+                        THREAD_FACTORY.newThread(() -> processEvents(service)).start();
+                    }
+                    key = directory.register(
+                            watchService,
+                            StandardWatchEventKinds.ENTRY_CREATE,
+                            StandardWatchEventKinds.ENTRY_DELETE,
+                            StandardWatchEventKinds.ENTRY_MODIFY);
+                    keyByDirectory.put(directory, key);
+                }
+                subscriptionsByKey.computeIfAbsent(key, k -> new ArrayList<>()).add(subscription);
+                return true;
+            } catch (final IOException | RuntimeException e) {
+                LOGGER.warn(
+                        "Unable to watch directory `{}` for file system events, polling configuration `{}` instead",
+                        directory,
+                        subscription.source,
+                        e);
+                closeIfUnused();
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void unsubscribe(final WatchManager manager) {
+        if (!enabled) {
+            return;
+        }
+        synchronized (LOCK) {
+            keyByDirectory.values().removeIf(key -> {
+                final List<Subscription> subscriptions = subscriptionsByKey.get(key);
+                if (subscriptions != null) {
+                    subscriptions.removeIf(subscription -> subscription.manager == manager);
+                }
+                if (subscriptions == null || subscriptions.isEmpty()) {
+                    subscriptionsByKey.remove(key);
+                    key.cancel();
+                    return true;
+                }
+                return false;
+            });
+            closeIfUnused();
+        }
+    }
+
+    // Must be called while holding `LOCK`
+    private static void closeIfUnused() {
+        if (watchService != null && keyByDirectory.isEmpty()) {
+            try {
+                watchService.close();
+            } catch (final IOException e) {
+                LOGGER.debug("Unable to close the configuration watch service", e);
+            }
+            watchService = null;
+        }
+    }
+
+    private static void processEvents(final WatchService service) {
+        while (true) {
+            final WatchKey key;
+            try {
+                key = service.take();
+            } catch (final ClosedWatchServiceException e) {
+                return;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // Any event, including an overflow, triggers a check of all the files in the directory
+            key.pollEvents();
+            final List<Subscription> subscriptions;
+            synchronized (LOCK) {
+                subscriptions = new ArrayList<>(subscriptionsByKey.getOrDefault(key, Collections.emptyList()));
+            }
+            for (final Subscription subscription : subscriptions) {
+                try {
+                    subscription.manager.checkSource(subscription.source);
+                } catch (final RuntimeException e) {
+                    LOGGER.error("Unable to check configuration `{}` for modifications", subscription.source, e);
+                }
+            }
+            if (!key.reset()) {
+                invalidate(key);
+            }
+        }
+    }
+
+    /**
+     * Falls back to polling, if a directory can no longer be watched, e.g. because it has been deleted.
+     */
+    private static void invalidate(final WatchKey key) {
+        final List<Subscription> subscriptions;
+        synchronized (LOCK) {
+            keyByDirectory.values().remove(key);
+            subscriptions = subscriptionsByKey.remove(key);
+            closeIfUnused();
+        }
+        if (subscriptions != null) {
+            for (final Subscription subscription : subscriptions) {
+                LOGGER.warn(
+                        "Configuration `{}` can no longer be watched for file system events, polling it instead",
+                        subscription.source);
+                subscription.manager.setPolled(subscription.source, true);
+            }
+        }
+    }
+
+    private static final class Subscription {
+
+        private final WatchManager manager;
+
+        private final Source source;
+
+        private Subscription(final WatchManager manager, final Source source) {
+            this.manager = manager;
+            this.source = source;
+        }
+    }
+}
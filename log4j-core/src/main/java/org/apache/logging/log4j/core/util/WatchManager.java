@@ -52,8 +52,10 @@ public class WatchManager extends AbstractLifeCycle {
 
     private static final class ConfigurationMonitor {
         private final Watcher watcher;
-        // Only used for logging
+        // Used for logging and to ignore repeated events about the same modification
         private volatile long lastModifiedMillis;
+        // `false` if modifications are reported by a `WatchEventService`
+        private volatile boolean polled = true;
 
         public ConfigurationMonitor(final long lastModifiedMillis, final Watcher watcher) {
             this.watcher = watcher;
@@ -103,27 +105,37 @@ public class WatchManager extends AbstractLifeCycle {
         // Use a hard class reference here in case a refactoring changes the class name.
         private final String SIMPLE_NAME = WatchRunnable.class.getSimpleName();
 
+        // If `false`, the sources whose modifications are reported by a `WatchEventService` are skipped
+        private final boolean allSources;
+
+        private WatchRunnable(final boolean allSources) {
+            this.allSources = allSources;
+        }
+
         @Override
         public void run() {
             logger.trace("{} run triggered.", SIMPLE_NAME);
             for (final Map.Entry<Source, ConfigurationMonitor> entry : watchers.entrySet()) {
-                final Source source = entry.getKey();
                 final ConfigurationMonitor monitor = entry.getValue();
-                if (monitor.getWatcher().isModified()) {
-                    final long lastModified = monitor.getWatcher().getLastModified();
-                    logger.info(
-                            "Configuration source at `{}` was modified on `{}`, previous modification was on `{}`",
-                            () -> source,
-                            () -> Instant.ofEpochMilli(lastModified),
-                            () -> Instant.ofEpochMilli(monitor.lastModifiedMillis));
-                    monitor.lastModifiedMillis = lastModified;
-                    monitor.getWatcher().modified();
+                if ((allSources || monitor.polled) && monitor.getWatcher().isModified()) {
+                    modified(entry.getKey(), monitor);
                 }
             }
             logger.trace("{} run ended.", SIMPLE_NAME);
         }
     }
 
+    private static void modified(final Source source, final ConfigurationMonitor monitor) {
+        final long lastModified = monitor.getWatcher().getLastModified();
+        logger.info(
+                "Configuration source at `{}` was modified on `{}`, previous modification was on `{}`",
+                () -> source,
+                () -> Instant.ofEpochMilli(lastModified),
+                () -> Instant.ofEpochMilli(monitor.lastModifiedMillis));
+        monitor.lastModifiedMillis = lastModified;
+        monitor.getWatcher().modified();
+    }
+
     private static final Logger logger = StatusLogger.getLogger();
     private final ConcurrentMap<Source, ConfigurationMonitor> watchers = new ConcurrentHashMap<>();
     private int intervalSeconds = 0;
@@ -140,11 +152,14 @@ public class WatchManager extends AbstractLifeCycle {
         this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
         eventServiceList = ServiceLoaderUtil.safeStream(
                         WatchEventService.class, ServiceLoader.load(WatchEventService.class), logger)
+                // A disabled service must not count as an event listener
+                .filter(service -> !(service instanceof FileSystemWatchEventService)
+                        || ((FileSystemWatchEventService) service).isEnabled())
                 .collect(Collectors.toList());
     }
 
     public void checkFiles() {
-        new WatchRunnable().run();
+        new WatchRunnable(true).run();
     }
 
     /**
@@ -161,6 +176,40 @@ public class WatchManager extends AbstractLifeCycle {
         return map;
     }
 
+    /**
+     * Checks a single source for modifications, after a {@link WatchEventService} reported an event about it.
+     * <p>
+     *   Repeated events about the same modification are ignored.
+     * </p>
+     *
+     * @param source a watched source
+     */
+    void checkSource(final Source source) {
+        final ConfigurationMonitor monitor = watchers.get(source);
+        if (monitor != null
+                && isStarted()
+                && monitor.getWatcher().isModified()
+                && monitor.getWatcher().getLastModified() != monitor.lastModifiedMillis) {
+            modified(source, monitor);
+        }
+    }
+
+    /**
+     * Sets whether a source is polled for modifications.
+     * <p>
+     *   A {@link WatchEventService} that reports the modifications of a source disables its polling.
+     * </p>
+     *
+     * @param source a watched source
+     * @param polled {@code true} if the source must be polled
+     */
+    void setPolled(final Source source, final boolean polled) {
+        final ConfigurationMonitor monitor = watchers.get(source);
+        if (monitor != null) {
+            monitor.polled = polled;
+        }
+    }
+
     public UUID getId() {
         return this.id;
     }
@@ -289,7 +338,7 @@ public class WatchManager extends AbstractLifeCycle {
 
         if (intervalSeconds > 0) {
             future = scheduler.scheduleWithFixedDelay(
-                    new WatchRunnable(), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+                    new WatchRunnable(false), intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
         }
         for (WatchEventService service : eventServiceList) {
             service.subscribe(this);
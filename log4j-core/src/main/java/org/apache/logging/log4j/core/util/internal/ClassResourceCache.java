@@ -0,0 +1,327 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.logging.log4j.util.LoaderUtil;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Process-wide cache of the resource information (i.e., the enclosing JAR file and its version) of the classes found
+ * in stack traces.
+ * <p>
+ *   Stack trace elements only contain class names: rendering an extended stack trace requires loading each class and
+ *   inspecting its code source, which is expensive if done for every logged exception. This cache remembers:
+ * </p>
+ * <ul>
+ *   <li>the resource information of each {@link Class} loaded by the class loader of Log4j Core or one of its
+ *   descendants. These entries are weakly keyed by class and their number is bounded.</li>
+ *   <li>the class a name resolves to, given the class loader of the previous stack trace element and the thread context
+ *   class loader. These entries are weakly keyed by both class loaders and their total number is bounded.</li>
+ * </ul>
+ * <p>
+ *   Cached entries do not strongly reference classes, so that they do not prevent class loaders from being collected.
+ *   Conversely, nothing is attached to classes of other class loaders (e.g., the JDK classes), which would otherwise
+ *   keep the class loader of Log4j Core reachable after a web application is undeployed.
+ * </p>
+ * @since 2.25.0
+ */
+@NullMarked
+public final class ClassResourceCache {
+
+    /**
+     * The default maximum number of cached class name resolutions.
+     */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    private static final ClassResourceCache INSTANCE = new ClassResourceCache(DEFAULT_MAX_SIZE);
+
+    /** Key used for resolutions without a class loader, since {@link WeakHashMap} keys must not be null. */
+    private static final Object NO_CLASS_LOADER = new Object();
+
+    private final int maxSize;
+
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Resource information by class, guarded by itself.
+     */
+    private final Map<Class<?>, ClassResource> resourceByClass = new WeakHashMap<>();
+
+    /**
+     * Class name resolutions by class loader and thread context class loader, guarded by itself.
+     */
+    private final Map<Object, Map<Object, ConcurrentMap<String, ClassResource>>> resourceByNameByLoader =
+            new WeakHashMap<>();
+
+    ClassResourceCache(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the process-wide instance.
+     *
+     * @return the cache
+     */
+    public static ClassResourceCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the resource information of a class.
+     * <p>
+     *   The result is only cached for classes loaded by the class loader of Log4j Core or one of its descendants.
+     * </p>
+     *
+     * @param clazz a class
+     * @return the resource information of the class
+     */
+    public ClassResource get(final Class<?> clazz) {
+        synchronized (resourceByClass) {
+            final ClassResource cached = resourceByClass.get(clazz);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        final ClassResource resource = new ClassResource(clazz, getLocation(clazz), getVersion(clazz));
+        if (!isCacheable(clazz)) {
+            return resource;
+        }
+        synchronized (resourceByClass) {
+            if (resourceByClass.size() >= maxSize) {
+                resourceByClass.clear();
+            }
+            final ClassResource previous = resourceByClass.putIfAbsent(clazz, resource);
+            return previous != null ? previous : resource;
+        }
+    }
+
+    /**
+     * Resolves a class name found in a stack trace and returns its resource information.
+     * <p>
+     *   The class is looked up using, in order, the given class loader, {@link LoaderUtil#loadClass(String)} and the
+     *   class loader of Log4j Core.
+     *   Since the second one uses the thread context class loader, the resolution is cached for each thread context
+     *   class loader.
+     * </p>
+     *
+     * @param loader the class loader of the previous stack trace element, if known
+     * @param className a class name
+     * @return the resource information of the class, {@link ClassResource#isUnknown() unknown} if it could not be
+     * loaded
+     */
+    public ClassResource resolve(final @Nullable ClassLoader loader, final String className) {
+        final ConcurrentMap<String, ClassResource> resourceByName =
+                getResourceByName(loader, LoaderUtil.getThreadContextClassLoader());
+        final ClassResource cached = resourceByName.get(className);
+        if (cached != null && !cached.isStale()) {
+            return cached;
+        }
+        final Class<?> clazz = loadClass(loader, className);
+        final ClassResource resource = clazz != null ? get(clazz) : ClassResource.UNKNOWN;
+        if (size.incrementAndGet() > maxSize) {
+            clearResolutions();
+            size.incrementAndGet();
+        }
+        resourceByName.put(className, resource);
+        return resource;
+    }
+
+    private ConcurrentMap<String, ClassResource> getResourceByName(
+            final @Nullable ClassLoader loader, final @Nullable ClassLoader contextLoader) {
+        final Object key = loader != null ? loader : NO_CLASS_LOADER;
+        final Object contextKey = contextLoader != null ? contextLoader : NO_CLASS_LOADER;
+        synchronized (resourceByNameByLoader) {
+            return resourceByNameByLoader
+                    .computeIfAbsent(key, ignored -> new WeakHashMap<>())
+                    .computeIfAbsent(contextKey, ignored -> new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Removes all cached resource information and class name resolutions.
+     */
+    public void clear() {
+        synchronized (resourceByClass) {
+            resourceByClass.clear();
+        }
+        clearResolutions();
+    }
+
+    private void clearResolutions() {
+        synchronized (resourceByNameByLoader) {
+            for (final Map<Object, ConcurrentMap<String, ClassResource>> resourceByNameByContextLoader :
+                    resourceByNameByLoader.values()) {
+                resourceByNameByContextLoader.values().forEach(Map::clear);
+            }
+            size.set(0);
+        }
+    }
+
+    int size() {
+        synchronized (resourceByNameByLoader) {
+            return resourceByNameByLoader.values().stream()
+                    .flatMap(resourceByNameByContextLoader -> resourceByNameByContextLoader.values().stream())
+                    .mapToInt(Map::size)
+                    .sum();
+        }
+    }
+
+    /**
+     * Checks if a class is loaded by the class loader of Log4j Core or one of its descendants.
+     */
+    private static boolean isCacheable(final Class<?> clazz) {
+        final ClassLoader log4jLoader = ClassResourceCache.class.getClassLoader();
+        try {
+            for (ClassLoader loader = clazz.getClassLoader(); loader != null; loader = loader.getParent()) {
+                if (loader == log4jLoader) {
+                    return true;
+                }
+            }
+        } catch (final SecurityException ignored) {
+            // Do nothing
+        }
+        return false;
+    }
+
+    private static @Nullable Class<?> loadClass(final @Nullable ClassLoader loader, final String className) {
+        if (loader != null) {
+            try {
+                return loader.loadClass(className);
+            } catch (final ClassNotFoundException | LinkageError | SecurityException ignored) {
+                // Try the next strategy
+            }
+        }
+        try {
+            return LoaderUtil.loadClass(className);
+        } catch (final ClassNotFoundException | LinkageError | SecurityException ignored) {
+            // Try the next strategy
+        }
+        try {
+            return ClassResourceCache.class.getClassLoader().loadClass(className);
+        } catch (final ClassNotFoundException | LinkageError | SecurityException ignored) {
+            return null;
+        }
+    }
+
+    private static String getLocation(final Class<?> clazz) {
+        try {
+            final CodeSource source = clazz.getProtectionDomain().getCodeSource();
+            if (source != null) {
+                final URL locationUrl = source.getLocation();
+                if (locationUrl != null) {
+                    final String normalizedLocationUrl = locationUrl.toString().replace('\\', '/');
+                    int separatorIndex = normalizedLocationUrl.lastIndexOf("/");
+                    if (separatorIndex >= 0 && separatorIndex == normalizedLocationUrl.length() - 1) {
+                        separatorIndex = normalizedLocationUrl.lastIndexOf("/", separatorIndex - 1);
+                    }
+                    return normalizedLocationUrl.substring(separatorIndex + 1);
+                }
+            }
+        } catch (final Exception ignored) {
+            // Do nothing
+        }
+        return "?";
+    }
+
+    private static String getVersion(final Class<?> clazz) {
+        final Package classPackage = clazz.getPackage();
+        if (classPackage != null) {
+            final String version = classPackage.getImplementationVersion();
+            if (version != null) {
+                return version;
+            }
+        }
+        return "?";
+    }
+
+    /**
+     * Resource information of a class.
+     */
+    public static final class ClassResource {
+
+        /**
+         * The resource information of classes that could not be loaded.
+         */
+        public static final ClassResource UNKNOWN = new ClassResource(null, "?", "?");
+
+        private final @Nullable WeakReference<Class<?>> classRef;
+
+        private final String location;
+
+        private final String version;
+
+        private ClassResource(final @Nullable Class<?> clazz, final String location, final String version) {
+            this.classRef = clazz != null ? new WeakReference<>(clazz) : null;
+            this.location = location;
+            this.version = version;
+        }
+
+        /**
+         * @return {@code true} if the class could not be loaded
+         */
+        public boolean isUnknown() {
+            return classRef == null;
+        }
+
+        private boolean isStale() {
+            return classRef != null && classRef.get() == null;
+        }
+
+        /**
+         * @return the name of the JAR file or directory containing the class, {@code ?} if unknown
+         */
+        public String getLocation() {
+            return location;
+        }
+
+        /**
+         * @return the implementation version of the package of the class, {@code ?} if unknown
+         */
+        public String getVersion() {
+            return version;
+        }
+
+        /**
+         * @return the class loader of the class, if known and allowed by the security manager
+         */
+        public @Nullable ClassLoader getClassLoader() {
+            final Class<?> clazz = classRef != null ? classRef.get() : null;
+            if (clazz != null) {
+                try {
+                    return clazz.getClassLoader();
+                } catch (final SecurityException ignored) {
+                    // Do nothing
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return "[" + location + ":" + version + "]";
+        }
+    }
+}
@@ -0,0 +1,648 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.Marker;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.message.Message;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A boolean expression over the fields of a {@link LogEvent}, compiled once into a tree of predicates.
+ * <p>
+ *   The expression language supports:
+ * </p>
+ * <ul>
+ *   <li>the fields {@code level}, {@code logger}, {@code marker}, {@code thread}, {@code message} (the formatted
+ *   message), {@code throwable} (the class name of the thrown exception), {@code context.key} or
+ *   {@code context['key']} (a context data value) and {@code param[n]} (a message parameter),</li>
+ *   <li>string literals in single or double quotes, numbers and the constants {@code true}, {@code false} and
+ *   {@code null},</li>
+ *   <li>the comparison operators {@code ==}, {@code !=}, {@code <}, {@code <=}, {@code >}, {@code >=} and the regular
+ *   expression match operator {@code =~},</li>
+ *   <li>the logical operators {@code &&}, {@code ||} and {@code !}, also spelled {@code and}, {@code or} and
+ *   {@code not}, and parentheses.</li>
+ * </ul>
+ * <p>
+ *   Levels are ordered by severity, so {@code level >= 'WARN'} matches {@code WARN}, {@code ERROR} and
+ *   {@code FATAL} events.
+ *   {@code marker == 'NAME'} matches events whose marker is or has the parent {@code NAME}.
+ *   A field used as a condition is true, unless it is {@code null} or {@code false}.
+ * </p>
+ * <p>
+ *   Comparisons with literals are specialized at compile time: level names are resolved, regular expressions are
+ *   compiled, and no value is boxed or converted while evaluating a comparison of {@code level}, {@code marker} or a
+ *   string field with a literal.
+ * </p>
+ * @since 2.25.0
+ */
+@NullMarked
+public final class EventExpression implements Predicate<LogEvent> {
+
+    private static final String MATCHES_SYMBOL = "=~";
+
+    private final String text;
+
+    private final Predicate<LogEvent> predicate;
+
+    private EventExpression(final String text, final Predicate<LogEvent> predicate) {
+        this.text = text;
+        this.predicate = predicate;
+    }
+
+    /**
+     * Compiles an expression.
+     *
+     * @param text the text of the expression
+     * @return the compiled expression
+     * @throws IllegalArgumentException if the expression is not valid
+     */
+    public static EventExpression compile(final String text) {
+        requireNonNull(text, "text");
+        return new EventExpression(text, new Parser(text).parse());
+    }
+
+    @Override
+    public boolean test(final LogEvent event) {
+        return predicate.test(event);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static boolean isTrue(final @Nullable Object value) {
+        return value != null && !Boolean.FALSE.equals(value);
+    }
+
+    private static boolean equal(final @Nullable Object left, final @Nullable Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        final Integer comparison = compare(left, right);
+        return comparison != null && comparison == 0;
+    }
+
+    /**
+     * Compares two values: levels by severity, numbers by value and anything else by its string representation.
+     *
+     * @return the comparison, or {@code null} if the values are not comparable
+     */
+    private static @Nullable Integer compare(final @Nullable Object left, final @Nullable Object right) {
+        if (left == null || right == null) {
+            return null;
+        }
+        if (left instanceof Level || right instanceof Level) {
+            final Level leftLevel = Level.toLevel(left.toString(), null);
+            final Level rightLevel = Level.toLevel(right.toString(), null);
+            return leftLevel != null && rightLevel != null
+                    ? Integer.compare(rightLevel.intLevel(), leftLevel.intLevel())
+                    : null;
+        }
+        if (left instanceof Number || right instanceof Number) {
+            if (isIntegral(left) && isIntegral(right)) {
+                return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+            }
+            final Double leftNumber = toDouble(left);
+            final Double rightNumber = toDouble(right);
+            return leftNumber != null && rightNumber != null ? Double.compare(leftNumber, rightNumber) : null;
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    private static boolean isIntegral(final Object value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static @Nullable Double toDouble(final Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue();
+        }
+        try {
+            return Double.parseDouble(value.toString());
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The comparison operators.
+     */
+    private enum Operator {
+        EQ("==") {
+            @Override
+            boolean test(final int comparison) {
+                return comparison == 0;
+            }
+        },
+        NE("!=") {
+            @Override
+            boolean test(final int comparison) {
+                return comparison != 0;
+            }
+        },
+        LT("<") {
+            @Override
+            boolean test(final int comparison) {
+                return comparison < 0;
+            }
+        },
+        LE("<=") {
+            @Override
+            boolean test(final int comparison) {
+                return comparison <= 0;
+            }
+        },
+        GT(">") {
+            @Override
+            boolean test(final int comparison) {
+                return comparison > 0;
+            }
+        },
+        GE(">=") {
+            @Override
+            boolean test(final int comparison) {
+                return comparison >= 0;
+            }
+        };
+
+        private final String symbol;
+
+        Operator(final String symbol) {
+            this.symbol = symbol;
+        }
+
+        abstract boolean test(int comparison);
+
+        /**
+         * @return the operator giving the same result with swapped operands
+         */
+        private Operator swap() {
+            switch (this) {
+                case LT:
+                    return GT;
+                case LE:
+                    return GE;
+                case GT:
+                    return LT;
+                case GE:
+                    return LE;
+                default:
+                    return this;
+            }
+        }
+
+        private static @Nullable Operator of(final String symbol) {
+            for (final Operator operator : values()) {
+                if (operator.symbol.equals(symbol)) {
+                    return operator;
+                }
+            }
+            return null;
+        }
+    }
+
+    private enum Kind {
+        LEVEL,
+        MARKER,
+        STRING,
+        OTHER,
+        CONSTANT
+    }
+
+    /**
+     * An operand of a comparison: either a field of the event or a literal.
+     */
+    private static final class Operand {
+
+        private final Kind kind;
+
+        private final @Nullable Function<LogEvent, @Nullable Object> getter;
+
+        private final @Nullable Object constant;
+
+        private Operand(final Kind kind, final Function<LogEvent, @Nullable Object> getter) {
+            this.kind = kind;
+            this.getter = getter;
+            this.constant = null;
+        }
+
+        private Operand(final @Nullable Object constant) {
+            this.kind = Kind.CONSTANT;
+            this.getter = null;
+            this.constant = constant;
+        }
+
+        private @Nullable Object evaluate(final LogEvent event) {
+            return getter != null ? getter.apply(event) : constant;
+        }
+
+        private Predicate<LogEvent> toPredicate() {
+            final Function<LogEvent, @Nullable Object> getter = this.getter;
+            if (getter == null) {
+                final boolean value = isTrue(constant);
+                return event -> value;
+            }
+            return event -> isTrue(getter.apply(event));
+        }
+    }
+
+    /**
+     * A recursive descent parser, which returns compiled predicates instead of a syntax tree.
+     * <pre>
+     * or         := and (('||' | 'or') and)*
+     * and        := unary (('&amp;&amp;' | 'and') unary)*
+     * unary      := ('!' | 'not') unary | '(' or ')' | comparison
+     * comparison := operand (operator operand)?
+     * operand    := literal | field
+     * </pre>
+     */
+    private static final class Parser {
+
+        private final String text;
+
+        private int position;
+
+        // The start of the last token read
+        private int tokenStart;
+
+        private Parser(final String text) {
+            this.text = text;
+        }
+
+        private Predicate<LogEvent> parse() {
+            final Predicate<LogEvent> predicate = parseOr();
+            skipWhitespace();
+            if (position < text.length()) {
+                throw error("unexpected `" + text.charAt(position) + "`", position);
+            }
+            return predicate;
+        }
+
+        private Predicate<LogEvent> parseOr() {
+            Predicate<LogEvent> predicate = parseAnd();
+            while (acceptSymbol("||") || acceptKeyword("or")) {
+                final Predicate<LogEvent> left = predicate;
+                final Predicate<LogEvent> right = parseAnd();
+                predicate = event -> left.test(event) || right.test(event);
+            }
+            return predicate;
+        }
+
+        private Predicate<LogEvent> parseAnd() {
+            Predicate<LogEvent> predicate = parseUnary();
+            while (acceptSymbol("&&") || acceptKeyword("and")) {
+                final Predicate<LogEvent> left = predicate;
+                final Predicate<LogEvent> right = parseUnary();
+                predicate = event -> left.test(event) && right.test(event);
+            }
+            return predicate;
+        }
+
+        private Predicate<LogEvent> parseUnary() {
+            skipWhitespace();
+            if ((!peekSymbol("!=") && acceptSymbol("!")) || acceptKeyword("not")) {
+                final Predicate<LogEvent> operand = parseUnary();
+                return event -> !operand.test(event);
+            }
+            if (acceptSymbol("(")) {
+                final Predicate<LogEvent> predicate = parseOr();
+                expectSymbol(")");
+                return predicate;
+            }
+            return parseComparison();
+        }
+
+        private Predicate<LogEvent> parseComparison() {
+            final Operand left = parseOperand();
+            final String symbol = parseOperatorSymbol();
+            if (symbol == null) {
+                return left.toPredicate();
+            }
+            final int operatorStart = tokenStart;
+            // The match operator is not a comparison
+            if (MATCHES_SYMBOL.equals(symbol)) {
+                return compileMatches(left, parseOperand(), operatorStart);
+            }
+            final Operator operator = Operator.of(symbol);
+            if (operator == null) {
+                throw error("unknown operator `" + symbol + "`", operatorStart);
+            }
+            final Operand right = parseOperand();
+            // Keep the field on the left side
+            return left.kind == Kind.CONSTANT && right.kind != Kind.CONSTANT
+                    ? compileComparison(right, operator.swap(), left, operatorStart)
+                    : compileComparison(left, operator, right, operatorStart);
+        }
+
+        private @Nullable String parseOperatorSymbol() {
+            skipWhitespace();
+            final int start = position;
+            while (position < text.length() && "=!<>~".indexOf(text.charAt(position)) >= 0) {
+                position++;
+            }
+            if (start == position) {
+                return null;
+            }
+            tokenStart = start;
+            return text.substring(start, position);
+        }
+
+        private Predicate<LogEvent> compileMatches(final Operand left, final Operand right, final int start) {
+            if (right.kind != Kind.CONSTANT || !(right.constant instanceof String)) {
+                throw error("`=~` requires a string literal on its right side", start);
+            }
+            final Pattern pattern;
+            try {
+                pattern = Pattern.compile((String) right.constant);
+            } catch (final PatternSyntaxException e) {
+                throw error("invalid regular expression: " + e.getDescription(), start);
+            }
+            return event -> {
+                final Object value = left.evaluate(event);
+                return value != null && pattern.matcher(value.toString()).matches();
+            };
+        }
+
+        private Predicate<LogEvent> compileComparison(
+                final Operand left, final Operator operator, final Operand right, final int start) {
+            final Object constant = right.constant;
+            if (right.kind == Kind.CONSTANT && constant != null) {
+                switch (left.kind) {
+                    case LEVEL:
+                        return compileLevelComparison(operator, constant, start);
+                    case MARKER:
+                        if (operator == Operator.EQ || operator == Operator.NE) {
+                            return compileMarkerComparison(operator, constant);
+                        }
+                        break;
+                    case STRING:
+                        if (constant instanceof String) {
+                            return compileStringComparison(left, operator, (String) constant);
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (operator == Operator.EQ) {
+                return event -> equal(left.evaluate(event), right.evaluate(event));
+            }
+            if (operator == Operator.NE) {
+                return event -> !equal(left.evaluate(event), right.evaluate(event));
+            }
+            return event -> {
+                final Integer comparison = compare(left.evaluate(event), right.evaluate(event));
+                return comparison != null && operator.test(comparison);
+            };
+        }
+
+        private Predicate<LogEvent> compileLevelComparison(
+                final Operator operator, final Object constant, final int start) {
+            final Level level = Level.toLevel(constant.toString(), null);
+            if (level == null) {
+                throw error("unknown level `" + constant + "`", start);
+            }
+            final int intLevel = level.intLevel();
+            // A lower `intLevel` means a higher severity
+            return event -> operator.test(Integer.compare(intLevel, event.getLevel().intLevel()));
+        }
+
+        private static Predicate<LogEvent> compileMarkerComparison(final Operator operator, final Object constant) {
+            final String name = constant.toString();
+            final boolean expected = operator == Operator.EQ;
+            return event -> {
+                final Marker marker = event.getMarker();
+                return (marker != null && marker.isInstanceOf(name)) == expected;
+            };
+        }
+
+        private static Predicate<LogEvent> compileStringComparison(
+                final Operand left, final Operator operator, final String constant) {
+            if (operator == Operator.EQ) {
+                return event -> constant.equals(left.evaluate(event));
+            }
+            if (operator == Operator.NE) {
+                return event -> !constant.equals(left.evaluate(event));
+            }
+            return event -> {
+                final Object value = left.evaluate(event);
+                return value != null && operator.test(((String) value).compareTo(constant));
+            };
+        }
+
+        private Operand parseOperand() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("unexpected end of expression", position);
+            }
+            tokenStart = position;
+            final char c = text.charAt(position);
+            if (c == '\'' || c == '"') {
+                return new Operand(parseString());
+            }
+            if (c == '-' || Character.isDigit(c)) {
+                return new Operand(parseNumber());
+            }
+            final String identifier = parseIdentifier();
+            switch (identifier) {
+                case "true":
+                    return new Operand(Boolean.TRUE);
+                case "false":
+                    return new Operand(Boolean.FALSE);
+                case "null":
+                    return new Operand(null);
+                case "level":
+                    return new Operand(Kind.LEVEL, LogEvent::getLevel);
+                case "logger":
+                    return new Operand(Kind.STRING, LogEvent::getLoggerName);
+                case "marker":
+                    return new Operand(Kind.MARKER, event -> {
+                        final Marker marker = event.getMarker();
+                        return marker != null ? marker.getName() : null;
+                    });
+                case "thread":
+                    return new Operand(Kind.STRING, LogEvent::getThreadName);
+                case "message":
+                    return new Operand(Kind.STRING, event -> {
+                        final Message message = event.getMessage();
+                        return message != null ? message.getFormattedMessage() : null;
+                    });
+                case "throwable":
+                    return new Operand(Kind.STRING, event -> {
+                        final Throwable thrown = event.getThrown();
+                        return thrown != null ? thrown.getClass().getName() : null;
+                    });
+                case "context":
+                    final String key = parseContextKey();
+                    return new Operand(Kind.OTHER, event -> event.getContextData().getValue(key));
+                case "param":
+                    final int index = parseParameterIndex();
+                    return new Operand(Kind.OTHER, event -> {
+                        final Message message = event.getMessage();
+                        final Object[] parameters = message != null ? message.getParameters() : null;
+                        return parameters != null && index < parameters.length ? parameters[index] : null;
+                    });
+                default:
+                    throw error("unknown field `" + identifier + "`", tokenStart);
+            }
+        }
+
+        private String parseContextKey() {
+            if (acceptSymbol(".")) {
+                skipWhitespace();
+                return parseIdentifier();
+            }
+            expectSymbol("[");
+            skipWhitespace();
+            if (position >= text.length() || (text.charAt(position) != '\'' && text.charAt(position) != '"')) {
+                throw error("expecting a string literal", position);
+            }
+            final String key = parseString();
+            expectSymbol("]");
+            return key;
+        }
+
+        private int parseParameterIndex() {
+            expectSymbol("[");
+            skipWhitespace();
+            final int start = position;
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw error("expecting a parameter index", start);
+            }
+            final int index;
+            try {
+                index = Integer.parseInt(text.substring(start, position));
+            } catch (final NumberFormatException e) {
+                throw error("invalid parameter index", start);
+            }
+            expectSymbol("]");
+            return index;
+        }
+
+        private String parseString() {
+            final char quote = text.charAt(position);
+            final int start = position++;
+            final StringBuilder sb = new StringBuilder();
+            while (position < text.length()) {
+                final char c = text.charAt(position++);
+                if (c == quote) {
+                    return sb.toString();
+                }
+                if (c == '\\' && position < text.length()) {
+                    final char escaped = text.charAt(position++);
+                    // Only quotes and backslashes are unescaped, so that regular expressions can be written as is
+                    if (escaped != quote && escaped != '\\') {
+                        sb.append(c);
+                    }
+                    sb.append(escaped);
+                } else {
+                    sb.append(c);
+                }
+            }
+            throw error("unterminated string literal", start);
+        }
+
+        private Number parseNumber() {
+            final int start = position;
+            if (text.charAt(position) == '-') {
+                position++;
+            }
+            while (position < text.length()
+                    && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+                position++;
+            }
+            final String number = text.substring(start, position);
+            try {
+                return number.indexOf('.') < 0 ? (Number) Long.parseLong(number) : (Number) Double.parseDouble(number);
+            } catch (final NumberFormatException e) {
+                throw error("invalid number `" + number + "`", start);
+            }
+        }
+
+        private String parseIdentifier() {
+            final int start = position;
+            while (position < text.length() && isIdentifierPart(text.charAt(position))) {
+                position++;
+            }
+            if (start == position) {
+                throw position < text.length()
+                        ? error("unexpected `" + text.charAt(position) + "`", position)
+                        : error("unexpected end of expression", position);
+            }
+            return text.substring(start, position);
+        }
+
+        private static boolean isIdentifierPart(final char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '-';
+        }
+
+        private boolean peekSymbol(final String symbol) {
+            return text.startsWith(symbol, position);
+        }
+
+        private boolean acceptSymbol(final String symbol) {
+            skipWhitespace();
+            if (text.startsWith(symbol, position)) {
+                tokenStart = position;
+                position += symbol.length();
+                return true;
+            }
+            return false;
+        }
+
+        private boolean acceptKeyword(final String keyword) {
+            skipWhitespace();
+            final int end = position + keyword.length();
+            if (text.startsWith(keyword, position) && (end == text.length() || !isIdentifierPart(text.charAt(end)))) {
+                tokenStart = position;
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        private void expectSymbol(final String symbol) {
+            if (!acceptSymbol(symbol)) {
+                throw error("expecting `" + symbol + "`", position);
+            }
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(final String message, final int errorPosition) {
+            return new IllegalArgumentException(
+                    "Invalid expression `" + text + "` at position " + errorPosition + ": " + message);
+        }
+    }
+}
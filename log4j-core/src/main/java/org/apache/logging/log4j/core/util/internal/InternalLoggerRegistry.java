@@ -18,14 +18,12 @@ package org.apache.logging.log4j.core.util.internal;
 
 import static java.util.Objects.requireNonNull;
 
+import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Optional;
-import java.util.WeakHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.function.BiFunction;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.core.Logger;
@@ -40,19 +38,29 @@ import org.jspecify.annotations.Nullable;
  *   We don't use {@link org.apache.logging.log4j.spi.LoggerRegistry} from the Log4j API to keep Log4j Core independent
  *   from the version of the Log4j API at runtime.
  * </p>
+ * <p>
+ *   Lookups are lock-free.
+ *   Loggers are created under a lock specific to their name, so that threads creating loggers with different names
+ *   do not contend.
+ *   Loggers are weakly referenced, and the entries of collected loggers are removed using a reference queue.
+ * </p>
  * @since 2.25.0
  */
 @NullMarked
 public final class InternalLoggerRegistry {
 
-    private final Map<MessageFactory, Map<String, WeakReference<Logger>>> loggerRefByNameByMessageFactory =
-            new WeakHashMap<>();
-
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * Entries indexed by logger name.
+     * <p>
+     *   A hash map is used for lookups, while a sorted map of the same entries is used to find the loggers of a name
+     *   hierarchy.
+     * </p>
+     */
+    private final ConcurrentMap<String, NameEntry> entryByName = new ConcurrentHashMap<>();
 
-    private final Lock readLock = lock.readLock();
+    private final ConcurrentNavigableMap<String, NameEntry> sortedEntryByName = new ConcurrentSkipListMap<>();
 
-    private final Lock writeLock = lock.writeLock();
+    private final ReferenceQueue<Logger> staleLoggerRefs = new ReferenceQueue<>();
 
     public InternalLoggerRegistry() {}
 
@@ -66,30 +74,39 @@ public final class InternalLoggerRegistry {
     public @Nullable Logger getLogger(final String name, final MessageFactory messageFactory) {
         requireNonNull(name, "name");
         requireNonNull(messageFactory, "messageFactory");
-        readLock.lock();
-        try {
-            return Optional.of(loggerRefByNameByMessageFactory)
-                    .map(loggerRefByNameByMessageFactory -> loggerRefByNameByMessageFactory.get(messageFactory))
-                    .map(loggerRefByName -> loggerRefByName.get(name))
-                    .map(WeakReference::get)
-                    .orElse(null);
-        } finally {
-            readLock.unlock();
-        }
+        final @Nullable NameEntry entry = entryByName.get(name);
+        return entry != null ? entry.getLogger(messageFactory) : null;
     }
 
     public Stream<Logger> getLoggers() {
-        readLock.lock();
-        try {
-            return loggerRefByNameByMessageFactory.values().stream()
-                    .flatMap(loggerRefByName -> loggerRefByName.values().stream())
-                    .flatMap(loggerRef -> {
-                        @Nullable Logger logger = loggerRef.get();
-                        return logger != null ? Stream.of(logger) : Stream.empty();
-                    });
-        } finally {
-            readLock.unlock();
+        return entryByName.values().stream().flatMap(NameEntry::getLoggers);
+    }
+
+    /**
+     * Returns the loggers with the given name or whose name has the given name as an ancestor.
+     * <p>
+     *   These are the only loggers whose resolved {@link org.apache.logging.log4j.core.config.LoggerConfig} can
+     *   change, if the {@code LoggerConfig} with the given name is added, removed or modified.
+     *   Their lookup costs a logarithmic time in the number of registered loggers, plus the number of matches.
+     * </p>
+     *
+     * @param name a logger name, the empty string matching all loggers
+     * @return the matching loggers
+     * @since 2.25.0
+     */
+    public Stream<Logger> getLoggers(final String name) {
+        requireNonNull(name, "name");
+        if (name.isEmpty()) {
+            return getLoggers();
         }
+        final @Nullable NameEntry entry = entryByName.get(name);
+        // Descendant names start with `name.`, and `/` is the character following `.`
+        final Stream<Logger> descendants = sortedEntryByName
+                .subMap(name + '.', true, name + '/', false)
+                .values()
+                .stream()
+                .flatMap(NameEntry::getLoggers);
+        return entry != null ? Stream.concat(entry.getLoggers(), descendants) : descendants;
     }
 
     /**
@@ -115,14 +132,11 @@ public final class InternalLoggerRegistry {
     public boolean hasLogger(final String name, final Class<? extends MessageFactory> messageFactoryClass) {
         requireNonNull(name, "name");
         requireNonNull(messageFactoryClass, "messageFactoryClass");
-        readLock.lock();
-        try {
-            return loggerRefByNameByMessageFactory.entrySet().stream()
-                    .filter(entry -> messageFactoryClass.equals(entry.getKey().getClass()))
-                    .anyMatch(entry -> entry.getValue().containsKey(name));
-        } finally {
-            readLock.unlock();
-        }
+        final @Nullable NameEntry entry = entryByName.get(name);
+        return entry != null
+                && entry.loggerRefByMessageFactory.values().stream()
+                        .anyMatch(loggerRef -> messageFactoryClass.equals(loggerRef.messageFactory.getClass())
+                                && loggerRef.get() != null);
     }
 
     public Logger computeIfAbsent(
@@ -135,52 +149,163 @@ public final class InternalLoggerRegistry {
         requireNonNull(messageFactory, "messageFactory");
         requireNonNull(loggerSupplier, "loggerSupplier");
 
-        // Read lock fast path: See if logger already exists
+        // Lock-free fast path: See if logger already exists
         @Nullable Logger logger = getLogger(name, messageFactory);
         if (logger != null) {
             return logger;
         }
 
-        // Write lock slow path: Insert the logger
-        writeLock.lock();
-        try {
+        // Slow path: Insert the logger under the lock of its name
+        expungeStaleEntries();
+        while (true) {
+            final NameEntry entry = getOrCreateEntry(name);
+            synchronized (entry) {
+
+                // Retry if the entry has been removed in the meantime
+                if (entry.removed) {
+                    continue;
+                }
 
-            // See if the logger is created by another thread in the meantime
-            final Map<String, WeakReference<Logger>> loggerRefByName =
-                    loggerRefByNameByMessageFactory.computeIfAbsent(messageFactory, ignored -> new HashMap<>());
-            WeakReference<Logger> loggerRef = loggerRefByName.get(name);
-            if (loggerRef != null && (logger = loggerRef.get()) != null) {
+                // See if the logger is created by another thread in the meantime
+                logger = entry.getLogger(messageFactory);
+                if (logger != null) {
+                    return logger;
+                }
+
+                // Create the logger, without leaving behind an empty entry if that fails
+                try {
+                    logger = loggerSupplier.apply(name, messageFactory);
+                } catch (final RuntimeException | Error error) {
+                    removeIfEmpty(entry);
+                    throw error;
+                }
+
+                // Report name and message factory mismatch if there are any
+                final String loggerName = logger.getName();
+                final MessageFactory loggerMessageFactory = logger.getMessageFactory();
+                if (!loggerMessageFactory.equals(messageFactory)) {
+                    StatusLogger.getLogger()
+                            .error(
+                                    "Newly registered logger with name `{}` and message factory `{}`, is requested to be associated with a different name `{}` or message factory `{}`.\n"
+                                            + "Effectively the message factory of the logger will be used and the other one will be ignored.\n"
+                                            + "This generally hints a problem at the logger context implementation.\n"
+                                            + "Please report this using the Log4j project issue tracker.",
+                                    loggerName,
+                                    loggerMessageFactory,
+                                    name,
+                                    messageFactory);
+                    // Register logger under alternative keys
+                    putIfAbsent(loggerName, loggerMessageFactory, logger);
+                }
+
+                // Insert the logger
+                entry.put(messageFactory, logger);
                 return logger;
             }
+        }
+    }
 
-            // Create the logger
-            logger = loggerSupplier.apply(name, messageFactory);
-
-            // Report name and message factory mismatch if there are any
-            final String loggerName = logger.getName();
-            final MessageFactory loggerMessageFactory = logger.getMessageFactory();
-            if (!loggerMessageFactory.equals(messageFactory)) {
-                StatusLogger.getLogger()
-                        .error(
-                                "Newly registered logger with name `{}` and message factory `{}`, is requested to be associated with a different name `{}` or message factory `{}`.\n"
-                                        + "Effectively the message factory of the logger will be used and the other one will be ignored.\n"
-                                        + "This generally hints a problem at the logger context implementation.\n"
-                                        + "Please report this using the Log4j project issue tracker.",
-                                loggerName,
-                                loggerMessageFactory,
-                                name,
-                                messageFactory);
-                // Register logger under alternative keys
-                loggerRefByNameByMessageFactory
-                        .computeIfAbsent(loggerMessageFactory, ignored -> new HashMap<>())
-                        .putIfAbsent(loggerName, new WeakReference<>(logger));
+    private void putIfAbsent(final String name, final MessageFactory messageFactory, final Logger logger) {
+        while (true) {
+            final NameEntry entry = getOrCreateEntry(name);
+            synchronized (entry) {
+                if (!entry.removed) {
+                    if (entry.getLogger(messageFactory) == null) {
+                        entry.put(messageFactory, logger);
+                    }
+                    return;
+                }
             }
+        }
+    }
 
-            // Insert the logger
-            loggerRefByName.put(name, new WeakReference<>(logger));
-            return logger;
-        } finally {
-            writeLock.unlock();
+    private NameEntry getOrCreateEntry(final String name) {
+        @Nullable NameEntry entry = entryByName.get(name);
+        if (entry == null) {
+            final NameEntry newEntry = new NameEntry(name);
+            entry = entryByName.putIfAbsent(name, newEntry);
+            if (entry == null) {
+                entry = newEntry;
+            }
+        }
+        return entry;
+    }
+
+    private void expungeStaleEntries() {
+        LoggerRef staleLoggerRef;
+        while ((staleLoggerRef = (LoggerRef) staleLoggerRefs.poll()) != null) {
+            final @Nullable NameEntry entry = entryByName.get(staleLoggerRef.name);
+            if (entry != null) {
+                synchronized (entry) {
+                    entry.loggerRefByMessageFactory.remove(staleLoggerRef.messageFactory, staleLoggerRef);
+                    removeIfEmpty(entry);
+                }
+            }
+        }
+    }
+
+    // Must be called while holding the lock of the entry
+    private void removeIfEmpty(final NameEntry entry) {
+        if (entry.loggerRefByMessageFactory.isEmpty() && !entry.removed) {
+            entry.removed = true;
+            sortedEntryByName.remove(entry.name, entry);
+            entryByName.remove(entry.name, entry);
+        }
+    }
+
+    /**
+     * The loggers of a name, which also serves as the lock to create them.
+     */
+    private final class NameEntry {
+
+        private final String name;
+
+        private final ConcurrentMap<MessageFactory, LoggerRef> loggerRefByMessageFactory = new ConcurrentHashMap<>(2);
+
+        // Guarded by `this`
+        private boolean removed;
+
+        private NameEntry(final String name) {
+            this.name = name;
+        }
+
+        private @Nullable Logger getLogger(final MessageFactory messageFactory) {
+            final @Nullable LoggerRef loggerRef = loggerRefByMessageFactory.get(messageFactory);
+            return loggerRef != null ? loggerRef.get() : null;
+        }
+
+        private Stream<Logger> getLoggers() {
+            return loggerRefByMessageFactory.values().stream().flatMap(loggerRef -> {
+                final @Nullable Logger logger = loggerRef.get();
+                return logger != null ? Stream.of(logger) : Stream.empty();
+            });
+        }
+
+        // Must be called while holding the lock of a non-removed entry
+        private void put(final MessageFactory messageFactory, final Logger logger) {
+            loggerRefByMessageFactory.put(messageFactory, new LoggerRef(name, messageFactory, logger, staleLoggerRefs));
+            // Replaces the previous entry of the same name, if it is being removed
+            sortedEntryByName.put(name, this);
+        }
+    }
+
+    /**
+     * A weak reference to a logger, which remembers its keys to remove it once the logger is collected.
+     */
+    private static final class LoggerRef extends WeakReference<Logger> {
+
+        private final String name;
+
+        private final MessageFactory messageFactory;
+
+        private LoggerRef(
+                final String name,
+                final MessageFactory messageFactory,
+                final Logger logger,
+                final ReferenceQueue<Logger> queue) {
+            super(logger, queue);
+            this.name = name;
+            this.messageFactory = messageFactory;
         }
     }
 }
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Cache of the text rendered for {@link Throwable} instances, so that logging the same instance again costs a copy
+ * instead of a walk over its stack traces, causes and suppressed exceptions.
+ * <p>
+ *   Throwables are weakly referenced and compared by identity.
+ *   Each throwable maps to the rendering of its last rendering key, which must capture all the options affecting the
+ *   rendered text.
+ *   A rendering is discarded if a cause or a suppressed exception was set or added anywhere in the graph of the
+ *   throwable since.
+ *   The number of cached throwables is bounded.
+ * </p>
+ * <p>
+ *   Lookups and updates are lock-free, so that threads rendering exceptions concurrently do not contend.
+ * </p>
+ * @since 2.25.0
+ */
+@NullMarked
+public final class RenderedThrowableCache {
+
+    /**
+     * The default maximum number of cached throwables.
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    private final int maxSize;
+
+    private final ReferenceQueue<Throwable> staleKeys = new ReferenceQueue<>();
+
+    private final ConcurrentMap<IdentityKey, Entry> entryByThrowable = new ConcurrentHashMap<>();
+
+    public RenderedThrowableCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * @param maxSize the maximum number of cached throwables
+     */
+    public RenderedThrowableCache(final int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the cached rendering of a throwable.
+     *
+     * @param throwable a throwable
+     * @param renderingKey the key of the rendering options
+     * @return the rendered text, or {@code null} if absent
+     */
+    public @Nullable String get(final Throwable throwable, final Object renderingKey) {
+        expungeStaleEntries();
+        final Entry entry = entryByThrowable.get(new IdentityKey(throwable));
+        return entry != null && entry.renderingKey.equals(renderingKey) && entry.isValid(throwable)
+                ? entry.rendering
+                : null;
+    }
+
+    /**
+     * Caches the rendering of a throwable, replacing its previous rendering, if any.
+     *
+     * @param throwable a throwable
+     * @param renderingKey the key of the rendering options
+     * @param rendering the rendered text
+     */
+    public void put(final Throwable throwable, final Object renderingKey, final String rendering) {
+        final Entry entry = new Entry(throwable, renderingKey, rendering);
+        expungeStaleEntries();
+        final IdentityKey key = new IdentityKey(throwable, staleKeys);
+        // Concurrent puts can exceed the bound by the number of writing threads
+        if (entryByThrowable.size() >= maxSize && !entryByThrowable.containsKey(key)) {
+            entryByThrowable.clear();
+        }
+        entryByThrowable.put(key, entry);
+    }
+
+    int size() {
+        expungeStaleEntries();
+        return entryByThrowable.size();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends Throwable> staleKey;
+        while ((staleKey = staleKeys.poll()) != null) {
+            entryByThrowable.remove(staleKey);
+        }
+    }
+
+    private static final class IdentityKey extends WeakReference<Throwable> {
+
+        private final int hashCode;
+
+        private IdentityKey(final Throwable throwable) {
+            super(throwable);
+            this.hashCode = System.identityHashCode(throwable);
+        }
+
+        private IdentityKey(final Throwable throwable, final ReferenceQueue<Throwable> queue) {
+            super(throwable, queue);
+            this.hashCode = System.identityHashCode(throwable);
+        }
+
+        @Override
+        public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
+            if (!(object instanceof IdentityKey)) {
+                return false;
+            }
+            final Throwable throwable = get();
+            return throwable != null && throwable == ((IdentityKey) object).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Object renderingKey;
+
+        private final String rendering;
+
+        /**
+         * The throwables of the graph, in the order of {@link #collectGraph}, referenced weakly.
+         */
+        private final @Nullable WeakReference<Throwable>[] graph;
+
+        @SuppressWarnings("unchecked")
+        private Entry(final Throwable throwable, final Object renderingKey, final String rendering) {
+            this.renderingKey = Objects.requireNonNull(renderingKey, "renderingKey");
+            this.rendering = rendering;
+            final List<@Nullable Throwable> nodes = collectGraph(throwable);
+            this.graph = new WeakReference[nodes.size()];
+            for (int i = 0; i < graph.length; i++) {
+                final Throwable node = nodes.get(i);
+                graph[i] = node != null ? new WeakReference<>(node) : null;
+            }
+        }
+
+        private boolean isValid(final Throwable throwable) {
+            final List<@Nullable Throwable> nodes = collectGraph(throwable);
+            if (nodes.size() != graph.length) {
+                return false;
+            }
+            for (int i = 0; i < graph.length; i++) {
+                final WeakReference<Throwable> nodeRef = graph[i];
+                final Throwable node = nodes.get(i);
+                if (nodeRef == null ? node != null : node == null || nodeRef.get() != node) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Lists the throwables of a graph, depth-first: each throwable is followed by its suppressed exceptions, a
+         * {@code null} separator, its cause and a {@code null} terminator.
+         * The markers make the list describe the structure of the graph, so two graphs with the same list are the
+         * same.
+         * Throwables already visited, i.e., circular references, are listed but not expanded.
+         */
+        private static List<@Nullable Throwable> collectGraph(final Throwable throwable) {
+            final List<@Nullable Throwable> nodes = new ArrayList<>();
+            collectGraph(throwable, Collections.newSetFromMap(new IdentityHashMap<>()), nodes);
+            return nodes;
+        }
+
+        private static void collectGraph(
+                final Throwable throwable, final Set<Throwable> visited, final List<@Nullable Throwable> nodes) {
+            nodes.add(throwable);
+            if (!visited.add(throwable)) {
+                return;
+            }
+            for (final Throwable suppressed : throwable.getSuppressed()) {
+                collectGraph(suppressed, visited, nodes);
+            }
+            nodes.add(null);
+            final Throwable cause = throwable.getCause();
+            if (cause != null) {
+                collectGraph(cause, visited, nodes);
+            }
+            nodes.add(null);
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.core.util.internal;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+import org.jspecify.annotations.NullMarked;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Counts the occurrences of identical stack traces within a time window, so that only the first one needs to be
+ * rendered in full.
+ * <p>
+ *   Stack traces are identified by their {@linkplain #fingerprint(Throwable) fingerprint}. Later occurrences within
+ *   the window can be rendered as a {@linkplain #formatReference(long, int) reference} to the first one.
+ * </p>
+ * @since 2.25.0
+ */
+@NullMarked
+public final class StackTraceDeduplicator {
+
+    /**
+     * The default time window in milliseconds.
+     */
+    public static final long DEFAULT_WINDOW_MILLIS = 60_000;
+
+    /**
+     * The maximum number of distinct fingerprints tracked at once.
+     */
+    static final int MAX_SIZE = 1024;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final long windowMillis;
+
+    private final int maxSize;
+
+    private final LongSupplier clock;
+
+    private final ConcurrentMap<Long, Occurrence> occurrenceByFingerprint = new ConcurrentHashMap<>();
+
+    /**
+     * @param windowMillis the time window in milliseconds, starting at the first occurrence of a stack trace
+     */
+    public StackTraceDeduplicator(final long windowMillis) {
+        this(windowMillis, MAX_SIZE, System::currentTimeMillis);
+    }
+
+    StackTraceDeduplicator(final long windowMillis, final int maxSize, final LongSupplier clock) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Invalid deduplication window: " + windowMillis);
+        }
+        this.windowMillis = windowMillis;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Records an occurrence of a stack trace.
+     *
+     * @param fingerprint the fingerprint of the stack trace
+     * @return the number of occurrences of the stack trace in the current window, including this one; {@code 1}
+     * indicates that the stack trace should be rendered in full
+     */
+    public int record(final long fingerprint) {
+        final long nowMillis = clock.getAsLong();
+        if (occurrenceByFingerprint.size() >= maxSize && !occurrenceByFingerprint.containsKey(fingerprint)) {
+            evict(nowMillis);
+        }
+        final Occurrence occurrence = occurrenceByFingerprint.compute(
+                fingerprint,
+                (ignored, previous) -> previous == null || nowMillis - previous.windowStartMillis >= windowMillis
+                        ? new Occurrence(nowMillis, 1)
+                        : new Occurrence(previous.windowStartMillis, previous.count + 1));
+        return occurrence.count;
+    }
+
+    private void evict(final long nowMillis) {
+        occurrenceByFingerprint
+                .values()
+                .removeIf(occurrence -> nowMillis - occurrence.windowStartMillis >= windowMillis);
+        if (occurrenceByFingerprint.size() >= maxSize) {
+            occurrenceByFingerprint.clear();
+        }
+    }
+
+    /**
+     * @return the time window in milliseconds
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    /**
+     * Computes a fingerprint of the stack trace of a throwable.
+     * <p>
+     *   The fingerprint covers the class names and stack trace elements of the throwable, its causes and suppressed
+     *   exceptions. Messages are excluded, since they often contain variable data. The fingerprint does not depend on
+     *   the JVM instance.
+     * </p>
+     *
+     * @param throwable a throwable
+     * @return the fingerprint
+     */
+    public static long fingerprint(final Throwable throwable) {
+        long hash = FNV_OFFSET_BASIS;
+        final Set<Throwable> visitedThrowables = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Deque<Throwable> pendingThrowables = new ArrayDeque<>();
+        pendingThrowables.push(throwable);
+        Throwable current;
+        while ((current = pendingThrowables.poll()) != null) {
+            if (!visitedThrowables.add(current)) {
+                continue;
+            }
+            hash = hash(hash, current.getClass().getName());
+            for (final StackTraceElement element : current.getStackTrace()) {
+                hash = hash(hash, element.getClassName());
+                hash = hash(hash, element.getMethodName());
+                hash = hash(hash, element.getFileName());
+                hash = hash(hash, element.getLineNumber());
+            }
+            final Throwable cause = current.getCause();
+            if (cause != null) {
+                pendingThrowables.push(cause);
+            }
+            final Throwable[] suppressed = current.getSuppressed();
+            for (int suppressedIndex = suppressed.length - 1; suppressedIndex >= 0; suppressedIndex--) {
+                pendingThrowables.push(suppressed[suppressedIndex]);
+            }
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, final @Nullable String value) {
+        if (value != null) {
+            for (int charIndex = 0; charIndex < value.length(); charIndex++) {
+                hash = hash(hash, value.charAt(charIndex));
+            }
+        }
+        // Separates consecutive values
+        return hash(hash, -1);
+    }
+
+    private static long hash(final long hash, final int value) {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    /**
+     * Formats a fingerprint as an hexadecimal string.
+     *
+     * @param fingerprint a fingerprint
+     * @return the formatted fingerprint
+     */
+    public static String formatFingerprint(final long fingerprint) {
+        return Long.toHexString(fingerprint);
+    }
+
+    /**
+     * Formats the reference rendered in place of a repeated stack trace, e.g., {@code [stack #5e4c3a2b1d0f9e8d seen 3 times]}.
+     *
+     * @param fingerprint the fingerprint of the stack trace
+     * @param count the number of occurrences of the stack trace
+     * @return the reference
+     */
+    public static String formatReference(final long fingerprint, final int count) {
+        return "[stack #" + formatFingerprint(fingerprint) + " seen " + count + " times]";
+    }
+
+    private static final class Occurrence {
+
+        private final long windowStartMillis;
+
+        private final int count;
+
+        private Occurrence(final long windowStartMillis, final int count) {
+            this.windowStartMillis = windowStartMillis;
+            this.count = count;
+        }
+    }
+}
@@ -39,6 +39,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.apache.logging.log4j.core.LogEvent;
 import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.util.internal.StackTraceDeduplicator;
 import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
 import org.apache.logging.log4j.layout.template.json.JsonTemplateLayoutDefaults;
 import org.apache.logging.log4j.layout.template.json.util.TruncatingBufferedPrintWriter;
@@ -658,6 +659,41 @@ class StackTraceStringResolverTest {
         }
     }
 
+    @Test
+    void deduplication_should_work() {
+
+        // Create the event template.
+        final String eventTemplate = writeJson(asMap(
+                "ex",
+                asMap(
+                        "$resolver", "exception",
+                        "field", "stackTrace",
+                        "stackTrace", asMap("stringified", true, "deduplication", asMap("windowMillis", 60_000)))));
+
+        // Create the layout.
+        final JsonTemplateLayout layout = JsonTemplateLayout.newBuilder()
+                .setConfiguration(CONFIGURATION)
+                .setStackTraceEnabled(true)
+                .setEventTemplate(eventTemplate)
+                .build();
+
+        // Create the log event.
+        final Throwable exception = exception1();
+        final LogEvent logEvent =
+                Log4jLogEvent.newBuilder().setThrown(exception).build();
+        final String fingerprint =
+                StackTraceDeduplicator.formatFingerprint(StackTraceDeduplicator.fingerprint(exception));
+
+        // Check the serialized events.
+        usingSerializedLogEventAccessor(layout, logEvent, accessor -> assertThat(accessor.getString("ex"))
+                .matches(EXCEPTION_REGEX_FLAGS + exception1Regex(false)));
+        for (int count = 2; count <= 3; count++) {
+            final String expectedReference = "[stack #" + fingerprint + " seen " + count + " times]";
+            usingSerializedLogEventAccessor(layout, logEvent, accessor -> assertThat(accessor.getString("ex"))
+                    .isEqualTo(expectedReference));
+        }
+    }
+
     @Test
     void nonAscii_utf8_method_name_should_get_serialized() {
 
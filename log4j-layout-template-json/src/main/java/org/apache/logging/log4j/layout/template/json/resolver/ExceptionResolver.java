@@ -23,6 +23,7 @@ import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.util.internal.StackTraceDeduplicator;
 import org.apache.logging.log4j.layout.template.json.JsonTemplateLayout;
 import org.apache.logging.log4j.layout.template.json.JsonTemplateLayoutDefaults;
 import org.apache.logging.log4j.layout.template.json.util.JsonWriter;
@@ -45,6 +46,7 @@ import org.apache.logging.log4j.status.StatusLogger;
  * stackTrace          = "stackTrace" -> (
  *                         [ stringified ]
  *                       , [ elementTemplate ]
+ *                       , [ deduplication ]
  *                       )
  *
  * stringified         = "stringified" -> ( boolean | truncation )
@@ -58,6 +60,9 @@ import org.apache.logging.log4j.status.StatusLogger;
  * pointMatcherRegexes = "pointMatcherRegexes" -> string[]
  *
  * elementTemplate     = "elementTemplate" -> object
+ *
+ * deduplication       = "deduplication" -> ( boolean | windowMillis )
+ * windowMillis        = "windowMillis" -> number
  * </pre>
  *
  * <tt>stringified</tt> is set to <tt>false</tt> by default.
@@ -99,6 +104,13 @@ import org.apache.logging.log4j.status.StatusLogger;
  * <p>
  * See {@link StackTraceElementResolver}
  * for the list of available resolvers in a stack trace element template.
+ * <p>
+ * <tt>deduplication</tt> is set to <tt>false</tt> by default. If enabled,
+ * a stack trace is resolved in full only on its first occurrence within
+ * <tt>windowMillis</tt> (60000 by default). Later occurrences of the same
+ * stack trace, ignoring messages, are resolved to a string reference, e.g.,
+ * <tt>[stack #5e4c3a2b1d0f9e8d seen 3 times]</tt>, irrespective of
+ * <tt>stringified</tt>.
  *
  * <h3>Examples</h3>
  *
@@ -246,9 +258,49 @@ public class ExceptionResolver implements EventResolver {
             return NULL_RESOLVER;
         }
         final boolean stringified = isStackTraceStringified(config);
-        return stringified
+        final EventResolver stackTraceResolver = stringified
                 ? createStackTraceStringResolver(context, config)
                 : createStackTraceObjectResolver(context, config);
+        final long deduplicationWindowMillis = readDeduplicationWindowMillis(config);
+        return deduplicationWindowMillis > 0
+                ? createDeduplicatingStackTraceResolver(stackTraceResolver, deduplicationWindowMillis)
+                : stackTraceResolver;
+    }
+
+    private static long readDeduplicationWindowMillis(final TemplateResolverConfig config) {
+        final Object deduplication = config.getObject(new String[] {"stackTrace", "deduplication"});
+        if (deduplication == null || Boolean.FALSE.equals(deduplication)) {
+            return 0;
+        } else if (Boolean.TRUE.equals(deduplication)) {
+            return StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS;
+        }
+        final Number windowMillis =
+                config.getObject(new String[] {"stackTrace", "deduplication", "windowMillis"}, Number.class);
+        if (windowMillis == null) {
+            return StackTraceDeduplicator.DEFAULT_WINDOW_MILLIS;
+        } else if (windowMillis.longValue() <= 0) {
+            throw new IllegalArgumentException("was expecting a positive deduplication window: " + config);
+        }
+        return windowMillis.longValue();
+    }
+
+    private EventResolver createDeduplicatingStackTraceResolver(
+            final EventResolver stackTraceResolver, final long deduplicationWindowMillis) {
+        final StackTraceDeduplicator deduplicator = new StackTraceDeduplicator(deduplicationWindowMillis);
+        return (final LogEvent logEvent, final JsonWriter jsonWriter) -> {
+            final Throwable throwable = extractThrowable(logEvent);
+            if (throwable == null) {
+                stackTraceResolver.resolve(logEvent, jsonWriter);
+                return;
+            }
+            final long fingerprint = StackTraceDeduplicator.fingerprint(throwable);
+            final int count = deduplicator.record(fingerprint);
+            if (count == 1) {
+                stackTraceResolver.resolve(logEvent, jsonWriter);
+            } else {
+                jsonWriter.writeString(StackTraceDeduplicator.formatReference(fingerprint, count));
+            }
+        };
     }
 
     private static boolean isStackTraceStringified(final TemplateResolverConfig config) {
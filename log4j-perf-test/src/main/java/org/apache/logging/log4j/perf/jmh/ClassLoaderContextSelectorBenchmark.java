@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.selector.ClassLoaderContextSelector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the resolution of the {@link LoggerContext} of a caller by {@link ClassLoaderContextSelector}, both from
+ * the call stack and from an explicit class loader.
+ * <pre>
+ * java -jar log4j-perf/target/benchmarks.jar ".*ClassLoaderContextSelectorBenchmark.*" -f 1 -wi 5 -i 10
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ClassLoaderContextSelectorBenchmark {
+
+    private static final String FQCN = ClassLoaderContextSelectorBenchmark.class.getName();
+
+    private final ClassLoaderContextSelector selector = new ClassLoaderContextSelector();
+
+    private final ClassLoader loader = ClassLoaderContextSelectorBenchmark.class.getClassLoader();
+
+    @Setup
+    public void setUp() {
+        selector.getContext(FQCN, loader, false);
+    }
+
+    @TearDown
+    public void tearDown() {
+        selector.getContext(FQCN, loader, false).stop();
+    }
+
+    @Benchmark
+    public LoggerContext getContextOfCaller() {
+        return selector.getContext(FQCN, null, false);
+    }
+
+    @Benchmark
+    public LoggerContext getContextOfClassLoader() {
+        return selector.getContext(FQCN, loader, false);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.Filter;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.DefaultConfiguration;
+import org.apache.logging.log4j.core.filter.DynamicThresholdFilter;
+import org.apache.logging.log4j.core.util.KeyValuePair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures disabled logging calls with a context-wide {@link DynamicThresholdFilter}, whose result is predictable for
+ * {@code TRACE} but not for {@code DEBUG}.
+ * <pre>
+ * java -jar log4j-perf/target/benchmarks.jar ".*GlobalFilterLoggingDisabledBenchmark.*" -f 1 -wi 5 -i 10
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GlobalFilterLoggingDisabledBenchmark {
+
+    private LoggerContext context;
+
+    private Logger logger;
+
+    @Setup
+    public void setUp() {
+        final Configuration config = new DefaultConfiguration();
+        config.addFilter(DynamicThresholdFilter.createFilter(
+                "user",
+                new KeyValuePair[] {new KeyValuePair("admin", "DEBUG")},
+                Level.ERROR,
+                Filter.Result.ACCEPT,
+                Filter.Result.NEUTRAL));
+        context = new LoggerContext(GlobalFilterLoggingDisabledBenchmark.class.getSimpleName());
+        context.start(config);
+        logger = context.getLogger(GlobalFilterLoggingDisabledBenchmark.class.getName());
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public boolean isTraceEnabled() {
+        return logger.isTraceEnabled();
+    }
+
+    @Benchmark
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    @Benchmark
+    public void trace() {
+        logger.trace("This won't be logged: {}", "parameter");
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+/**
+ * Measures {@link LoggerContext#getLogger(String)} from concurrent threads, both for existing loggers and for the
+ * creation of new ones.
+ * <pre>
+ * java -jar log4j-perf/target/benchmarks.jar ".*LoggerContextGetLoggerBenchmark.*" -f 1 -wi 5 -i 10
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(8)
+public class LoggerContextGetLoggerBenchmark {
+
+    private static final int EXISTING_LOGGER_COUNT = 1 << 14;
+
+    private static final String[] EXISTING_LOGGER_NAMES = createExistingLoggerNames();
+
+    private final AtomicLong newLoggerCounter = new AtomicLong();
+
+    private LoggerContext loggerContext;
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        private int index;
+
+        private String nextExistingLoggerName() {
+            return EXISTING_LOGGER_NAMES[index++ & (EXISTING_LOGGER_COUNT - 1)];
+        }
+    }
+
+    private static String[] createExistingLoggerNames() {
+        final String[] names = new String[EXISTING_LOGGER_COUNT];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "org.example.existing" + (i % 64) + ".Logger" + i;
+        }
+        return names;
+    }
+
+    // A new context per iteration, so that the number of created loggers does not grow indefinitely
+    @Setup(Level.Iteration)
+    public void setUp() {
+        loggerContext = new LoggerContext(LoggerContextGetLoggerBenchmark.class.getSimpleName());
+        loggerContext.start();
+        for (final String name : EXISTING_LOGGER_NAMES) {
+            loggerContext.getLogger(name);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        loggerContext.stop();
+    }
+
+    @Benchmark
+    public Logger getExistingLogger(final ThreadState state) {
+        return loggerContext.getLogger(state.nextExistingLoggerName());
+    }
+
+    @Benchmark
+    public Logger createLogger() {
+        return loggerContext.getLogger("org.example.created.Logger" + newLoggerCounter.incrementAndGet());
+    }
+}
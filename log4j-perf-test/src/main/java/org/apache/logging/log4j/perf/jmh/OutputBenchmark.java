@@ -35,12 +35,21 @@ import org.openjdk.jmh.annotations.TearDown;
 /**
  * Benchmarks Log4j 2, Log4j 1, Logback and JUL using the DEBUG level which is enabled for this test. The configuration
  * for each uses a FileAppender
+ * <p>
+ * The console benchmarks compare the access modes of the Console appender with {@code System.out}. Redirect the
+ * standard output of the benchmark to {@code /dev/null} or a file to measure the appenders rather than the terminal.
+ * </p>
  */
 @State(Scope.Thread)
 public class OutputBenchmark {
     public static final String MESSAGE = "This is a debug message";
 
     Logger log4j2Logger;
+    Logger consoleLogger;
+    Logger followConsoleLogger;
+    Logger directConsoleLogger;
+    Logger channelConsoleLogger;
+    Logger bufferedChannelConsoleLogger;
 
     @State(Scope.Group)
     public static class Redirect {
@@ -67,6 +76,11 @@ public class OutputBenchmark {
         deleteLogFiles();
 
         log4j2Logger = LogManager.getLogger(OutputBenchmark.class);
+        consoleLogger = LogManager.getLogger("Console");
+        followConsoleLogger = LogManager.getLogger("FollowConsole");
+        directConsoleLogger = LogManager.getLogger("DirectConsole");
+        channelConsoleLogger = LogManager.getLogger("ChannelConsole");
+        bufferedChannelConsoleLogger = LogManager.getLogger("BufferedChannelConsole");
     }
 
     @TearDown
@@ -106,4 +120,44 @@ public class OutputBenchmark {
     public void redirect(final Redirect redirect) {
         System.out.println(MESSAGE);
     }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Group("log4j2Console")
+    @Benchmark
+    public void log4j2Console() {
+        consoleLogger.debug(MESSAGE);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Group("log4j2FollowConsole")
+    @Benchmark
+    public void log4j2FollowConsole() {
+        followConsoleLogger.debug(MESSAGE);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Group("log4j2DirectConsole")
+    @Benchmark
+    public void log4j2DirectConsole() {
+        directConsoleLogger.debug(MESSAGE);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Group("log4j2ChannelConsole")
+    @Benchmark
+    public void log4j2ChannelConsole() {
+        channelConsoleLogger.debug(MESSAGE);
+    }
+
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Group("log4j2BufferedChannelConsole")
+    @Benchmark
+    public void log4j2BufferedChannelConsole() {
+        bufferedChannelConsoleLogger.debug(MESSAGE);
+    }
 }
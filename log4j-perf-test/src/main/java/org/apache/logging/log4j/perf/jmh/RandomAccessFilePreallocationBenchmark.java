@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to you under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.logging.log4j.perf.jmh;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.appender.RandomAccessFileAppender;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+import org.apache.logging.log4j.message.SimpleMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Compares the write latency distribution of a {@code RandomAccessFile} appender with and without preallocated file
+ * space. Use the sample time mode to see the percentiles:
+ * <pre>
+ * java -jar log4j-perf/target/benchmarks.jar ".*RandomAccessFilePreallocationBenchmark.*" -bm sample -f 1 -wi 5 -i 10
+ * </pre>
+ */
+@State(Scope.Benchmark)
+public class RandomAccessFilePreallocationBenchmark {
+
+    private static final File FILE = new File("target/testPreallocationlog4j2.log");
+
+    private static final LogEvent EVENT = Log4jLogEvent.newBuilder()
+            .setLoggerName(RandomAccessFilePreallocationBenchmark.class.getName())
+            .setLevel(Level.INFO)
+            .setMessage(new SimpleMessage(
+                    "This is a log message of about one hundred characters, long enough to fill a few file blocks."))
+            .build();
+
+    /**
+     * The size of the chunks the file is extended by, {@code 0} disables preallocation.
+     */
+    @Param({"0", "64 MB"})
+    public String preallocationSize;
+
+    private RandomAccessFileAppender appender;
+
+    @Setup
+    public void setUp() {
+        FILE.delete();
+        appender = RandomAccessFileAppender.newBuilder()
+                .setName("RandomAccessFile")
+                .setFileName(FILE.getPath())
+                .setAppend(false)
+                .setImmediateFlush(true)
+                .setLayout(PatternLayout.newBuilder()
+                        .withPattern("%d %p %c - %m%n")
+                        .build())
+                .setPreallocationSize(preallocationSize)
+                .build();
+        appender.start();
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        FILE.delete();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void append() {
+        appender.append(EVENT);
+    }
+}